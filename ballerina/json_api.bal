@@ -51,6 +51,208 @@ public isolated function parseBytes(byte[] s, Options options = {}, typedesc<any
 public isolated function parseStream(stream<byte[], error?> s, Options options = {}, typedesc<anydata> t = <>)
         returns t|Error = @java:Method {'class: "io.ballerina.lib.data.jsondata.json.Native"} external;
 
+# Converts the JSON content of a UTF-8 encoded file to subtype of anydata.
+# The file is read through memory mapped windows, without copying it into a stream of byte blocks.
+#
+# + path - Path of the JSON file
+# + options - Options to be used for filtering in the projection
+# + t - Target type
+# + return - On success, value belonging to the given target type, else returns an `jsondata:Error` value.
+public isolated function parseFile(string path, Options options = {}, typedesc<anydata> t = <>)
+        returns t|Error = @java:Method {'class: "io.ballerina.lib.data.jsondata.json.Native"} external;
+
+# Converts the values at a JSON path of a JSON string value to subtype of anydata.
+# A path made of field names, array indexes and wildcards is followed while the source is read, and the rest of the
+# source is skipped without being converted. Other paths are evaluated on the whole source converted to JSON.
+# A path without wildcards selects a single value, which is converted to the target type. Otherwise, the selected
+# values are converted to the members of the target list type.
+#
+# + s - Source JSON string value
+# + path - JSON path of the values
+# + options - Options to be used for filtering in the projection
+# + t - Target type
+# + return - On success, value belonging to the given target type, else returns an `jsondata:Error` value.
+public isolated function parseStringAtPath(string s, JsonPathRawTemplate path, Options options = {},
+        typedesc<anydata> t = <>) returns t|Error =
+    @java:Method {'class: "io.ballerina.lib.data.jsondata.json.Native"} external;
+
+# Converts the values at a JSON path of a JSON byte[] to subtype of anydata, in the same way as `parseStringAtPath`.
+#
+# + s - Source JSON byte[]
+# + path - JSON path of the values
+# + options - Options to be used for filtering in the projection
+# + t - Target type
+# + return - On success, value belonging to the given target type, else returns an `jsondata:Error` value.
+public isolated function parseBytesAtPath(byte[] s, JsonPathRawTemplate path, Options options = {},
+        typedesc<anydata> t = <>) returns t|Error =
+    @java:Method {'class: "io.ballerina.lib.data.jsondata.json.Native"} external;
+
+# Converts the values at a JSON path of a JSON byte-block-stream to subtype of anydata, in the same way as
+# `parseStringAtPath`.
+#
+# + s - Source JSON byte-block-stream
+# + path - JSON path of the values
+# + options - Options to be used for filtering in the projection
+# + t - Target type
+# + return - On success, value belonging to the given target type, else returns an `jsondata:Error` value.
+public isolated function parseStreamAtPath(stream<byte[], error?> s, JsonPathRawTemplate path, Options options = {},
+        typedesc<anydata> t = <>) returns t|Error =
+    @java:Method {'class: "io.ballerina.lib.data.jsondata.json.Native"} external;
+
+# Converts a JSON byte-block-stream, which holds a JSON array, to a stream of the members of the array.
+# Each member is converted to the target type as soon as it is read, without holding the whole array in memory.
+#
+# + s - Source JSON byte-block-stream
+# + options - Options to be used for filtering in the projection
+# + t - Target type of the members
+# + return - On success, a stream of values belonging to the given target type, else returns an `jsondata:Error` value.
+public isolated function parseAsStream(stream<byte[], error?> s, Options options = {}, typedesc<anydata> t = <>)
+        returns stream<t, Error?>|Error = @java:Method {'class: "io.ballerina.lib.data.jsondata.json.Native"} external;
+
+type ArrayElement record {|
+    anydata value;
+|};
+
+isolated class ArrayElementStream {
+
+    public isolated function next() returns ArrayElement|Error? = @java:Method {
+        'class: "io.ballerina.lib.data.jsondata.json.Native",
+        name: "nextArrayElement"
+    } external;
+
+    public isolated function close() returns Error? = @java:Method {
+        'class: "io.ballerina.lib.data.jsondata.json.Native",
+        name: "closeArrayElementStream"
+    } external;
+}
+
+# Converts a sequence of JSON documents, such as JSON Lines, to an array of values of a subtype of anydata.
+# The documents can be separated by new lines or other whitespace, or written back to back.
+#
+# + s - Source JSON documents
+# + options - Options to be used for filtering in the projection and for handling invalid documents
+# + t - Target type of the documents
+# + return - On success, an array of values belonging to the given target type, in which the errors of the skipped
+# invalid documents take the place of their values, else returns an `jsondata:Error` value.
+public isolated function parseLines(string|byte[] s, LinesOptions options = {}, typedesc<anydata> t = <>)
+        returns (t|Error)[]|Error = @java:Method {'class: "io.ballerina.lib.data.jsondata.json.Native"} external;
+
+# Converts a byte-block-stream holding a sequence of JSON documents, such as JSON Lines, to a stream of batches of
+# values of a subtype of anydata. Each batch holds at most `options.batchSize` documents.
+#
+# + s - Source byte-block-stream of JSON documents
+# + options - Options to be used for filtering in the projection, for handling invalid documents and for batching
+# + t - Target type of the documents
+# + return - On success, a stream of arrays of values belonging to the given target type, in which the errors of the
+# skipped invalid documents take the place of their values, else returns an `jsondata:Error` value.
+public isolated function parseLinesAsStream(stream<byte[], error?> s, LinesOptions options = {},
+        typedesc<anydata> t = <>) returns stream<(t|Error)[], Error?>|Error =
+    @java:Method {'class: "io.ballerina.lib.data.jsondata.json.Native"} external;
+
+type DocumentBatch record {|
+    (anydata|Error)[] value;
+|};
+
+isolated class DocumentBatchStream {
+
+    public isolated function next() returns DocumentBatch|Error? = @java:Method {
+        'class: "io.ballerina.lib.data.jsondata.json.Native",
+        name: "nextDocumentBatch"
+    } external;
+
+    public isolated function close() returns Error? = @java:Method {
+        'class: "io.ballerina.lib.data.jsondata.json.Native",
+        name: "closeDocumentBatchStream"
+    } external;
+}
+
+# Checks the syntax of a JSON document and returns it without converting its values.
+# The values of the document are converted only when they are accessed.
+#
+# + s - Source JSON string value or byte[]
+# + return - On success, the document, else returns an `jsondata:Error` value
+public isolated function parseDocument(string|byte[] s) returns Document|Error =
+    @java:Method {'class: "io.ballerina.lib.data.jsondata.json.Native"} external;
+
+# Represents a JSON document whose values are converted only when they are accessed.
+# A path is a list of object keys and array indexes, starting from the root value of the document.
+public isolated class Document {
+
+    # Converts the value at the given path to the given type.
+    #
+    # + path - Path of the value
+    # + options - Options to be used for filtering in the projection
+    # + t - Target type
+    # + return - On success, the value belonging to the given target type, else returns an `jsondata:Error` value
+    public isolated function get((string|int)[] path, Options options = {}, typedesc<anydata> t = <>)
+            returns t|Error = @java:Method {
+        'class: "io.ballerina.lib.data.jsondata.json.Native",
+        name: "getDocumentValue"
+    } external;
+
+    # Returns the keys of the JSON object at the given path.
+    #
+    # + path - Path of the object
+    # + return - On success, the keys of the object, else returns an `jsondata:Error` value
+    public isolated function keys((string|int)[] path = []) returns string[]|Error = @java:Method {
+        'class: "io.ballerina.lib.data.jsondata.json.Native",
+        name: "getDocumentKeys"
+    } external;
+
+    # Returns the number of members of the JSON object or array at the given path.
+    #
+    # + path - Path of the object or array
+    # + return - On success, the number of members, else returns an `jsondata:Error` value
+    public isolated function length((string|int)[] path = []) returns int|Error = @java:Method {
+        'class: "io.ballerina.lib.data.jsondata.json.Native",
+        name: "getDocumentLength"
+    } external;
+}
+
+# Creates a parser to which a JSON document is given in chunks of UTF-8 encoded bytes as they are received, such as
+# the frames of a request body, instead of reading the document from a stream.
+#
+# + options - Options to be used for filtering in the projection
+# + t - Target type of the document
+# + return - On success, the parser, else returns an `jsondata:Error` value
+public isolated function createParser(Options options = {}, typedesc<anydata> t = json) returns Parser|Error =
+    @java:Method {'class: "io.ballerina.lib.data.jsondata.json.Native"} external;
+
+# Returned by `Parser.feed` while the document has not ended.
+public const NEED_MORE = "NEED_MORE";
+
+# Holds the value of a document parsed by a `Parser`.
+#
+# + value - The value of the document, which belongs to the target type of the parser
+public type Done record {|
+    anydata value;
+|};
+
+# Parses a JSON document which is given in chunks. Each chunk is parsed as soon as it is given, and the state of the
+# parser is kept until the next chunk, without blocking while waiting for the rest of the document.
+public isolated class Parser {
+
+    # Parses the next chunk of the document. A character split between two chunks is decoded once all of its bytes
+    # are given. After the document has ended, the following chunks may only hold whitespace.
+    #
+    # + chunk - The next chunk of the document
+    # + return - `NEED_MORE` if the document has not ended, `Done` with the value of the document once it has ended,
+    # else returns an `jsondata:Error` value
+    public isolated function feed(byte[] chunk) returns NEED_MORE|Done|Error = @java:Method {
+        'class: "io.ballerina.lib.data.jsondata.json.Native",
+        name: "feedParser"
+    } external;
+
+    # Ends the document. A document holding a single number, boolean or null ends only with this, as more of its
+    # characters may follow in the next chunk.
+    #
+    # + return - `Done` with the value of the document, else returns an `jsondata:Error` value
+    public isolated function end() returns Done|Error = @java:Method {
+        'class: "io.ballerina.lib.data.jsondata.json.Native",
+        name: "endParser"
+    } external;
+}
+
 # Converts a value of type `anydata` to `json`.
 #
 # + v - Source anydata value
@@ -69,9 +271,20 @@ public isolated function prettify(json value, int indentation = 4) returns strin
 }
 
 # Represent the options that can be used to modify the behaviour of the projection.
+# The `max` limits are checked as the source is read, and a conversion which exceeds any of them ends with an error.
+# A limit which is not given is not checked. `parseAsStream` checks `maxDocumentSize` on the whole stream and
+# `maxElements` on the top level array too. As the value of `parseAsType` is already in memory, only `maxDepth` and
+# `maxElements` apply to it.
 #
 # + allowDataProjection - Enable or disable projection
 # + enableConstraintValidation - Enable or disable constraint validation
+# + stopWhenComplete - If `true`, the conversion of a JSON object to a closed record stops as soon as every field
+# of the record has a value, without reading or checking the rest of the source. Stream sources are closed early.
+# Does not apply to `parseAsType`
+# + maxDepth - The maximum nesting depth of the maps and the lists in a document
+# + maxDocumentSize - The maximum number of characters in a document
+# + maxStringLength - The maximum number of characters in a string value or a field name which is converted
+# + maxElements - The maximum number of members in a map or a list which is converted
 public type Options record {
     record {
         # If `true`, nil values will be considered as optional fields in the projection.
@@ -80,6 +293,22 @@ public type Options record {
         boolean absentAsNilableType = false;
     }|false allowDataProjection = {};
     boolean enableConstraintValidation = true;
+    boolean stopWhenComplete = false;
+    int maxDepth?;
+    int maxDocumentSize?;
+    int maxStringLength?;
+    int maxElements?;
+};
+
+# Represent the options that can be used when converting a sequence of JSON documents.
+#
+# + batchSize - The maximum number of documents in each batch of the stream returned by `parseLinesAsStream`
+# + skipInvalidDocuments - Whether to skip invalid documents together with the rest of their line, returning their
+# errors among the values, instead of ending the conversion with the first error
+public type LinesOptions record {
+    *Options;
+    int batchSize = 100;
+    boolean skipInvalidDocuments = false;
 };
 
 # Defines the name of the JSON Object key.
@@ -91,3 +320,16 @@ public type NameConfig record {|
 
 # The annotation is used to overwrite the existing record field name.
 public const annotation NameConfig Name on record field;
+
+# Defines the discriminator of a union type of records.
+#
+# + 'field - The name of the JSON Object key which holds the discriminator value
+# + mapping - The member record type of each discriminator value. When not given, the values are taken from the
+# singleton string types of the discriminator field in the member records
+public type DiscriminatorConfig record {|
+    string 'field;
+    map<typedesc<record {}>> mapping?;
+|};
+
+# The annotation is used to select the member of a union type by the value of a discriminator field.
+public annotation DiscriminatorConfig Discriminator on type;
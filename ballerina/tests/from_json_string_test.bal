@@ -37,6 +37,78 @@ function basicTypeDataProviderForParseString() returns [string, typedesc<anydata
     ];
 }
 
+@test:Config {
+    dataProvider: floatLiteralDataProvider
+}
+isolated function testFloatLiteralRounding(string sourceData) returns error? {
+    float expected = check float:fromString(sourceData);
+
+    float val1 = check parseString(sourceData);
+    test:assertEquals(val1, expected);
+
+    json val2 = check parseString(sourceData);
+    test:assertEquals(val2, expected);
+
+    float|boolean val3 = check parseString(sourceData);
+    test:assertEquals(val3, expected);
+
+    float[] val4 = check parseBytes(string `[${sourceData}, -${sourceData}]`.toBytes());
+    test:assertEquals(val4, [expected, -expected]);
+}
+
+function floatLiteralDataProvider() returns string[][] {
+    return [
+        ["0.1"],
+        ["1e23"],
+        ["9007199254740993"],
+        ["9999999999999999999"],
+        ["1234567890123456789e-300"],
+        ["2.2250738585072011e-308"],
+        ["2.2250738585072012e-308"],
+        ["4.9e-324"],
+        ["2.4703282292062328e-324"],
+        ["1e-400"],
+        ["1.7976931348623157e308"],
+        ["8.98846567431158e307"],
+        ["3.141592653589793238462643383279"],
+        ["0.000000000000000000000000000000000000000000001"]
+    ];
+}
+
+@test:Config {
+    dataProvider: decimalLiteralDataProvider
+}
+isolated function testDecimalLiteralConversion(string sourceData) returns error? {
+    decimal expected = check decimal:fromString(sourceData);
+
+    decimal val1 = check parseString(sourceData);
+    test:assertEquals(val1, expected);
+    test:assertEquals(val1.toString(), expected.toString());
+
+    decimal|boolean val2 = check parseString(sourceData);
+    test:assertEquals(val2, expected);
+
+    record {|decimal amount;|} val3 = check parseBytes(string `{"amount": ${sourceData}}`.toBytes());
+    test:assertEquals(val3.amount.toString(), expected.toString());
+}
+
+function decimalLiteralDataProvider() returns string[][] {
+    return [
+        ["0"],
+        ["-0.00"],
+        ["19.99"],
+        ["1250.50"],
+        ["-0.000001"],
+        ["1.5e3"],
+        ["12.345E-2"],
+        ["999999999999999999"],
+        ["123456789012.345678"],
+        ["1234567890123456789"],
+        ["12345678901234567890.123456789"],
+        ["1e6000"]
+    ];
+}
+
 @test:Config
 isolated function testNilAsExpectedTypeWithParseString() returns error? {
     () val = check parseString("null");
@@ -1118,6 +1190,50 @@ isolated function testSingletonAsExpectedTypeForParseString() returns Error? {
     test:assertEquals(val5.value, 1);
 }
 
+@test:Config
+isolated function testFiniteTypeLookupForParseString() returns Error? {
+    Currency val1 = check parseString("\"USD\"");
+    test:assertEquals(val1, USD);
+
+    MixedSingletons val2 = check parseString("\"1\"");
+    test:assertEquals(val2, "1");
+
+    MixedSingletons val3 = check parseString("1");
+    test:assertEquals(val3, 1);
+
+    MixedSingletons val4 = check parseString("2.5");
+    test:assertEquals(val4, 2.5);
+
+    MixedSingletons val5 = check parseString("true");
+    test:assertEquals(val5, true);
+
+    MixedSingletons val6 = check parseString("\"true\"");
+    test:assertEquals(val6, "true");
+
+    Invoice[] val7 = check parseString(string `[
+        {"currency": "AED", "code": 1, "status": "open"},
+        {"currency": "LKR", "code": "1", "status": "paid"},
+        {"currency": "USD", "code": 2.5, "status": "open"}
+    ]`);
+    test:assertEquals(val7, [
+        {currency: AED, code: 1, status: "open"},
+        {currency: LKR, code: "1", status: "paid"},
+        {currency: USD, code: 2.5, status: "open"}
+    ]);
+
+    Currency|Error err1 = parseString("\"usd\"");
+    test:assertTrue(err1 is Error);
+
+    MixedSingletons|Error err2 = parseString("2.50");
+    test:assertTrue(err2 is Error);
+
+    Currency|Error err3 = parseString("1");
+    test:assertTrue(err3 is Error);
+
+    Invoice|Error err4 = parseString(string `{"currency": "USD", "code": 1, "status": "closed"}`);
+    test:assertTrue(err4 is Error);
+}
+
 @test:Config
 function testDuplicateKeyInTheStringSource() returns Error? {
     string str = string `{
@@ -1765,3 +1881,136 @@ isolated function testConvertStringValueNegative() {
     test:assertTrue(err9 is Error);
     test:assertEquals((<Error>err9).message(), "incompatible expected type 'float' for value '1D'");
 }
+
+@test:Config
+isolated function testParseBytesWithMultiByteCharacters() returns error? {
+    string jsonStr = string `{"name": "Zoë Ångström", "city": "東京", "emoji": "😀 é", "tags": ["naïve", "ascii"]}`;
+    record {|string name; string city; string emoji; string[] tags;|} rec = check parseBytes(jsonStr.toBytes());
+    test:assertEquals(rec.name, "Zoë Ångström");
+    test:assertEquals(rec.city, "東京");
+    test:assertEquals(rec.emoji, "😀 é");
+    test:assertEquals(rec.tags, ["naïve", "ascii"]);
+
+    json val = check parseBytes("\"😀😀\"".toBytes());
+    test:assertEquals(val, "😀😀");
+}
+
+@test:Config
+isolated function testParseStringWithScalarValues() returns error? {
+    string jsonStr = string `{"i": -9223372036854775808, "f": 1.25E-3, "d": 123456789012345678901234.5, "b": false,
+                             "n": null, "big": 92233720368547758070, "precise": 0.1234567890123456789}`;
+    record {|int i; float f; decimal d; boolean b; () n; float big; float precise;|} rec = check parseString(jsonStr);
+    test:assertEquals(rec.i, -9223372036854775808);
+    test:assertEquals(rec.f, 1.25E-3);
+    test:assertEquals(rec.d, 123456789012345678901234.5d);
+    test:assertEquals(rec.b, false);
+    test:assertEquals(rec.n, ());
+    test:assertEquals(rec.big, 92233720368547758070.0);
+    test:assertEquals(rec.precise, 0.1234567890123456789);
+
+    json val = check parseString(string `[1, -0.5, 2.5e3, 9223372036854775808, true, null]`);
+    test:assertEquals(val, [1, -0.5, 2500.0, 9223372036854775808.0, true, null]);
+
+    int|Error err = parseString("9223372036854775808");
+    test:assertTrue(err is Error);
+    test:assertEquals((<Error>err).message(), "incompatible expected type 'int' for value '9223372036854775808'");
+
+    decimal|Error err2 = parseString(".5");
+    test:assertTrue(err2 is Error);
+}
+
+@test:Config
+isolated function testParseStringWithLongStringValues() returns error? {
+    string longStr = "";
+    foreach int i in 0 ..< 2000 {
+        longStr += "a";
+    }
+
+    record {|string name; string[] tags;|} rec = check parseString(string `{"name": "${longStr}\n${longStr}",
+            "tags": ["${longStr}", "x\"${longStr}"]}`);
+    test:assertEquals(rec.name, longStr + "\n" + longStr);
+    test:assertEquals(rec.tags, [longStr, "x\"" + longStr]);
+
+    record {|string b;|} projected = check parseString(string `{"a": "${longStr}\"}", "b": "${longStr}"}`);
+    test:assertEquals(projected.b, longStr);
+
+    record {string a; int b;}|Error err = parseString(string `{"a": "${longStr}", "b" 1}`);
+    test:assertTrue(err is Error);
+    test:assertEquals((<Error>err).message(), "'expected ':'' at line: '1' column: '2015'");
+}
+
+@test:Config
+isolated function testParseErrorLocationAfterManyWindows() returns error? {
+    string longStr = "";
+    foreach int i in 0 ..< 3000 {
+        longStr += "a";
+    }
+
+    // The error is on the first line, after several windows of the input.
+    string singleLine = string `{"a": "${longStr}${longStr}", "b" 1}`;
+    string expected = "'expected ':'' at line: '1' column: '6015'";
+    record {string a; int b;}|Error err = parseString(singleLine);
+    test:assertTrue(err is Error);
+    test:assertEquals((<Error>err).message(), expected);
+    err = parseBytes(singleLine.toBytes());
+    test:assertTrue(err is Error);
+    test:assertEquals((<Error>err).message(), expected);
+
+    // The line of the error starts in a later window.
+    string multiLine = string `{"a": "${longStr}",
+"b": "${longStr}", "c" 1}`;
+    expected = "'expected ':'' at line: '2' column: '3014'";
+    record {string a; string b; int c;}|Error multiLineErr = parseString(multiLine);
+    test:assertTrue(multiLineErr is Error);
+    test:assertEquals((<Error>multiLineErr).message(), expected);
+    multiLineErr = parseBytes(multiLine.toBytes());
+    test:assertTrue(multiLineErr is Error);
+    test:assertEquals((<Error>multiLineErr).message(), expected);
+}
+
+type Item record {|
+    int id;
+    string name;
+|};
+
+@test:Config
+isolated function testParseLargeArray() returns error? {
+    string[] lines = ["["];
+    foreach int i in 0 ..< 100000 {
+        lines.push(string `  {"id": ${i}, "name": "item-${i}, [\"quoted\"]"},`);
+    }
+    lines.push(string `  {"id": 100000, "name": "last"}`, "]");
+    string jsonStr = string:'join("\n", ...lines);
+
+    Item[] items = check parseString(jsonStr);
+    test:assertEquals(items.length(), 100001);
+    test:assertEquals(items[0], {id: 0, name: "item-0, [\"quoted\"]"});
+    test:assertEquals(items[54321], {id: 54321, name: "item-54321, [\"quoted\"]"});
+    test:assertEquals(items[100000], {id: 100000, name: "last"});
+
+    Item[] itemsFromBytes = check parseBytes(jsonStr.toBytes());
+    test:assertEquals(itemsFromBytes, items);
+
+    lines[90001] = string `  {"id": 90000 "name": "item-90000"},`;
+    Item[]|Error err = parseString(string:'join("\n", ...lines));
+    test:assertTrue(err is Error);
+    test:assertEquals((<Error>err).message(), "'expected ',' or '}'' at line: '90002' column: '16'");
+    err = parseBytes(string:'join("\n", ...lines).toBytes());
+    test:assertTrue(err is Error);
+    test:assertEquals((<Error>err).message(), "'expected ',' or '}'' at line: '90002' column: '16'");
+
+    // A trailing comma is rejected the same way as in a small array, wherever the array is cut.
+    lines[90001] = string `  {"id": 90000, "name": "item-90000"},`;
+    lines[lines.length() - 2] = string `  {"id": 100000, "name": "last"},`;
+    string trailingComma = string:'join("\n", ...lines);
+    Item[]|Error trailingCommaErr = parseString(trailingComma);
+    test:assertTrue(trailingCommaErr is Error);
+    Item[]|Error smallTrailingCommaErr = parseString(string `[{"id": 1, "name": "first"},
+  {"id": 100000, "name": "last"},
+]`);
+    test:assertTrue(smallTrailingCommaErr is Error);
+    string message = (<Error>trailingCommaErr).message();
+    string smallMessage = (<Error>smallTrailingCommaErr).message();
+    test:assertEquals(message.substring(0, message.indexOf(" at line") ?: 0),
+            smallMessage.substring(0, smallMessage.indexOf(" at line") ?: 0));
+}
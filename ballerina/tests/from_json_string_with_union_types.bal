@@ -365,4 +365,258 @@ isolated function testUnionAsExpectedTypeForParseStringNegative() {
     |}|Error err2 = parseString(jsonStr2);
     test:assertTrue(err2 is Error);
     test:assertEquals((<Error>err2).message(), "incompatible expected type '(int|data.jsondata:RecC)' for value '{\"a\":\"1\",\"b\":2}'");
+    err2 = parseBytes(jsonStr2.toBytes());
+    test:assertTrue(err2 is Error);
+    test:assertEquals((<Error>err2).message(), "incompatible expected type '(int|data.jsondata:RecC)' for value '{\"a\":\"1\",\"b\":2}'");
+}
+
+type IntList record {|
+    int[] a;
+|};
+
+type JsonList record {|
+    json[] a;
+|};
+
+@test:Config {
+    groups: ["Union"]
+}
+isolated function testAmbiguousUnionValueOfAnySize() returns error? {
+    // The member types are tried in order however long the value is.
+    foreach int count in [2, 600000] {
+        string[] members = [];
+        foreach int i in 0 ..< count {
+            members.push("1");
+        }
+        members.push("\"x\"");
+        string jsonStr = string `{"a": [${string:'join(", ", ...members)}]}`;
+        IntList|JsonList val = check parseString(jsonStr);
+        test:assertTrue(val is JsonList);
+        test:assertEquals((<JsonList>val).a.length(), count + 1);
+        val = check parseBytes(jsonStr.toBytes());
+        test:assertTrue(val is JsonList);
+    }
+}
+
+type IntPoint record {|
+    int x;
+    int y;
+|};
+
+type StringPoint record {|
+    string x;
+    string y;
+|};
+
+@test:Config {
+    groups: ["Union"]
+}
+isolated function testUnionMemberSelectedWhileReading() returns error? {
+    int[]|string[] val1 = check parseString(string `["a", "b"]`);
+    test:assertTrue(val1 is string[]);
+    test:assertEquals(val1, ["a", "b"]);
+
+    map<int>|map<string> val2 = check parseString(string `{"a": "x", "b": "y"}`);
+    test:assertTrue(val2 is map<string>);
+    test:assertEquals(val2, {a: "x", b: "y"});
+
+    IntPoint|StringPoint val3 = check parseString(string `{"x": "1", "y": "2"}`, {allowDataProjection: false});
+    test:assertTrue(val3 is StringPoint);
+
+    record {|
+        IntPoint|StringPoint[] point;
+        int count;
+    |} val4 = check parseString(string `{"point": [{"x": "1", "y": "2"}], "count": 1}`);
+    test:assertEquals(val4, {point: [{x: "1", y: "2"}], count: 1});
+
+    (IntPoint|StringPoint)[] val5 = check parseString(string `[{"x": 1, "y": 2}, {"x": "3", "y": "4"}]`);
+    test:assertTrue(val5[0] is IntPoint);
+    test:assertTrue(val5[1] is StringPoint);
+
+    IntPoint|string[]|Error err = parseString(string `{"x": 1, "z": 2}`, {allowDataProjection: false});
+    test:assertTrue(err is Error);
+    test:assertEquals((<Error>err).message(), "undefined field 'z'");
+}
+
+type CreatedEvent record {|
+    string id;
+    string createdBy;
+|};
+
+type UpdatedEvent record {|
+    string id;
+    string updatedBy;
+    int 'version;
+|};
+
+type DeletedEvent record {
+    string id;
+    boolean soft;
+};
+
+type Event CreatedEvent|UpdatedEvent|DeletedEvent;
+
+@test:Config {
+    groups: ["Union"]
+}
+isolated function testUnionOfRecordsAsExpectedTypeForParseString() returns error? {
+    Event val1 = check parseString(string `{"id": "e1", "createdBy": "alice"}`);
+    test:assertTrue(val1 is CreatedEvent);
+    test:assertEquals(val1, {id: "e1", createdBy: "alice"});
+
+    Event val2 = check parseString(string `{"id": "e2", "updatedBy": "bob", "version": 3}`);
+    test:assertTrue(val2 is UpdatedEvent);
+    test:assertEquals(val2, {id: "e2", updatedBy: "bob", 'version: 3});
+
+    Event val3 = check parseString(string `{"id": "e3", "soft": true, "reason": {"code": [1, "}"]}}`);
+    test:assertTrue(val3 is DeletedEvent);
+    test:assertEquals(val3, {id: "e3", soft: true, reason: {code: [1, "}"]}});
+
+    Event[] val4 = check parseString(string `[{"id": "e4", "soft": false}, {"id": "e\"5", "createdBy": "carol"}]`);
+    test:assertTrue(val4[0] is DeletedEvent);
+    test:assertTrue(val4[1] is CreatedEvent);
+    test:assertEquals(val4[1].id, "e\"5");
+
+    Event|Error err1 = parseString(string `{"id": "e6"}`);
+    test:assertTrue(err1 is Error);
+    test:assertEquals((<Error>err1).message(),
+            "incompatible expected type '(data.jsondata:CreatedEvent|data.jsondata:UpdatedEvent|"
+            + "data.jsondata:DeletedEvent)' for value '{\"id\":\"e6\"}'");
+
+    Event|Error err2 = parseString(string `{"id": "e7", "soft" true}`);
+    test:assertTrue(err2 is Error);
+    test:assertEquals((<Error>err2).message(), "'expected ':'' at line: '1' column: '21'");
+}
+
+type Circle record {
+    "circle" kind;
+    float radius;
+};
+
+type Square record {
+    "square" kind;
+    float side;
+};
+
+@Discriminator {
+    'field: "kind"
+}
+type Shape Circle|Square;
+
+type Cat record {|
+    string 'type;
+    string name;
+|};
+
+type Dog record {|
+    string 'type;
+    string name;
+|};
+
+@Discriminator {
+    'field: "type",
+    mapping: {
+        "cat": Cat,
+        "dog": Dog
+    }
+}
+type Pet Cat|Dog;
+
+@test:Config {
+    groups: ["Union"]
+}
+isolated function testDiscriminatedUnionAsExpectedType() returns error? {
+    Shape val1 = check parseString(string `{"kind": "square", "side": 2.5}`);
+    test:assertTrue(val1 is Square);
+    test:assertEquals(val1, {kind: "square", side: 2.5});
+
+    Shape val2 = check parseString(string `{"radius": 1.5, "kind": "circle", "color": "red"}`);
+    test:assertTrue(val2 is Circle);
+    test:assertEquals(val2, {kind: "circle", radius: 1.5, "color": "red"});
+
+    Shape[] val3 = check parseString(string `[{"kind": "circle", "radius": 1.0}, {"kind": "square", "side": 3.0}]`);
+    test:assertTrue(val3[0] is Circle);
+    test:assertTrue(val3[1] is Square);
+
+    Pet val4 = check parseString(string `{"type": "dog", "name": "Rex"}`);
+    test:assertTrue(val4 is Dog);
+    test:assertEquals(val4, {'type: "dog", name: "Rex"});
+
+    Pet val5 = check parseAsType({"type": "cat", "name": "Tom"});
+    test:assertTrue(val5 is Cat);
+
+    Shape val6 = check parseAsType({"kind": "square", "side": 4.0});
+    test:assertTrue(val6 is Square);
+
+    Shape|Error err1 = parseString(string `{"kind": "square", "radius": 1.0}`);
+    test:assertTrue(err1 is Error);
+
+    Shape|Error err2 = parseAsType({"kind": "circle", "side": 1.0});
+    test:assertTrue(err2 is Error);
+}
+
+type Fish record {|
+    string 'type;
+    string name;
+    boolean freshwater;
+|};
+
+@Discriminator {
+    'field: "type",
+    mapping: {
+        "cat": Cat,
+        "fish": Fish
+    }
+}
+type HousePet Cat|Dog;
+
+@test:Config {
+    groups: ["Union"]
+}
+isolated function testDiscriminatorMappingToNonMemberType() {
+    string expectedMessage = "discriminator mapping type 'data.jsondata:Fish' of 'fish' is not a member of the union type";
+
+    HousePet|Error val1 = parseString(string `{"type": "fish", "name": "Nemo", "freshwater": false}`);
+    test:assertTrue(val1 is Error);
+    test:assertEquals((<Error>val1).message(), expectedMessage);
+
+    HousePet|Error val2 = parseString(string `{"type": "cat", "name": "Tom"}`);
+    test:assertTrue(val2 is Error);
+    test:assertEquals((<Error>val2).message(), expectedMessage);
+
+    HousePet|Error val3 = parseAsType({"type": "fish", "name": "Nemo", "freshwater": false});
+    test:assertTrue(val3 is Error);
+    test:assertEquals((<Error>val3).message(), expectedMessage);
+}
+
+type LineItem record {|
+    int|float|decimal|() quantity;
+    int|boolean|() flag;
+    float|decimal price;
+    string|int|() ref;
+|};
+
+@test:Config {
+    groups: ["Union"]
+}
+isolated function testUnionOfBasicTypesForNonStringValues() returns error? {
+    LineItem[] items = check parseString(string `[
+        {"quantity": 1, "flag": true, "price": 1.5, "ref": 10},
+        {"quantity": 2.5, "flag": 0, "price": 3, "ref": "A-1"},
+        {"quantity": null, "flag": null, "price": 12345678901234567890, "ref": null},
+        {"quantity": 12345678901234567890, "flag": false, "price": -0.25e2, "ref": -1}
+    ]`);
+    test:assertEquals(items[0], {quantity: 1, flag: true, price: 1.5, ref: 10});
+    test:assertEquals(items[1], {quantity: 2.5, flag: 0, price: 3.0, ref: "A-1"});
+    test:assertEquals(items[2], {quantity: (), flag: (), price: 12345678901234567890.0, ref: ()});
+    test:assertEquals(items[3], {quantity: 12345678901234567890.0, flag: false, price: -25.0, ref: -1});
+
+    int|float|decimal|()|Error err1 = parseString("true");
+    test:assertTrue(err1 is Error);
+
+    int|boolean|Error err2 = parseString("null");
+    test:assertTrue(err2 is Error);
+
+    float|decimal|Error err3 = parseString("false");
+    test:assertTrue(err3 is Error);
 }
@@ -527,3 +527,47 @@ isolated function testAbsentAsNilableTypeAndAbsentAsNilableTypeForParseAsType2()
     |} val8 = check parseAsType({}, options3);
     test:assertEquals(val8?.name, ());
 }
+
+@test:Config {
+    groups: ["options"]
+}
+isolated function testSkipProjectedAwayValuesForParseString() returns error? {
+    string jsonStr = string `{
+        "id": 1,
+        "meta": {"tags": ["a", "b}", {"c": "\"]"}], "nested": {"x": [[1, 2], [3]]}},
+        "escaped": "value with \\" and \\\\",
+        "count": -12.5e3,
+        "flag": true,
+        "name": "first",
+        "empty": {},
+        "list": [],
+        "last": null
+    }`;
+    record {|int id; string name;|} val1 = check parseString(jsonStr);
+    test:assertEquals(val1, {id: 1, name: "first"});
+
+    record {|string name;|} val2 = check parseString(string `{"name": "a", "skip": 1}`);
+    test:assertEquals(val2, {name: "a"});
+
+    record {|string name;|}|Error err1 = parseString(string `{"skip": {"a": [1, 2}, "name": "a"}`);
+    test:assertTrue(err1 is Error);
+
+    record {|string name;|}|Error err2 = parseString(string `{"name": "a", "skip": {"a": 1`);
+    test:assertTrue(err2 is Error);
+
+    record {|string name;|}|Error err3 = parseString(string `{"name": "a", "skip": 1 2}`);
+    test:assertTrue(err3 is Error);
+
+    // The non-string values which are skipped are validated too.
+    record {|int b;|}|Error err4 = parseString(string `{"skipped": tru, "b": 1}`);
+    test:assertTrue(err4 is Error);
+    test:assertEquals((<Error>err4).message(), "'unrecognized token 'tru'' at line: '1' column: '13'");
+
+    record {|int b;|}|Error err5 = parseBytes(string `{"skipped": {"a": [1, 2.]}, "b": 1}`.toBytes());
+    test:assertTrue(err5 is Error);
+    test:assertEquals((<Error>err5).message(), "'unrecognized token '2.'' at line: '1' column: '23'");
+
+    record {|int b;|}|Error err6 = parseString(string `{"skipped": , "b": 1}`);
+    test:assertTrue(err6 is Error);
+    test:assertEquals((<Error>err6).message(), "'unexpected ','' at line: '1' column: '13'");
+}
@@ -0,0 +1,87 @@
+// Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+@test:Config
+function testIncrementalParser() returns error? {
+    Parser parser = check createParser(t = Book);
+    test:assertEquals(check parser.feed(`{"title": "Du`.toBytes()), NEED_MORE);
+    test:assertEquals(check parser.feed(`ne", "ye`.toBytes()), NEED_MORE);
+    Done done = check parser.feed(`ar": 1965}`.toBytes()).ensureType();
+    Book book = check done.value.ensureType();
+    test:assertEquals(book, {title: "Dune", year: 1965});
+    test:assertEquals(check parser.feed(" \n".toBytes()), done);
+    test:assertEquals(check parser.end(), done);
+
+    // The document ends only with the input.
+    parser = check createParser(t = int);
+    test:assertEquals(check parser.feed("12".toBytes()), NEED_MORE);
+    test:assertEquals(check parser.feed("34".toBytes()), NEED_MORE);
+    test:assertEquals(check parser.end(), {value: 1234});
+}
+
+@test:Config
+function testIncrementalParserWithNilDocument() returns error? {
+    Parser parser = check createParser();
+    test:assertEquals(check parser.feed("nu".toBytes()), NEED_MORE);
+    test:assertEquals(check parser.feed("ll\n".toBytes()), {value: ()});
+    test:assertEquals(check parser.feed(" ".toBytes()), {value: ()});
+    test:assertEquals(check parser.end(), {value: ()});
+
+    parser = check createParser(t = ());
+    test:assertEquals(check parser.feed(" null ".toBytes()), {value: ()});
+    test:assertEquals(check parser.end(), {value: ()});
+
+    parser = check createParser(t = ());
+    test:assertEquals(check parser.feed("null".toBytes()), NEED_MORE);
+    test:assertEquals(check parser.end(), {value: ()});
+}
+
+@test:Config
+function testIncrementalParserWithSplitMultiByteChars() returns error? {
+    byte[] bytes = `{"name": "Zoë 😀"}`.toBytes();
+    Parser parser = check createParser();
+    Done? done = ();
+    foreach byte b in bytes {
+        NEED_MORE|Done result = check parser.feed([b]);
+        if result is Done {
+            done = result;
+        }
+    }
+    test:assertEquals(done, {value: {"name": "Zoë 😀"}});
+}
+
+@test:Config
+function testIncrementalParserNegative() returns error? {
+    Parser parser = check createParser();
+    test:assertEquals(check parser.feed(`{"a": 1,`.toBytes()), NEED_MORE);
+    NEED_MORE|Done|Error result = parser.feed("\n}".toBytes());
+    test:assertTrue(result is Error);
+    test:assertEquals((<Error>result).message(), "'expected '\"'' at line: '2' column: '1'");
+    // The parser keeps returning the error.
+    test:assertEquals((<Error>parser.feed("{}".toBytes())).message(), (<Error>result).message());
+
+    parser = check createParser();
+    test:assertEquals(check parser.feed("[1, 2".toBytes()), NEED_MORE);
+    Done|Error ended = parser.end();
+    test:assertTrue(ended is Error);
+    test:assertEquals((<Error>ended).message(), "'unexpected end of JSON document' at line: '1' column: '6'");
+
+    parser = check createParser();
+    _ = check parser.feed("[]".toBytes());
+    result = parser.feed(" x".toBytes());
+    test:assertTrue(result is Error);
+    test:assertEquals((<Error>result).message(), "'JSON document has already ended' at line: '1' column: '4'");
+}
@@ -0,0 +1,99 @@
+// Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+final string STORE = string `{
+    "name": "Corner Store",
+    "items": [
+        {"id": 1, "price": 10.5, "tags": ["a", "b"]},
+        {"id": 2, "price": 3, "tags": []},
+        {"id": 3, "tags": ["c"]}
+    ]
+}`;
+
+type StoreItem record {|
+    int id;
+    decimal price;
+|};
+
+@test:Config
+function testParseStringAtPath() returns error? {
+    decimal[] prices = check parseStringAtPath(STORE, `$.items[*].price`);
+    test:assertEquals(prices, [10.5d, 3d]);
+
+    string name = check parseStringAtPath(STORE, `$['name']`);
+    test:assertEquals(name, "Corner Store");
+
+    StoreItem item = check parseStringAtPath(STORE, `$.items[1]`, {allowDataProjection: {}});
+    test:assertEquals(item, {id: 2, price: 3d});
+
+    string[] tags = check parseStringAtPath(STORE, `$.items[0].tags.*`);
+    test:assertEquals(tags, ["a", "b"]);
+
+    int index = 2;
+    int id = check parseStringAtPath(STORE, `$.items[${index}].id`);
+    test:assertEquals(id, 3);
+
+    json document = check parseStringAtPath(STORE, `$`);
+    test:assertEquals(document, check parseString(STORE));
+
+    readonly & int[] ids = check parseStringAtPath(STORE, `$.items[*].id`);
+    test:assertEquals(ids, [1, 2, 3]);
+}
+
+@test:Config
+function testParseBytesAndStreamAtPath() returns error? {
+    decimal[] prices = check parseBytesAtPath(STORE.toBytes(), `$.items[*].price`);
+    test:assertEquals(prices, [10.5d, 3d]);
+
+    byte[] bytes = STORE.toBytes();
+    byte[][] blocks = [bytes.slice(0, 40), bytes.slice(40)];
+    int[] ids = check parseStreamAtPath(blocks.toStream(), `$.items[*].id`);
+    test:assertEquals(ids, [1, 2, 3]);
+}
+
+@test:Config
+function testParseStringAtPathWithFilter() returns error? {
+    // Paths with filters are evaluated on the whole document.
+    int[] ids = check parseStringAtPath(STORE, `$.items[?(@.price > 5)].id`);
+    test:assertEquals(ids, [1]);
+}
+
+@test:Config
+function testParseStringAtPathNegative() {
+    int|Error missing = parseStringAtPath(STORE, `$.items[5].id`);
+    test:assertTrue(missing is Error);
+    test:assertEquals((<Error>missing).message(), "no value at path '$.items[5].id'");
+
+    int|Error invalid = parseStringAtPath(STORE, `$.name`);
+    test:assertTrue(invalid is Error);
+
+    string[]|Error syntax = parseStringAtPath(string `{"a": ["x", "y"}`, `$.a[*]`);
+    test:assertTrue(syntax is Error);
+    test:assertEquals((<Error>syntax).message(), "'expected ',' or ']'' at line: '1' column: '16'");
+
+    // The values which are skipped are validated too.
+    int|Error skipped = parseStringAtPath(string `{"b": tru, "a": 1}`, `$.a`);
+    test:assertTrue(skipped is Error);
+    test:assertEquals((<Error>skipped).message(), "'unrecognized token 'tru'' at line: '1' column: '7'");
+    int|Error skippedNumber = parseStringAtPath(string `{"b": [1, 2.], "a": 1}`, `$.a`);
+    test:assertTrue(skippedNumber is Error);
+    test:assertEquals((<Error>skippedNumber).message(), "'unrecognized token '2.'' at line: '1' column: '11'");
+
+    // The selected values are parsed from where they start in the document.
+    int[]|Error typeError = parseStringAtPath(string `{"a": [1,
+        true]}`, `$.a[*]`);
+    test:assertTrue(typeError is Error);
+}
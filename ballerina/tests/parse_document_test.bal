@@ -0,0 +1,105 @@
+// Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+
+type Book record {|
+    string title;
+    int year;
+|};
+
+final string LIBRARY = string `{
+    "name": "City \"Central\" Library",
+    "books": [
+        {"title": "Dune", "year": 1965},
+        {"title": "Emma", "year": 1815}
+    ],
+    "open": true,
+    "tags": []
+}`;
+
+@test:Config
+isolated function testParseDocument() returns error? {
+    Document document = check parseDocument(LIBRARY);
+    test:assertEquals(check document.keys(), ["name", "books", "open", "tags"]);
+    test:assertEquals(check document.length(["books"]), 2);
+    test:assertEquals(check document.length(["tags"]), 0);
+
+    string name = check document.get(["name"]);
+    test:assertEquals(name, "City \"Central\" Library");
+    Book book = check document.get(["books", 1]);
+    test:assertEquals(book, {title: "Emma", year: 1815});
+    int year = check document.get(["books", 0, "year"]);
+    test:assertEquals(year, 1965);
+    boolean open = check document.get(["open"]);
+    test:assertTrue(open);
+    record {|string title;|}[] titles = check document.get(["books"]);
+    test:assertEquals(titles, [{title: "Dune"}, {title: "Emma"}]);
+
+    Document bytesDocument = check parseDocument(LIBRARY.toBytes());
+    json value = check bytesDocument.get([]);
+    test:assertEquals(value, check parseString(LIBRARY, {}, json));
+}
+
+@test:Config
+isolated function testParseDocumentNegative() returns error? {
+    Document|Error document = parseDocument(string `{"a": [1, 2}`);
+    test:assertTrue(document is Error);
+    test:assertEquals((<Error>document).message(), "'expected ',' or ']'' at line: '1' column: '12'");
+
+    document = parseDocument(string `{"a": 1} {`);
+    test:assertTrue(document is Error);
+    test:assertEquals((<Error>document).message(), "'JSON document has already ended' at line: '1' column: '10'");
+
+    Document library = check parseDocument(LIBRARY);
+    int|Error missing = library.get(["books", 2, "year"]);
+    test:assertTrue(missing is Error);
+    test:assertEquals((<Error>missing).message(), "no value at path '$.books[2].year'");
+
+    string[]|Error keys = library.keys(["books"]);
+    test:assertTrue(keys is Error);
+    test:assertEquals((<Error>keys).message(), "value at path '$.books' is not an object");
+
+    int|Error length = library.length(["open"]);
+    test:assertTrue(length is Error);
+    test:assertEquals((<Error>length).message(), "value at path '$.open' is not an object or an array");
+
+    int|Error title = library.get(["books", 0, "title"]);
+    test:assertTrue(title is Error);
+}
+
+@test:Config
+isolated function testParseDocumentWithLargeArray() returns error? {
+    int[] numbers = from int i in 0 ..< 100 select i * 2;
+    Document document = check parseDocument(numbers.toJsonString());
+    test:assertEquals(check document.length(), 100);
+    foreach int i in 0 ..< 100 {
+        int number = check document.get([i]);
+        test:assertEquals(number, i * 2);
+    }
+    int|Error missing = document.get([100]);
+    test:assertTrue(missing is Error);
+}
+
+@test:Config
+isolated function testParseDocumentWithInvalidNumbers() {
+    foreach string number in ["1.2.3", "--", "1e", "-", "1.", "1e+"] {
+        Document|Error document = parseDocument(string `{"a": ${number}}`);
+        test:assertTrue(document is Error);
+        test:assertEquals((<Error>document).message(),
+                string `'unrecognized token '${number}'' at line: '1' column: '7'`);
+    }
+}
@@ -0,0 +1,79 @@
+// Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+
+final string JSON_LINES = string `{"id": 1, "name": "a"}
+{"id": 2 "name": "b"}
+{"id": 3, "name": "c"}
+{"id": "x", "name": "d"}
+
+{"id": 5, "name": "e"}`;
+
+@test:Config
+isolated function testParseLines() returns error? {
+    (Item|Error)[] items = check parseLines(string `{"id": 1, "name": "a"}
+        {"id": 2, "name": "b"}{"id": 3, "name": "c"}`);
+    test:assertEquals(items, [{id: 1, name: "a"}, {id: 2, name: "b"}, {id: 3, name: "c"}]);
+
+    (int|Error)[] numbers = check parseLines("1\n2\n\n3".toBytes());
+    test:assertEquals(numbers, [1, 2, 3]);
+
+    (string|Error)[] empty = check parseLines(" \n ");
+    test:assertEquals(empty, []);
+
+    (Item|Error)[]|Error err = parseLines(JSON_LINES);
+    test:assertTrue(err is Error);
+    test:assertEquals((<Error>err).message(),
+            "invalid JSON document at line '2': 'expected ',' or '}'' at line: '2' column: '10'");
+}
+
+@test:Config
+isolated function testParseLinesWithErrors() returns error? {
+    (Item|Error)[] items = check parseLines(JSON_LINES, {skipInvalidDocuments: true});
+    test:assertEquals(items.length(), 5);
+    test:assertEquals(items[0], {id: 1, name: "a"});
+    test:assertEquals(items[2], {id: 3, name: "c"});
+    test:assertEquals(items[4], {id: 5, name: "e"});
+    (Item|Error) secondItem = items[1];
+    test:assertTrue(secondItem is Error);
+    test:assertEquals((<Error>secondItem).message(),
+            "invalid JSON document at line '2': 'expected ',' or '}'' at line: '2' column: '10'");
+    (Item|Error) fourthItem = items[3];
+    test:assertTrue(fourthItem is Error);
+    test:assertTrue((<Error>fourthItem).message().startsWith("invalid JSON document at line '4': "));
+}
+
+@test:Config
+function testParseLinesAsStream() returns error? {
+    byte[] bytes = JSON_LINES.toBytes();
+    byte[][] blocks = [bytes.slice(0, 10), bytes.slice(10, 50), bytes.slice(50)];
+    stream<(Item|Error)[], Error?> batches =
+            check parseLinesAsStream(blocks.toStream(), {batchSize: 2, skipInvalidDocuments: true});
+    Item[][] result = check from (Item|Error)[] batch in batches
+        select from Item|Error item in batch where item is Item select item;
+    test:assertEquals(result, [[{id: 1, name: "a"}], [{id: 3, name: "c"}], [{id: 5, name: "e"}]]);
+
+    stream<(Item|Error)[], Error?> failingBatches = check parseLinesAsStream([JSON_LINES.toBytes()].toStream());
+    test:assertEquals(failingBatches.next(), {value: [{id: 1, name: "a"}]});
+    record {|(Item|Error)[] value;|}|Error? err = failingBatches.next();
+    test:assertTrue(err is Error);
+
+    stream<(Item|Error)[], Error?>|Error invalidBatchSize = parseLinesAsStream([JSON_LINES.toBytes()].toStream(),
+            {batchSize: 0});
+    test:assertTrue(invalidBatchSize is Error);
+    test:assertEquals((<Error>invalidBatchSize).message(), "invalid batch size '0', expected a positive integer");
+}
@@ -0,0 +1,110 @@
+// Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+@test:Config
+function testResourceLimits() returns error? {
+    string nested = string `{"a": {"b": [1, [2]]}}`;
+    json value = check parseString(nested, {maxDepth: 4});
+    test:assertEquals(value, {"a": {"b": [1, [2]]}});
+    json|Error err = parseString(nested, {maxDepth: 3});
+    test:assertTrue(err is Error);
+    test:assertEquals((<Error>err).message(), "nesting depth exceeds the limit of '3'");
+
+    record {|string a;|}|Error projected = parseString(string `{"a": "x", "b": [[[1]]]}`, {maxDepth: 3});
+    test:assertTrue(projected is Error);
+    test:assertEquals((<Error>projected).message(), "nesting depth exceeds the limit of '3'");
+
+    string document = string `{"name": "Walter White", "tags": ["a", "b", "c"]}`;
+    test:assertEquals(check parseString(document, {maxDocumentSize: document.length()}),
+            {"name": "Walter White", "tags": ["a", "b", "c"]});
+    err = parseBytes(document.toBytes(), {maxDocumentSize: 20});
+    test:assertTrue(err is Error);
+    test:assertEquals((<Error>err).message(), "document size exceeds the limit of '20' characters");
+
+    test:assertEquals(check parseString(document, {maxStringLength: 12}),
+            {"name": "Walter White", "tags": ["a", "b", "c"]});
+    err = parseString(document, {maxStringLength: 11});
+    test:assertTrue(err is Error);
+    test:assertEquals((<Error>err).message(), "string length exceeds the limit of '11' characters");
+    err = parseString(string `["\n\n\n\n"]`, {maxStringLength: 3});
+    test:assertTrue(err is Error);
+    test:assertEquals((<Error>err).message(), "string length exceeds the limit of '3' characters");
+
+    test:assertEquals(check parseString(document, {maxElements: 3}),
+            {"name": "Walter White", "tags": ["a", "b", "c"]});
+    err = parseString(document, {maxElements: 2});
+    test:assertTrue(err is Error);
+    test:assertEquals((<Error>err).message(), "number of members exceeds the limit of '2'");
+    err = parseString(string `{"a": 1, "b": 2, "c": 3}`, {maxElements: 2});
+    test:assertTrue(err is Error);
+    test:assertEquals((<Error>err).message(), "number of members exceeds the limit of '2'");
+
+    err = parseString(document, {maxDepth: 0});
+    test:assertTrue(err is Error);
+    test:assertEquals((<Error>err).message(), "invalid limit '0' for 'maxDepth', expected a positive integer");
+}
+
+@test:Config
+function testResourceLimitsWithLines() returns error? {
+    string lines = string `{"id": 1}
+{"id": 2, "tags": ["a", "b", "c"]}
+{"id": 3}`;
+    (record {|int id; string[] tags = [];|}|Error)[] values =
+            check parseLines(lines, {maxElements: 2, skipInvalidDocuments: true});
+    test:assertEquals(values.length(), 3);
+    test:assertEquals(values[0], {id: 1});
+    test:assertEquals(values[2], {id: 3});
+    record {|int id; string[] tags = [];|}|Error err = values[1];
+    test:assertTrue(err is Error);
+    test:assertEquals((<Error>err).message(),
+            "invalid JSON document at line '2': number of members exceeds the limit of '2'");
+}
+
+@test:Config
+function testResourceLimitsWithArrayStream() returns error? {
+    string array = string `[{"id": 1}, {"id": 2}, {"id": 3}]`;
+    stream<record {|int id;|}, Error?> members = check parseAsStream([array.toBytes()].toStream(), {maxElements: 2});
+    test:assertEquals(members.next(), {value: {id: 1}});
+    test:assertEquals(members.next(), {value: {id: 2}});
+    record {|record {|int id;|} value;|}|Error? err = members.next();
+    test:assertTrue(err is Error);
+    test:assertEquals((<Error>err).message(), "number of members exceeds the limit of '2'");
+
+    stream<json, Error?> nested = check parseAsStream(["[[1], [[2]]]".toBytes()].toStream(), {maxDepth: 2});
+    test:assertEquals(nested.next(), {value: [1]});
+    record {|json value;|}|Error? nestedErr = nested.next();
+    test:assertTrue(nestedErr is Error);
+    test:assertEquals((<Error>nestedErr).message(), "nesting depth exceeds the limit of '2'");
+
+    stream<int, Error?> sized = check parseAsStream(["[1, 2, 3, 4]".toBytes()].toStream(), {maxDocumentSize: 8});
+    record {|int value;|}|Error? sizeErr = sized.next();
+    test:assertTrue(sizeErr is Error);
+    test:assertEquals((<Error>sizeErr).message(), "document size exceeds the limit of '8' characters");
+}
+
+@test:Config
+function testResourceLimitsWithParseAsType() returns error? {
+    json value = {"a": {"b": [1, [2]]}};
+    map<map<json>> converted = check parseAsType(value, {maxDepth: 2});
+    test:assertEquals(converted, {"a": {"b": [1, [2]]}});
+    map<map<int[][]>>|Error err = parseAsType({"a": {"b": [[1]]}}, {maxDepth: 3});
+    test:assertTrue(err is Error);
+    test:assertEquals((<Error>err).message(), "nesting depth exceeds the limit of '3'");
+
+    int[]|Error members = parseAsType([1, 2, 3], {maxElements: 2});
+    test:assertTrue(members is Error);
+    test:assertEquals((<Error>members).message(), "number of members exceeds the limit of '2'");
+}
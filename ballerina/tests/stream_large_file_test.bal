@@ -154,3 +154,107 @@ function createCustomer(int id) returns CustomerR1 {
         "product": PRODUCTS[id % PRODUCTS.length()]
     };
 }
+
+@test:Config
+function testParseAsStream() returns error? {
+    stream<byte[], error?> dataStream = check io:fileReadBlocksAsStream(LARGE_JSON_FILE);
+    CompanyR1 company = check parseStream(dataStream);
+
+    byte[] employees = company.employees.toJsonString().toBytes();
+    byte[][] blocks = [];
+    int index = 0;
+    while index < employees.length() {
+        blocks.push(employees.slice(index, int:min(index + 7, employees.length())));
+        index += 7;
+    }
+    stream<EmployeeR1, Error?> employeeStream = check parseAsStream(blocks.toStream());
+    int count = 0;
+    check from EmployeeR1 employee in employeeStream
+        do {
+            test:assertEquals(employee, company.employees[count]);
+            count += 1;
+        };
+    test:assertEquals(count, 1001);
+
+    stream<int, Error?> emptyStream = check parseAsStream([" [ ] ".toBytes()].toStream());
+    test:assertEquals(emptyStream.next(), ());
+
+    stream<record {|int id;|}, Error?> invalidStream =
+            check parseAsStream(["[{\"id\": 1},\n {\"id\": \"2\"}]".toBytes()].toStream());
+    test:assertEquals(invalidStream.next(), {value: {id: 1}});
+    record {|record {|int id;|} value;|}|Error? err = invalidStream.next();
+    test:assertTrue(err is Error);
+
+    stream<int, Error?> syntaxErrorStream = check parseAsStream(["[1, 2\n, 3 4]".toBytes()].toStream());
+    test:assertEquals(syntaxErrorStream.next(), {value: 1});
+    test:assertEquals(syntaxErrorStream.next(), {value: 2});
+    record {|int value;|}|Error? syntaxErr = syntaxErrorStream.next();
+    test:assertTrue(syntaxErr is Error);
+    test:assertEquals((<Error>syntaxErr).message(), "'JSON document has already ended' at line: '2' column: '5'");
+}
+
+@test:Config
+function testParseStreamStopWhenComplete() returns error? {
+    stream<byte[], error?> dataStream = check io:fileReadBlocksAsStream(LARGE_JSON_FILE);
+    record {|EmployeeR2[2] employees;|} header = check parseStream(dataStream, {stopWhenComplete: true});
+    test:assertEquals(header.employees,
+            [{id: 0, position: "Associate Tech Lead"}, {id: 1, position: "Software Engineer"}]);
+
+    byte[][] blocks = ["{\"id\": 1, \"name\": \"a\", ".toBytes(), "\"data\": [1, 2,".toBytes()];
+    record {|int id; string name;|} item = check parseStream(blocks.toStream(), {stopWhenComplete: true});
+    test:assertEquals(item, {id: 1, name: "a"});
+
+    record {|int id; string name;|}|Error incomplete = parseStream(blocks.toStream());
+    test:assertTrue(incomplete is Error);
+
+    record {|int id; string name;|} fromBytes = check parseBytes("{\"name\": \"b\", \"id\": 2, }".toBytes(),
+            {stopWhenComplete: true});
+    test:assertEquals(fromBytes, {id: 2, name: "b"});
+
+    record {|int id; string name?;|}|Error missing = parseBytes("{\"id\": 3, \"name\"".toBytes(),
+            {stopWhenComplete: true});
+    test:assertTrue(missing is Error);
+}
+
+@test:Config
+function testParseFile() returns error? {
+    CompanyR1 company = check parseFile(LARGE_JSON_FILE);
+    stream<byte[], error?> dataStream = check io:fileReadBlocksAsStream(LARGE_JSON_FILE);
+    CompanyR1 expected = check parseStream(dataStream);
+    test:assertEquals(company, expected);
+
+    record {|EmployeeR2[1] employees;|} header = check parseFile(LARGE_JSON_FILE, {stopWhenComplete: true});
+    test:assertEquals(header.employees, [{id: 0, position: "Associate Tech Lead"}]);
+
+    CompanyR1|Error missing = parseFile("build//resources//missing.json");
+    test:assertTrue(missing is Error);
+    test:assertTrue((<Error>missing).message().startsWith("cannot read file 'build//resources//missing.json'"));
+}
+
+@test:Config
+function testParseStreamWithSmallBlocks() returns error? {
+    CompanyR1 company = check parseFile(LARGE_JSON_FILE);
+    byte[] content = company.toJsonString().toBytes();
+    byte[][] blocks = [];
+    int index = 0;
+    while index < content.length() {
+        blocks.push(content.slice(index, int:min(index + 13, content.length())));
+        index += 13;
+    }
+    CompanyR1 fromBlocks = check parseStream(blocks.toStream());
+    test:assertEquals(fromBlocks, company);
+
+    record {|EmployeeR2[1] employees;|} header = check parseStream(blocks.toStream(), {stopWhenComplete: true});
+    test:assertEquals(header.employees, [{id: 0, position: "Associate Tech Lead"}]);
+}
+
+@test:Config
+function testParseStreamWithSplitMultiByteChars() returns error? {
+    byte[] content = "{\"name\": \"Café ☕ 𝄞\", \"id\": 1}".toBytes();
+    byte[][] blocks = [];
+    foreach int i in 0 ..< content.length() {
+        blocks.push([content[i]]);
+    }
+    record {|string name; int id;|} item = check parseStream(blocks.toStream());
+    test:assertEquals(item, {name: "Café ☕ 𝄞", id: 1});
+}
@@ -228,6 +228,19 @@ type Singleton1 1;
 
 type SingletonUnion Singleton1|2|"3";
 
+enum Currency {
+    AED, AUD, BRL, CAD, CHF, CLP, CNY, COP, CZK, DKK, EGP, EUR, GBP, HKD, HUF, IDR, ILS, INR, JPY, KRW,
+    KWD, LKR, MAD, MXN, MYR, NGN, NOK, NZD, PEN, PHP, PKR, PLN, QAR, RON, SAR, SEK, SGD, THB, TRY, USD
+}
+
+type MixedSingletons "1"|1|2.5|true|"true";
+
+type Invoice record {|
+    Currency currency;
+    MixedSingletons code;
+    "open"|"paid" status;
+|};
+
 type SingletonInRecord record {|
     Singleton1 value;
     SingletonUnion id;
@@ -0,0 +1,17 @@
+import ballerina/data.jsondata;
+
+type Person record {|
+    string name;
+    table<record {|int a;|}> addresses;
+|};
+
+type Company record {|
+    string name;
+    xml address;
+|};
+
+public function main() returns error? {
+    (Person|jsondata:Error)[] _ = check jsondata:parseLines(string `{"name": "John", "addresses": []}`);
+    byte[][] blocks = [];
+    stream<Company, jsondata:Error?> _ = check jsondata:parseAsStream(blocks.toStream());
+}
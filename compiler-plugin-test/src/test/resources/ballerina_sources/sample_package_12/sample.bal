@@ -0,0 +1,30 @@
+import ballerina/data.jsondata;
+
+type Cat record {|
+    string 'type;
+    string name;
+|};
+
+type Dog record {|
+    string 'type;
+    string name;
+|};
+
+type Fish record {|
+    string 'type;
+    string name;
+|};
+
+@jsondata:Discriminator {
+    'field: "type",
+    mapping: {
+        "cat": Cat,
+        "dog": Dog,
+        "fish": Fish
+    }
+}
+type Pet Cat|Dog;
+
+public function main() returns error? {
+    Pet _ = check jsondata:parseString(string `{"type": "cat", "name": "Tom"}`);
+}
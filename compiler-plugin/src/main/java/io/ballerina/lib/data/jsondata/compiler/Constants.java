@@ -27,7 +27,14 @@ public class Constants {
     static final String PARSE_STRING = "parseString";
     static final String PARSE_BYTES = "parseBytes";
     static final String PARSE_STREAM = "parseStream";
+    static final String PARSE_FILE = "parseFile";
+    static final String PARSE_AS_STREAM = "parseAsStream";
+    static final String PARSE_LINES = "parseLines";
+    static final String PARSE_LINES_AS_STREAM = "parseLinesAsStream";
+    static final String PARSE_DOCUMENT = "parseDocument";
     static final String NAME = "Name";
+    static final String DISCRIMINATOR = "Discriminator";
+    static final String MAPPING = "mapping";
     static final String JSONDATA = "jsondata";
     static final String BALLERINA = "ballerina";
     static final String DATA_JSONDATA = "data.jsondata";
@@ -29,7 +29,9 @@ import static io.ballerina.tools.diagnostics.DiagnosticSeverity.ERROR;
  */
 public enum JsondataDiagnosticCodes {
     DUPLICATE_FIELD("JSON_ERROR_202", "invalid field: duplicate field found", ERROR),
-    UNSUPPORTED_TYPE("JSON_ERROR_203", "unsupported type: type is not supported", ERROR);
+    UNSUPPORTED_TYPE("JSON_ERROR_203", "unsupported type: type is not supported", ERROR),
+    INVALID_DISCRIMINATOR_TYPE("JSON_ERROR_204",
+            "invalid discriminator mapping: type is not a member of the union type", ERROR);
 
     private final String code;
     private final String message;
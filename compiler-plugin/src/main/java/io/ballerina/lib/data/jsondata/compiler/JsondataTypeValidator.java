@@ -27,6 +27,7 @@ import io.ballerina.compiler.api.symbols.IntersectionTypeSymbol;
 import io.ballerina.compiler.api.symbols.ModuleSymbol;
 import io.ballerina.compiler.api.symbols.RecordFieldSymbol;
 import io.ballerina.compiler.api.symbols.RecordTypeSymbol;
+import io.ballerina.compiler.api.symbols.StreamTypeSymbol;
 import io.ballerina.compiler.api.symbols.Symbol;
 import io.ballerina.compiler.api.symbols.SymbolKind;
 import io.ballerina.compiler.api.symbols.TupleTypeSymbol;
@@ -36,18 +37,23 @@ import io.ballerina.compiler.api.symbols.TypeReferenceTypeSymbol;
 import io.ballerina.compiler.api.symbols.TypeSymbol;
 import io.ballerina.compiler.api.symbols.UnionTypeSymbol;
 import io.ballerina.compiler.api.symbols.VariableSymbol;
+import io.ballerina.compiler.syntax.tree.AnnotationNode;
 import io.ballerina.compiler.syntax.tree.CheckExpressionNode;
 import io.ballerina.compiler.syntax.tree.ChildNodeList;
 import io.ballerina.compiler.syntax.tree.ExpressionNode;
 import io.ballerina.compiler.syntax.tree.FunctionCallExpressionNode;
 import io.ballerina.compiler.syntax.tree.FunctionDefinitionNode;
 import io.ballerina.compiler.syntax.tree.ImportDeclarationNode;
+import io.ballerina.compiler.syntax.tree.MappingConstructorExpressionNode;
+import io.ballerina.compiler.syntax.tree.MappingFieldNode;
+import io.ballerina.compiler.syntax.tree.MetadataNode;
 import io.ballerina.compiler.syntax.tree.ModuleMemberDeclarationNode;
 import io.ballerina.compiler.syntax.tree.ModulePartNode;
 import io.ballerina.compiler.syntax.tree.ModuleVariableDeclarationNode;
 import io.ballerina.compiler.syntax.tree.NameReferenceNode;
 import io.ballerina.compiler.syntax.tree.Node;
 import io.ballerina.compiler.syntax.tree.QualifiedNameReferenceNode;
+import io.ballerina.compiler.syntax.tree.SpecificFieldNode;
 import io.ballerina.compiler.syntax.tree.SyntaxKind;
 import io.ballerina.compiler.syntax.tree.TypeDefinitionNode;
 import io.ballerina.compiler.syntax.tree.VariableDeclarationNode;
@@ -66,6 +72,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Jsondata Record Field Validator.
@@ -74,6 +81,10 @@ import java.util.Optional;
  */
 public class JsondataTypeValidator implements AnalysisTask<SyntaxNodeAnalysisContext> {
 
+    private static final Set<String> PARSE_FUNCTIONS = Set.of(Constants.PARSE_STRING, Constants.PARSE_BYTES,
+            Constants.PARSE_STREAM, Constants.PARSE_FILE, Constants.PARSE_AS_STREAM, Constants.PARSE_LINES,
+            Constants.PARSE_LINES_AS_STREAM, Constants.PARSE_DOCUMENT);
+
     private SemanticModel semanticModel;
     private final HashMap<Location, DiagnosticInfo> allDiagnosticInfo = new HashMap<>();
     Location currentLocation;
@@ -146,12 +157,13 @@ public class JsondataTypeValidator implements AnalysisTask<SyntaxNodeAnalysisCon
             }
 
             TypeSymbol typeSymbol = ((VariableSymbol) symbol.get()).typeDescriptor();
-            if (!isParseFunctionOfStringSource(initializer.get())) {
+            Optional<String> parseFunctionName = getParseFunctionName(initializer.get());
+            if (parseFunctionName.isEmpty()) {
                 checkTypeAndDetectDuplicateFields(typeSymbol, ctx);
                 continue;
             }
 
-            validateExpectedType(typeSymbol, ctx);
+            validateExpectedType(getExpectedType(parseFunctionName.get(), typeSymbol), ctx);
         }
     }
 
@@ -184,25 +196,76 @@ public class JsondataTypeValidator implements AnalysisTask<SyntaxNodeAnalysisCon
         }
     }
 
-    private boolean isParseFunctionOfStringSource(ExpressionNode expressionNode) {
+    private Optional<String> getParseFunctionName(ExpressionNode expressionNode) {
         if (expressionNode.kind() == SyntaxKind.CHECK_EXPRESSION) {
             expressionNode = ((CheckExpressionNode) expressionNode).expression();
         }
 
         if (expressionNode.kind() != SyntaxKind.FUNCTION_CALL) {
-            return false;
+            return Optional.empty();
         }
         NameReferenceNode nameReferenceNode = ((FunctionCallExpressionNode) expressionNode).functionName();
         if (nameReferenceNode.kind() != SyntaxKind.QUALIFIED_NAME_REFERENCE) {
-            return false;
+            return Optional.empty();
+        }
+        QualifiedNameReferenceNode qualifiedNameReferenceNode = (QualifiedNameReferenceNode) nameReferenceNode;
+        if (!qualifiedNameReferenceNode.modulePrefix().text().equals(modulePrefix)) {
+            return Optional.empty();
+        }
+        String functionName = qualifiedNameReferenceNode.identifier().text();
+        return PARSE_FUNCTIONS.contains(functionName) ? Optional.of(functionName) : Optional.empty();
+    }
+
+    /**
+     * Returns the type the values are converted to, from the type of the variable the result of the given parse
+     * function is assigned to.
+     */
+    private TypeSymbol getExpectedType(String functionName, TypeSymbol typeSymbol) {
+        switch (functionName) {
+            case Constants.PARSE_AS_STREAM -> {
+                return getStreamValueType(typeSymbol);
+            }
+            case Constants.PARSE_LINES -> {
+                return getDocumentType(typeSymbol);
+            }
+            case Constants.PARSE_LINES_AS_STREAM -> {
+                return getDocumentType(getStreamValueType(typeSymbol));
+            }
+            default -> {
+                return typeSymbol;
+            }
+        }
+    }
+
+    private TypeSymbol getStreamValueType(TypeSymbol typeSymbol) {
+        TypeSymbol rawType = getRawType(typeSymbol);
+        if (rawType.typeKind() != TypeDescKind.STREAM) {
+            return typeSymbol;
+        }
+        return ((StreamTypeSymbol) rawType).typeParameter();
+    }
+
+    /**
+     * Returns the type of the documents from the type of an array of the documents and the errors of the skipped
+     * documents.
+     */
+    private TypeSymbol getDocumentType(TypeSymbol typeSymbol) {
+        TypeSymbol rawType = getRawType(typeSymbol);
+        if (rawType.typeKind() != TypeDescKind.ARRAY) {
+            return typeSymbol;
         }
-        String prefix = ((QualifiedNameReferenceNode) nameReferenceNode).modulePrefix().text();
-        if (!prefix.equals(modulePrefix)) {
-            return false;
+        TypeSymbol memberType = ((ArrayTypeSymbol) rawType).memberTypeDescriptor();
+        TypeSymbol rawMemberType = getRawType(memberType);
+        if (rawMemberType.typeKind() != TypeDescKind.UNION) {
+            return memberType;
+        }
+        List<TypeSymbol> documentTypes = new ArrayList<>();
+        for (TypeSymbol unionMemberType : ((UnionTypeSymbol) rawMemberType).memberTypeDescriptors()) {
+            if (getRawType(unionMemberType).typeKind() != TypeDescKind.ERROR) {
+                documentTypes.add(unionMemberType);
+            }
         }
-        String functionName = ((FunctionCallExpressionNode) expressionNode).functionName().toString().trim();
-        return functionName.contains(Constants.PARSE_STRING) || functionName.contains(Constants.PARSE_BYTES)
-                || functionName.contains(Constants.PARSE_STREAM);
+        return documentTypes.size() == 1 ? documentTypes.get(0) : memberType;
     }
 
     private void validateExpectedType(TypeSymbol typeSymbol, SyntaxNodeAnalysisContext ctx) {
@@ -311,7 +374,11 @@ public class JsondataTypeValidator implements AnalysisTask<SyntaxNodeAnalysisCon
     private void processModuleVariableDeclarationNode(ModuleVariableDeclarationNode moduleVariableDeclarationNode,
                                                       SyntaxNodeAnalysisContext ctx) {
         Optional<ExpressionNode> initializer = moduleVariableDeclarationNode.initializer();
-        if (initializer.isEmpty() || !isParseFunctionOfStringSource(initializer.get())) {
+        if (initializer.isEmpty()) {
+            return;
+        }
+        Optional<String> parseFunctionName = getParseFunctionName(initializer.get());
+        if (parseFunctionName.isEmpty()) {
             return;
         }
 
@@ -319,10 +386,12 @@ public class JsondataTypeValidator implements AnalysisTask<SyntaxNodeAnalysisCon
         if (symbol.isEmpty()) {
             return;
         }
-        validateExpectedType(((VariableSymbol) symbol.get()).typeDescriptor(), ctx);
+        validateExpectedType(getExpectedType(parseFunctionName.get(),
+                ((VariableSymbol) symbol.get()).typeDescriptor()), ctx);
     }
 
     private void processTypeDefinitionNode(TypeDefinitionNode typeDefinitionNode, SyntaxNodeAnalysisContext ctx) {
+        validateDiscriminatorMapping(typeDefinitionNode, ctx);
         Node typeDescriptor = typeDefinitionNode.typeDescriptor();
         if (typeDescriptor.kind() != SyntaxKind.RECORD_TYPE_DESC) {
             return;
@@ -339,6 +408,84 @@ public class JsondataTypeValidator implements AnalysisTask<SyntaxNodeAnalysisCon
         detectDuplicateFields((RecordTypeSymbol) typeDefinitionSymbol.typeDescriptor(), ctx);
     }
 
+    /**
+     * Reports the types in the mapping of a discriminator annotation which are not member types of the annotated
+     * union type.
+     */
+    private void validateDiscriminatorMapping(TypeDefinitionNode typeDefinitionNode, SyntaxNodeAnalysisContext ctx) {
+        Optional<MappingConstructorExpressionNode> mapping = getDiscriminatorMapping(typeDefinitionNode);
+        if (mapping.isEmpty()) {
+            return;
+        }
+        Optional<Symbol> symbol = semanticModel.symbol(typeDefinitionNode);
+        if (symbol.isEmpty()) {
+            return;
+        }
+        TypeSymbol typeSymbol = getRawType(((TypeDefinitionSymbol) symbol.get()).typeDescriptor());
+        if (typeSymbol.typeKind() != TypeDescKind.UNION) {
+            return;
+        }
+        List<TypeSymbol> memberTypeSymbols = ((UnionTypeSymbol) typeSymbol).memberTypeDescriptors();
+        for (MappingFieldNode field : mapping.get().fields()) {
+            if (field.kind() != SyntaxKind.SPECIFIC_FIELD) {
+                continue;
+            }
+            Optional<ExpressionNode> valueExpr = ((SpecificFieldNode) field).valueExpr();
+            if (valueExpr.isEmpty()) {
+                continue;
+            }
+            Optional<Symbol> mappedSymbol = semanticModel.symbol(valueExpr.get());
+            if (mappedSymbol.isEmpty() || mappedSymbol.get().kind() != SymbolKind.TYPE_DEFINITION) {
+                continue;
+            }
+            if (!isMemberType(mappedSymbol.get(), memberTypeSymbols)) {
+                reportDiagnosticInfo(ctx, Optional.of(valueExpr.get().location()),
+                        JsondataDiagnosticCodes.INVALID_DISCRIMINATOR_TYPE);
+            }
+        }
+    }
+
+    private Optional<MappingConstructorExpressionNode> getDiscriminatorMapping(TypeDefinitionNode typeDefinitionNode) {
+        Optional<MetadataNode> metadata = typeDefinitionNode.metadata();
+        if (metadata.isEmpty()) {
+            return Optional.empty();
+        }
+        for (AnnotationNode annotationNode : metadata.get().annotations()) {
+            Node annotReference = annotationNode.annotReference();
+            if (annotReference.kind() != SyntaxKind.QUALIFIED_NAME_REFERENCE) {
+                continue;
+            }
+            QualifiedNameReferenceNode qualifiedNameReferenceNode = (QualifiedNameReferenceNode) annotReference;
+            if (!qualifiedNameReferenceNode.modulePrefix().text().equals(modulePrefix)
+                    || !qualifiedNameReferenceNode.identifier().text().equals(Constants.DISCRIMINATOR)
+                    || annotationNode.annotValue().isEmpty()) {
+                continue;
+            }
+            for (MappingFieldNode field : annotationNode.annotValue().get().fields()) {
+                if (field.kind() != SyntaxKind.SPECIFIC_FIELD) {
+                    continue;
+                }
+                SpecificFieldNode specificFieldNode = (SpecificFieldNode) field;
+                Optional<ExpressionNode> valueExpr = specificFieldNode.valueExpr();
+                if (specificFieldNode.fieldName().toSourceCode().trim().equals(Constants.MAPPING)
+                        && valueExpr.isPresent() && valueExpr.get().kind() == SyntaxKind.MAPPING_CONSTRUCTOR) {
+                    return Optional.of((MappingConstructorExpressionNode) valueExpr.get());
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private boolean isMemberType(Symbol typeDefinitionSymbol, List<TypeSymbol> memberTypeSymbols) {
+        for (TypeSymbol memberTypeSymbol : memberTypeSymbols) {
+            if (memberTypeSymbol.typeKind() == TypeDescKind.TYPE_REFERENCE
+                    && ((TypeReferenceTypeSymbol) memberTypeSymbol).definition().equals(typeDefinitionSymbol)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private void detectDuplicateFields(RecordTypeSymbol recordTypeSymbol, SyntaxNodeAnalysisContext ctx) {
         List<String> fieldMembers = new ArrayList<>();
         for (Map.Entry<String, RecordFieldSymbol> entry : recordTypeSymbol.fieldDescriptors().entrySet()) {
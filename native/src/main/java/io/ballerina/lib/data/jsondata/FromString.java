@@ -20,6 +20,8 @@ package io.ballerina.lib.data.jsondata;
 
 import io.ballerina.lib.data.jsondata.utils.DiagnosticErrorCode;
 import io.ballerina.lib.data.jsondata.utils.DiagnosticLog;
+import io.ballerina.lib.data.jsondata.utils.FiniteTypeValues;
+import io.ballerina.lib.data.jsondata.utils.NumberParser;
 import io.ballerina.runtime.api.creators.TypeCreator;
 import io.ballerina.runtime.api.creators.ValueCreator;
 import io.ballerina.runtime.api.types.FiniteType;
@@ -35,9 +37,12 @@ import io.ballerina.runtime.api.values.BDecimal;
 import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BString;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Native implementation of data:fromStringWithType(string).
@@ -129,19 +134,8 @@ public class FromString {
     }
 
     private static Object stringToFiniteType(String value, FiniteType finiteType) {
-        return finiteType.getValueSpace().stream()
-                .filter(finiteValue -> !(convertToSingletonValue(value, finiteValue) instanceof BError))
-                .findFirst()
-                .orElseGet(() -> returnError(value, finiteType.toString()));
-    }
-
-    private static Object convertToSingletonValue(String str, Object singletonValue) {
-        String singletonStr = String.valueOf(singletonValue);
-        if (str.equals(singletonStr)) {
-            return fromStringWithType(StringUtils.fromString(str), TypeUtils.getType(singletonValue));
-        } else {
-            return returnError(str, singletonStr);
-        }
+        Object singletonValue = FiniteTypeValues.of(finiteType).get(value);
+        return singletonValue == FiniteTypeValues.NO_MATCH ? returnError(value, finiteType.toString()) : singletonValue;
     }
 
     private static Long stringToInt(String value) throws NumberFormatException {
@@ -219,11 +213,14 @@ public class FromString {
         if (hasFloatOrDecimalLiteralSuffix(value)) {
             throw new NumberFormatException();
         }
-        return Double.parseDouble(value);
+        Double doubleValue = NumberParser.parseDouble(value);
+        return doubleValue != null ? doubleValue : Double.parseDouble(value);
     }
 
     private static BDecimal stringToDecimal(String value) throws NumberFormatException {
-        return ValueCreator.createDecimalValue(value);
+        BigDecimal decimalValue = NumberParser.parseDecimal(value);
+        return decimalValue != null ? ValueCreator.createDecimalValue(decimalValue)
+                : ValueCreator.createDecimalValue(value);
     }
 
     private static Object stringToBoolean(String value) throws NumberFormatException {
@@ -245,12 +242,14 @@ public class FromString {
     }
 
     private static Object stringToUnion(BString string, UnionType expType) throws NumberFormatException {
-        List<Type> memberTypes = new ArrayList<>(expType.getMemberTypes());
-        memberTypes.sort(Comparator.comparingInt(t -> {
-            int index = TYPE_PRIORITY_ORDER.indexOf(TypeUtils.getReferredType(t).getTag());
-            return index == -1 ? Integer.MAX_VALUE : index;
-        }));
-        for (Type memberType : memberTypes) {
+        UnionPlan plan = UnionPlan.of(expType);
+        String value = string.getValue();
+        Type[] memberTypes = plan.memberTypes;
+        for (int i = 0; i < memberTypes.length; i++) {
+            if (!mayConvert(value, plan.memberTags[i])) {
+                continue;
+            }
+            Type memberType = memberTypes[i];
             try {
                 Object result = fromStringWithType(string, memberType);
                 if (result instanceof BError) {
@@ -264,6 +263,74 @@ public class FromString {
         return returnError(string.getValue(), expType.toString());
     }
 
+    /**
+     * Checks whether a string may be converted to a member type, so that the members which can not hold the value
+     * are skipped without creating an error. Only the strings which the member type certainly rejects are ruled out.
+     */
+    private static boolean mayConvert(String value, int memberTag) {
+        switch (memberTag) {
+            case TypeTags.NULL_TAG:
+                return "null".equalsIgnoreCase(value) || "()".equals(value);
+            case TypeTags.BOOLEAN_TAG:
+                return "true".equalsIgnoreCase(value) || "false".equalsIgnoreCase(value) || "1".equals(value)
+                        || "0".equals(value);
+            case TypeTags.INT_TAG:
+            case TypeTags.BYTE_TAG:
+            case TypeTags.SIGNED8_INT_TAG:
+            case TypeTags.SIGNED16_INT_TAG:
+            case TypeTags.SIGNED32_INT_TAG:
+            case TypeTags.UNSIGNED8_INT_TAG:
+            case TypeTags.UNSIGNED16_INT_TAG:
+            case TypeTags.UNSIGNED32_INT_TAG:
+            case TypeTags.FLOAT_TAG:
+            case TypeTags.DECIMAL_TAG:
+                if (value.isEmpty()) {
+                    return false;
+                }
+                // Besides digits and signs, numbers may start with a point, whitespace, NaN or Infinity.
+                char ch = value.charAt(0);
+                return (ch >= '0' && ch <= '9') || ch == '-' || ch == '+' || ch == '.' || ch == 'N' || ch == 'I'
+                        || ch <= ' ' || ch > 0x7F;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Conversion plan of a union type, which holds the members in the order they are tried. Plans are created once
+     * per union type and shared.
+     */
+    private static final class UnionPlan {
+
+        private static final Map<UnionType, UnionPlan> PLANS = new ConcurrentHashMap<>();
+
+        final Type[] memberTypes;
+        final int[] memberTags;
+
+        private UnionPlan(UnionType unionType) {
+            List<Type> members = new ArrayList<>(unionType.getMemberTypes());
+            members.sort(Comparator.comparingInt(t -> {
+                int index = TYPE_PRIORITY_ORDER.indexOf(TypeUtils.getReferredType(t).getTag());
+                return index == -1 ? Integer.MAX_VALUE : index;
+            }));
+            this.memberTypes = members.toArray(new Type[0]);
+            this.memberTags = new int[memberTypes.length];
+            for (int i = 0; i < memberTypes.length; i++) {
+                memberTags[i] = TypeUtils.getReferredType(memberTypes[i]).getTag();
+            }
+        }
+
+        static UnionPlan of(UnionType unionType) {
+            UnionPlan plan = PLANS.get(unionType);
+            if (plan == null) {
+                plan = new UnionPlan(unionType);
+                UnionPlan existing = PLANS.putIfAbsent(unionType, plan);
+                return existing == null ? plan : existing;
+            }
+            return plan;
+        }
+    }
+
     private static boolean hasFloatOrDecimalLiteralSuffix(String value) {
         int length = value.length();
         if (length == 0) {
@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.data.jsondata.io;
+
+import io.ballerina.lib.data.jsondata.utils.DiagnosticErrorCode;
+import io.ballerina.lib.data.jsondata.utils.DiagnosticLog;
+import io.ballerina.runtime.api.Environment;
+import io.ballerina.runtime.api.types.MethodType;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chunk source over a Ballerina byte block stream, <code>stream<byte[], error?></code>, which hands over the blocks
+ * of the stream as they are.
+ * <p>
+ * In the prefetch mode, the blocks are fetched by a task of the {@link DataReaderThreadPool} while the current block
+ * is being read, and are handed over through a bounded queue, so that a slow producer and the parser work in
+ * parallel. The task is the only caller of the next method of the stream until it is stopped. However the task ends,
+ * it hands over an end of the blocks, and the reader stops waiting for blocks once the task has ended.
+ *
+ * @since 1.1.2
+ */
+public class BallerinaByteBlockSource implements ByteChunkSource {
+
+    private static final Chunk END_OF_BLOCKS = new Chunk(new byte[0], 0, 0);
+    private static final Chunk PREFETCH_FAILED = new Chunk(new byte[0], 0, 0);
+    private static final long OFFER_TIMEOUT_MILLIS = 10;
+    private static final long POLL_TIMEOUT_MILLIS = 10;
+
+    private final BObject iterator;
+    private final Environment env;
+    private final String nextMethodName;
+    private final MethodType closeMethod;
+    private final int prefetchDepth;
+    private boolean done = false;
+    private BError error;
+    private BlockingQueue<Chunk> prefetchedChunks;
+    private Future<?> prefetchTask;
+    private volatile boolean prefetchStopped;
+
+    /**
+     * Creates a source which fetches up to the given number of blocks ahead of the block being read.
+     *
+     * @param env           current environment
+     * @param iterator      iterator of the Ballerina byte block stream
+     * @param nextMethod    next method of the iterator
+     * @param closeMethod   close method of the iterator, if any
+     * @param prefetchDepth maximum number of blocks fetched ahead, or zero to fetch each block only when needed
+     */
+    public BallerinaByteBlockSource(Environment env, BObject iterator, MethodType nextMethod,
+                                    MethodType closeMethod, int prefetchDepth) {
+        this.env = env;
+        this.iterator = iterator;
+        this.nextMethodName = nextMethod.getName();
+        this.closeMethod = closeMethod;
+        this.prefetchDepth = prefetchDepth;
+    }
+
+    @Override
+    public Chunk nextChunk() {
+        while (!done) {
+            Chunk chunk;
+            try {
+                chunk = prefetchDepth > 0 && !prefetchStopped ? takePrefetchedChunk() : fetchChunk();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                // Cancels the fetching of the blocks ahead.
+                prefetchStopped = true;
+                chunk = PREFETCH_FAILED;
+            }
+            if (chunk == PREFETCH_FAILED) {
+                this.error = DiagnosticLog.error(DiagnosticErrorCode.CAN_NOT_READ_STREAM);
+                done = true;
+            } else if (chunk == END_OF_BLOCKS) {
+                done = true;
+            } else if (chunk.length() > 0) {
+                return chunk;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() {
+        stopPrefetch();
+        if (closeMethod != null) {
+            env.getRuntime().callMethod(iterator, closeMethod.getName(), null);
+        }
+    }
+
+    /**
+     * Stops fetching blocks ahead and waits for the block being fetched, after which the stream is no longer used
+     * by another thread. The blocks fetched ahead are dropped.
+     */
+    public void stopPrefetch() {
+        prefetchStopped = true;
+        if (prefetchTask == null) {
+            return;
+        }
+        try {
+            prefetchTask.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // The blocks are not read anymore.
+        }
+        prefetchTask = null;
+        done = true;
+    }
+
+    public BError getError() {
+        return this.error;
+    }
+
+    private Chunk takePrefetchedChunk() throws InterruptedException {
+        if (prefetchTask == null) {
+            prefetchedChunks = new ArrayBlockingQueue<>(prefetchDepth);
+            try {
+                prefetchTask = DataReaderThreadPool.EXECUTOR_SERVICE.submit(this::prefetch);
+            } catch (RejectedExecutionException e) {
+                // All the reader threads are busy, hence the blocks are fetched when needed.
+                prefetchStopped = true;
+                return fetchChunk();
+            }
+        }
+        while (true) {
+            Chunk chunk = prefetchedChunks.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            if (chunk != null) {
+                return chunk;
+            }
+            if (prefetchTask.isDone()) {
+                // The task has handed over all its blocks, unless it ended before handing over the end of them.
+                chunk = prefetchedChunks.poll();
+                return chunk == null ? PREFETCH_FAILED : chunk;
+            }
+        }
+    }
+
+    private void prefetch() {
+        Chunk end = PREFETCH_FAILED;
+        try {
+            Chunk chunk;
+            do {
+                chunk = fetchChunk();
+                if (chunk == END_OF_BLOCKS) {
+                    end = END_OF_BLOCKS;
+                    return;
+                }
+            } while (handOver(chunk) && !prefetchStopped);
+            // The reader does not take any more blocks.
+            end = END_OF_BLOCKS;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            handOverEnd(end);
+        }
+    }
+
+    /**
+     * Waits for the reader to take a block when enough blocks are fetched ahead, and hands over the given block.
+     *
+     * @return false if the fetching was stopped before the block was handed over
+     */
+    private boolean handOver(Chunk chunk) throws InterruptedException {
+        while (!prefetchedChunks.offer(chunk, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+            if (prefetchStopped) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void handOverEnd(Chunk end) {
+        boolean interrupted = Thread.interrupted();
+        try {
+            handOver(end);
+        } catch (InterruptedException e) {
+            // The reader stops waiting once the task has ended.
+            interrupted = true;
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Calls the next method of the stream.
+     *
+     * @return the next block or {@link #END_OF_BLOCKS} if the stream has ended
+     */
+    private Chunk fetchChunk() {
+        try {
+            Object result = env.getRuntime().callMethod(iterator, nextMethodName, null);
+            if (result instanceof BMap<?, ?>) {
+                BMap<BString, Object> valueRecord = (BMap<BString, Object>) result;
+                final BString value = Arrays.stream(valueRecord.getKeys()).findFirst().get();
+                final BArray arrayValue = valueRecord.getArrayValue(value);
+                // The backing array of the block is used as is, up to the size of the block.
+                return new Chunk(arrayValue.getByteArray(), 0, arrayValue.size());
+            }
+        } catch (BError bError) {
+            // An error of the stream ends the blocks.
+        }
+        return END_OF_BLOCKS;
+    }
+}
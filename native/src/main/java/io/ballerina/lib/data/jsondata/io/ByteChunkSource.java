@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.data.jsondata.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Source of content which hands over whole chunks of bytes instead of copying them into a buffer of the reader.
+ *
+ * @since 1.1.2
+ */
+public interface ByteChunkSource extends Closeable {
+
+    /**
+     * Returns the next chunk of the content. The bytes of the chunk must not be changed by the source until the
+     * chunk after the next one is requested, as the end of a chunk can be joined with the start of the next one.
+     *
+     * @return the next chunk or null if the content has ended
+     * @throws IOException if the content can not be read
+     */
+    Chunk nextChunk() throws IOException;
+
+    /**
+     * A range of bytes of an array.
+     *
+     * @param bytes  array holding the bytes
+     * @param offset index of the first byte
+     * @param length number of bytes
+     */
+    record Chunk(byte[] bytes, int offset, int length) {
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.data.jsondata.io;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Source of the bytes of a file which reads it through memory mapped windows of it.
+ * <p>
+ * A single mapping can not be larger than 2 GB, hence larger files are mapped one window at a time, and the next
+ * window is mapped once the current one is read. The windows are handed over in chunks, which are bulk copied from the
+ * mapping into two arrays used in turns, so that no other buffering is needed between the file and the decoder.
+ *
+ * @since 1.1.2
+ */
+public class MappedFileChunkSource implements ByteChunkSource {
+
+    private static final long WINDOW_SIZE = 256L * 1024 * 1024;
+    private static final int CHUNK_SIZE = 256 * 1024;
+
+    private final FileChannel channel;
+    private final long size;
+    private final byte[][] chunkBuffers = new byte[2][];
+    private int nextChunkBuffer;
+    private long windowStart;
+    private MappedByteBuffer window;
+
+    /**
+     * Opens the given file for reading.
+     *
+     * @param path path of the file
+     * @throws IOException if the file can not be opened or mapped
+     */
+    public MappedFileChunkSource(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            this.size = channel.size();
+            mapWindow(0);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public Chunk nextChunk() throws IOException {
+        if (!hasRemaining()) {
+            return null;
+        }
+        int length = Math.min(CHUNK_SIZE, window.remaining());
+        byte[] chunkBuffer = chunkBuffers[nextChunkBuffer];
+        if (chunkBuffer == null) {
+            chunkBuffer = new byte[(int) Math.min(CHUNK_SIZE, size)];
+            chunkBuffers[nextChunkBuffer] = chunkBuffer;
+        }
+        nextChunkBuffer ^= 1;
+        window.get(chunkBuffer, 0, length);
+        return new Chunk(chunkBuffer, 0, length);
+    }
+
+    @Override
+    public void close() throws IOException {
+        // The mapping itself is released once the buffer is garbage collected.
+        window = null;
+        channel.close();
+    }
+
+    private boolean hasRemaining() throws IOException {
+        if (window == null) {
+            throw new IOException("stream closed");
+        }
+        if (window.hasRemaining()) {
+            return true;
+        }
+        long nextWindowStart = windowStart + window.capacity();
+        if (nextWindowStart >= size) {
+            return false;
+        }
+        mapWindow(nextWindowStart);
+        return true;
+    }
+
+    private void mapWindow(long start) throws IOException {
+        windowStart = start;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(WINDOW_SIZE, size - start));
+    }
+}
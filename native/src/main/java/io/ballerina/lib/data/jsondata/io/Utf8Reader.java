@@ -0,0 +1,307 @@
+/*
+ *  Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.lib.data.jsondata.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Reader which decodes UTF-8 encoded JSON bytes straight into the parser char buffer.
+ * <p>
+ * ASCII bytes, which make up all the structural characters of a JSON document and most of the content, are copied
+ * with a single sign check. Only non-ASCII bytes, which can only appear inside strings, go through the multi-byte
+ * decoding path. Malformed sequences are replaced with U+FFFD in the same way {@link java.io.InputStreamReader} does.
+ *
+ * @since 1.1.2
+ */
+public class Utf8Reader extends Reader {
+
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+    private static final char REPLACEMENT_CHAR = '\uFFFD';
+
+    private final InputStream in;
+    private final ByteChunkSource source;
+    private byte[] bytes;
+    private int pos;
+    private int limit;
+    private boolean eof;
+    private char pendingLowSurrogate;
+
+    /**
+     * Creates a reader over an in-memory byte array. The array is used as is, without copying.
+     *
+     * @param bytes UTF-8 encoded content
+     */
+    public Utf8Reader(byte[] bytes) {
+        this(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Creates a reader over a range of an in-memory byte array. The array is used as is, without copying.
+     *
+     * @param bytes  array holding UTF-8 encoded content
+     * @param offset index of the first byte of the content
+     * @param length number of bytes of the content
+     */
+    public Utf8Reader(byte[] bytes, int offset, int length) {
+        this.in = null;
+        this.source = null;
+        this.bytes = bytes;
+        this.pos = offset;
+        this.limit = offset + length;
+        this.eof = true;
+    }
+
+    /**
+     * Creates a reader which pulls UTF-8 encoded content from the given stream in blocks.
+     *
+     * @param in source of UTF-8 encoded content
+     */
+    public Utf8Reader(InputStream in) {
+        this.in = in;
+        this.source = null;
+        this.bytes = new byte[DEFAULT_BUFFER_SIZE];
+        this.pos = 0;
+        this.limit = 0;
+        this.eof = false;
+    }
+
+    /**
+     * Creates a reader which decodes the chunks of the given source in place, without copying them.
+     *
+     * @param source source of UTF-8 encoded content
+     */
+    public Utf8Reader(ByteChunkSource source) {
+        this.in = null;
+        this.source = source;
+        this.bytes = new byte[0];
+        this.pos = 0;
+        this.limit = 0;
+        this.eof = false;
+    }
+
+    /**
+     * Decodes an in-memory byte array as a whole.
+     *
+     * @param bytes UTF-8 encoded content
+     * @return the decoded chars
+     */
+    public static char[] decode(byte[] bytes) {
+        // UTF-8 never needs more chars than bytes.
+        char[] chars = new char[bytes.length];
+        int length = 0;
+        Utf8Reader reader = new Utf8Reader(bytes);
+        try {
+            int count;
+            while (length < chars.length && (count = reader.read(chars, length, chars.length - length)) > 0) {
+                length += count;
+            }
+        } catch (IOException e) {
+            // Not thrown, as there is no underlying stream.
+            throw new IllegalStateException(e);
+        }
+        return length == chars.length ? chars : Arrays.copyOf(chars, length);
+    }
+
+    /**
+     * Returns the number of bytes at the end of the given range which start a multi-byte sequence without completing
+     * it, so that they can be decoded together with the bytes which follow them.
+     *
+     * @param bytes  array holding UTF-8 encoded content
+     * @param offset index of the first byte of the range
+     * @param length number of bytes of the range
+     * @return the number of bytes of the incomplete sequence, or 0 if the range ends with a complete one
+     */
+    public static int getIncompleteSuffixLength(byte[] bytes, int offset, int length) {
+        int end = offset + length;
+        for (int count = 1; count <= 3 && count <= length; count++) {
+            int b = bytes[end - count] & 0xFF;
+            if ((b & 0xC0) == 0x80) {
+                continue;
+            }
+            int size = b >= 0xC2 && b <= 0xDF ? 2 : b >= 0xE0 && b <= 0xEF ? 3 : b >= 0xF0 && b <= 0xF4 ? 4 : 1;
+            return size > count ? count : 0;
+        }
+        return 0;
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        int n = 0;
+        if (pendingLowSurrogate != 0) {
+            cbuf[off + n++] = pendingLowSurrogate;
+            pendingLowSurrogate = 0;
+        }
+
+        while (n < len) {
+            if (pos >= limit && !fill(1)) {
+                break;
+            }
+
+            // ASCII fast path.
+            byte[] src = this.bytes;
+            int p = this.pos;
+            int end = p + Math.min(limit - p, len - n);
+            while (p < end && src[p] >= 0) {
+                cbuf[off + n++] = (char) src[p++];
+            }
+            this.pos = p;
+            if (n == len || p == limit) {
+                continue;
+            }
+
+            int cp = decodeMultiByte();
+            if (cp < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                cbuf[off + n++] = (char) cp;
+            } else {
+                cbuf[off + n++] = Character.highSurrogate(cp);
+                if (n < len) {
+                    cbuf[off + n++] = Character.lowSurrogate(cp);
+                } else {
+                    pendingLowSurrogate = Character.lowSurrogate(cp);
+                }
+            }
+        }
+        return n == 0 ? -1 : n;
+    }
+
+    /**
+     * Decodes the multi-byte sequence starting at the current position.
+     *
+     * @return the decoded code point or {@link #REPLACEMENT_CHAR} for malformed input
+     */
+    private int decodeMultiByte() throws IOException {
+        int b0 = bytes[pos] & 0xFF;
+        int size;
+        int cp;
+        if (b0 >= 0xC2 && b0 <= 0xDF) {
+            size = 2;
+            cp = b0 & 0x1F;
+        } else if (b0 >= 0xE0 && b0 <= 0xEF) {
+            size = 3;
+            cp = b0 & 0x0F;
+        } else if (b0 >= 0xF0 && b0 <= 0xF4) {
+            size = 4;
+            cp = b0 & 0x07;
+        } else {
+            pos++;
+            return REPLACEMENT_CHAR;
+        }
+
+        if (limit - pos < size) {
+            fill(size);
+        }
+
+        for (int i = 1; i < size; i++) {
+            if (pos + i >= limit) {
+                // The input ended in the middle of the sequence.
+                pos = limit;
+                return REPLACEMENT_CHAR;
+            }
+            int b = bytes[pos + i] & 0xFF;
+            if (i == 1 ? !isValidSecondByte(b0, b) : (b & 0xC0) != 0x80) {
+                // Consume the valid prefix only, so that the offending byte is decoded again.
+                pos += i;
+                return REPLACEMENT_CHAR;
+            }
+            cp = (cp << 6) | (b & 0x3F);
+        }
+        pos += size;
+        return cp;
+    }
+
+    private static boolean isValidSecondByte(int b0, int b1) {
+        // Rejects overlong encodings, surrogates and code points above U+10FFFF up front.
+        return switch (b0) {
+            case 0xE0 -> b1 >= 0xA0 && b1 <= 0xBF;
+            case 0xED -> b1 >= 0x80 && b1 <= 0x9F;
+            case 0xF0 -> b1 >= 0x90 && b1 <= 0xBF;
+            case 0xF4 -> b1 >= 0x80 && b1 <= 0x8F;
+            default -> (b1 & 0xC0) == 0x80;
+        };
+    }
+
+    /**
+     * Makes sure at least {@code required} bytes are available after the current position, when the source allows.
+     *
+     * @return whether the requested number of bytes are available
+     */
+    private boolean fill(int required) throws IOException {
+        if (eof) {
+            return limit - pos >= required;
+        }
+        if (source != null) {
+            return fillFromSource(required);
+        }
+        int remaining = limit - pos;
+        if (remaining > 0) {
+            System.arraycopy(bytes, pos, bytes, 0, remaining);
+        }
+        pos = 0;
+        limit = remaining;
+        while (limit < required) {
+            int count = in.read(bytes, limit, bytes.length - limit);
+            if (count < 0) {
+                eof = true;
+                break;
+            }
+            limit += count;
+        }
+        return limit - pos >= required;
+    }
+
+    private boolean fillFromSource(int required) throws IOException {
+        while (limit - pos < required) {
+            ByteChunkSource.Chunk chunk = source.nextChunk();
+            if (chunk == null) {
+                eof = true;
+                break;
+            }
+            int remaining = limit - pos;
+            if (remaining == 0) {
+                bytes = chunk.bytes();
+                pos = chunk.offset();
+                limit = pos + chunk.length();
+            } else {
+                // Only a multi-byte sequence split between two chunks gets here.
+                byte[] joined = new byte[remaining + chunk.length()];
+                System.arraycopy(bytes, pos, joined, 0, remaining);
+                System.arraycopy(chunk.bytes(), chunk.offset(), joined, remaining, chunk.length());
+                bytes = joined;
+                pos = 0;
+                limit = joined.length;
+            }
+        }
+        return limit - pos >= required;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (in != null) {
+            in.close();
+        } else if (source != null) {
+            source.close();
+        }
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.data.jsondata.json;
+
+import io.ballerina.lib.data.jsondata.io.BallerinaByteBlockSource;
+import io.ballerina.lib.data.jsondata.utils.DataUtils;
+import io.ballerina.lib.data.jsondata.utils.DiagnosticErrorCode;
+import io.ballerina.lib.data.jsondata.utils.DiagnosticLog;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTypedesc;
+
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+import static io.ballerina.lib.data.jsondata.utils.Constants.ENABLE_CONSTRAINT_VALIDATION;
+
+/**
+ * Reads the members of a top level JSON array one at a time.
+ * <p>
+ * Only the characters of the current member are held. They are collected by following the nesting of brackets and
+ * strings, and are then parsed to the member type starting from the line and the column where the member is in the
+ * document, so that the errors are reported at the same location as when parsing the whole document. The limits on
+ * the depth and the size of the document and on the number of members are checked on the whole array, as each member
+ * is checked on its own when it is parsed.
+ *
+ * @since 1.1.2
+ */
+final class ArrayElementIterator {
+
+    /**
+     * Returned by {@link #next()} once all the members are read.
+     */
+    static final Object END = new Object();
+
+    private static final int EOF = -1;
+    private static final String UNEXPECTED_END = "unexpected end of JSON document";
+
+    private final Reader reader;
+    private final BallerinaByteBlockSource blockSource;
+    private final BMap<BString, Object> options;
+    private final BTypedesc elementTyped;
+    private ResourceLimits limits = ResourceLimits.UNLIMITED;
+    private final char[] buff = new char[1024];
+    private int buffIndex;
+    private int buffCount;
+    private char[] element = new char[1024];
+    private int elementLength;
+    private int line = 1;
+    private int column = 0;
+    private long charCount;
+    private int memberCount;
+    private boolean started;
+    private boolean arrayEnded;
+    private boolean done;
+
+    ArrayElementIterator(Reader reader, BallerinaByteBlockSource blockSource,
+                         BMap<BString, Object> options, BTypedesc elementTyped) {
+        this.reader = reader;
+        this.blockSource = blockSource;
+        this.options = options;
+        this.elementTyped = elementTyped;
+    }
+
+    /**
+     * Reads the next member of the array.
+     *
+     * @return the member converted to the member type, {@link #END} if there are no more members or an error
+     */
+    Object next() {
+        if (done) {
+            return END;
+        }
+        Object member;
+        try {
+            member = readNext();
+        } catch (BError e) {
+            member = e;
+        } catch (IOException e) {
+            member = DiagnosticLog.error(DiagnosticErrorCode.JSON_READER_FAILURE, e.getMessage());
+        }
+        if (blockSource.getError() != null) {
+            member = blockSource.getError();
+        }
+        if (member == END || member instanceof BError) {
+            close();
+        }
+        return member;
+    }
+
+    /**
+     * Closes the source stream. Further calls to {@link #next()} return {@link #END}.
+     */
+    void close() {
+        if (done) {
+            return;
+        }
+        done = true;
+        try {
+            reader.close();
+        } catch (IOException e) {
+            // Nothing can be done about it, as all the members are either read or not needed.
+        }
+    }
+
+    private Object readNext() throws IOException {
+        if (arrayEnded) {
+            int ch = skipWhitespace();
+            if (ch != EOF) {
+                throw parserError("JSON document has already ended");
+            }
+            return END;
+        }
+        if (!started) {
+            limits = ResourceLimits.from(options);
+            int ch = skipWhitespace();
+            if (ch != '[') {
+                throw parserError(ch == EOF ? UNEXPECTED_END : "expected '['");
+            }
+            started = true;
+        }
+
+        // The member is parsed from where the delimiter before it ends.
+        int memberLine = line;
+        int memberColumn = column;
+        elementLength = 0;
+        boolean isBlank = true;
+        boolean inString = false;
+        boolean escaped = false;
+        int depth = 0;
+        while (true) {
+            int ch = read();
+            if (ch == EOF) {
+                throw parserError(UNEXPECTED_END);
+            }
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (ch == '\\') {
+                    escaped = true;
+                } else if (ch == '"') {
+                    inString = false;
+                }
+            } else if (ch == '"') {
+                inString = true;
+            } else if (ch == '{' || ch == '[') {
+                // The top level array is at depth 1.
+                limits.checkDepth(depth + 2);
+                depth++;
+            } else if (ch == '}' || ch == ']') {
+                if (depth == 0) {
+                    if (ch == '}') {
+                        throw parserError("expected ',' or ']'");
+                    }
+                    arrayEnded = true;
+                    break;
+                }
+                depth--;
+            } else if (ch == ',' && depth == 0) {
+                break;
+            }
+            isBlank &= JsonParser.StateMachine.isWhitespace((char) ch);
+            append((char) ch);
+        }
+
+        if (isBlank) {
+            if (arrayEnded && memberCount == 0) {
+                return readNext();
+            }
+            throw parserError("unexpected '" + (arrayEnded ? ']' : ',') + "'");
+        }
+        limits.checkElementCount(memberCount + 1L);
+        Object member = JsonParser.parse(new CharArrayReader(element, 0, elementLength), options,
+                elementTyped.getDescribingType(), memberLine, memberColumn);
+        Object validated = DataUtils.validateConstraints(member, elementTyped,
+                (Boolean) options.get(ENABLE_CONSTRAINT_VALIDATION));
+        if (validated instanceof BError error) {
+            throw error;
+        }
+        memberCount++;
+        return validated;
+    }
+
+    private int read() throws IOException {
+        if (buffIndex == buffCount) {
+            buffCount = reader.read(buff);
+            buffIndex = 0;
+            if (buffCount <= 0) {
+                buffCount = 0;
+                return EOF;
+            }
+            charCount += buffCount;
+            limits.checkDocumentSize(charCount);
+        }
+        char ch = buff[buffIndex++];
+        if (ch == '\n') {
+            line++;
+            column = 0;
+        } else {
+            column++;
+        }
+        return ch;
+    }
+
+    private int skipWhitespace() throws IOException {
+        int ch;
+        do {
+            ch = read();
+        } while (ch != EOF && JsonParser.StateMachine.isWhitespace((char) ch));
+        return ch;
+    }
+
+    private void append(char ch) {
+        if (elementLength == element.length) {
+            element = Arrays.copyOf(element, element.length * 2);
+        }
+        element[elementLength++] = ch;
+    }
+
+    private BError parserError(String message) {
+        return DiagnosticLog.error(DiagnosticErrorCode.JSON_PARSER_EXCEPTION, message, line, column);
+    }
+}
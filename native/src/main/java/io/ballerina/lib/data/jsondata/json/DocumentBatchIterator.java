@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.data.jsondata.json;
+
+import io.ballerina.lib.data.jsondata.io.BallerinaByteBlockSource;
+import io.ballerina.lib.data.jsondata.utils.Constants;
+import io.ballerina.lib.data.jsondata.utils.DiagnosticLog;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTypedesc;
+
+/**
+ * Reads the documents of a sequence of JSON documents, such as JSON Lines, in batches.
+ * <p>
+ * If invalid documents are to be skipped, their errors take the place of their values in the batches. Otherwise,
+ * the first error ends the sequence.
+ *
+ * @since 1.1.2
+ */
+final class DocumentBatchIterator {
+
+    private final JsonParser.DocumentSequence documents;
+    private final BallerinaByteBlockSource blockSource;
+    private final ArrayType batchType;
+    private final boolean skipInvalidDocuments;
+    private BError pendingError;
+    private boolean done;
+
+    DocumentBatchIterator(JsonParser.DocumentSequence documents, BallerinaByteBlockSource blockSource,
+                          BMap<BString, Object> options, BTypedesc typed) {
+        this.documents = documents;
+        this.blockSource = blockSource;
+        this.batchType = TypeCreator.createArrayType(TypeCreator.createUnionType(typed.getDescribingType(),
+                TypeUtils.getType(DiagnosticLog.createJsonError(""))));
+        this.skipInvalidDocuments = options.getBooleanValue(Constants.SKIP_INVALID_DOCUMENTS);
+    }
+
+    /**
+     * Returns the type of the batches, which are arrays of the values and the errors of the skipped documents.
+     *
+     * @return the array type of the batches
+     */
+    ArrayType getBatchType() {
+        return batchType;
+    }
+
+    /**
+     * Reads the next batch of documents. If a document is invalid, the documents before it are returned first and
+     * the error is returned by the following call.
+     *
+     * @param batchSize maximum number of documents in the batch
+     * @return the values of the documents and the errors of the skipped documents, null if there are no more
+     * documents or an error
+     */
+    Object next(long batchSize) {
+        if (pendingError != null) {
+            BError error = pendingError;
+            pendingError = null;
+            return error;
+        }
+        BArray batch = ValueCreator.createArrayValue(batchType);
+        while (!done && batch.size() < batchSize) {
+            Object document = nextDocument();
+            if (document instanceof BError error) {
+                if (batch.size() == 0) {
+                    return error;
+                }
+                pendingError = error;
+                break;
+            }
+            if (document instanceof SkippedDocument skipped) {
+                batch.append(skipped.error());
+            } else if (document != JsonParser.DocumentSequence.END) {
+                batch.append(document);
+            }
+        }
+        return batch.size() == 0 ? null : batch;
+    }
+
+    /**
+     * Reads all the documents.
+     *
+     * @return the values of the documents and the errors of the skipped documents, or an error
+     */
+    Object readAll() {
+        Object values = next(Long.MAX_VALUE);
+        if (values == null) {
+            return ValueCreator.createArrayValue(batchType);
+        }
+        return pendingError != null ? pendingError : values;
+    }
+
+    private Object nextDocument() {
+        Object document;
+        try {
+            document = documents.next();
+        } catch (BError e) {
+            document = e;
+        }
+        if (blockSource != null && blockSource.getError() != null) {
+            document = blockSource.getError();
+        } else if (document instanceof BError error && skipInvalidDocuments) {
+            return new SkippedDocument(error);
+        }
+        if (document == JsonParser.DocumentSequence.END || document instanceof BError) {
+            close();
+        }
+        return document;
+    }
+
+    /**
+     * Closes the source. Further calls to {@link #next(long)} return null.
+     */
+    void close() {
+        if (done) {
+            return;
+        }
+        done = true;
+        documents.close();
+    }
+
+    /**
+     * The error of an invalid document which is skipped, so that it is not taken as the end of the sequence.
+     */
+    private record SkippedDocument(BError error) {
+    }
+}
@@ -22,11 +22,12 @@ import io.ballerina.lib.data.jsondata.FromString;
 import io.ballerina.lib.data.jsondata.utils.Constants;
 import io.ballerina.lib.data.jsondata.utils.DiagnosticErrorCode;
 import io.ballerina.lib.data.jsondata.utils.DiagnosticLog;
+import io.ballerina.lib.data.jsondata.utils.FiniteTypeValues;
+import io.ballerina.lib.data.jsondata.utils.NumberParser;
 import io.ballerina.runtime.api.creators.TypeCreator;
 import io.ballerina.runtime.api.creators.ValueCreator;
 import io.ballerina.runtime.api.flags.SymbolFlags;
 import io.ballerina.runtime.api.types.ArrayType;
-import io.ballerina.runtime.api.types.Field;
 import io.ballerina.runtime.api.types.FiniteType;
 import io.ballerina.runtime.api.types.IntersectionType;
 import io.ballerina.runtime.api.types.MapType;
@@ -44,13 +45,15 @@ import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BString;
 import org.ballerinalang.langlib.value.CloneReadOnly;
 
+import java.math.BigDecimal;
+import java.math.MathContext;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Stack;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Create objects for partially parsed json.
@@ -68,10 +71,12 @@ public class JsonCreator {
     );
     private static final UnionType UNION_OF_BASIC_TYPE_WITHOUT_STRING =
             TypeCreator.createUnionType(BASIC_TYPE_MEMBER_TYPES);
+    private static final Map<UnionType, UnionType> NON_STRING_UNION_TYPES = new ConcurrentHashMap<>();
+    static final Object NOT_DECODED = new Object();
 
     static BMap<BString, Object> initRootMapValue(JsonParser.StateMachine sm) {
         Type expectedType = sm.expectedTypes.peek();
-        sm.parserContexts.push(JsonParser.StateMachine.ParserContext.MAP);
+        sm.pushParserContext(JsonParser.StateMachine.ParserContext.MAP);
         switch (expectedType.getTag()) {
             case TypeTags.RECORD_TYPE_TAG -> {
                 return ValueCreator.createRecordValue(expectedType.getPackage(), expectedType.getName());
@@ -85,12 +90,6 @@ public class JsonCreator {
             case TypeTags.ANYDATA_TAG -> {
                 return ValueCreator.createMapValue(Constants.ANYDATA_MAP_TYPE);
             }
-            case TypeTags.UNION_TAG -> {
-                sm.parserContexts.push(JsonParser.StateMachine.ParserContext.MAP);
-                sm.unionDepth++;
-                sm.fieldNameHierarchy.push(new Stack<>());
-                return ValueCreator.createMapValue(Constants.JSON_MAP_TYPE);
-            }
             default -> throw DiagnosticLog.error(DiagnosticErrorCode.INVALID_TYPE, expectedType, "map type");
         }
     }
@@ -109,18 +108,13 @@ public class JsonCreator {
             case TypeTags.ANYDATA_TAG -> {
                 return ValueCreator.createArrayValue(PredefinedTypes.TYPE_ANYDATA_ARRAY);
             }
-            case TypeTags.UNION_TAG -> {
-                sm.unionDepth++;
-                sm.arrayIndexes.push(0);
-                return ValueCreator.createArrayValue(PredefinedTypes.TYPE_JSON_ARRAY);
-            }
             default -> throw DiagnosticLog.error(DiagnosticErrorCode.INVALID_TYPE, expectedType, "list type");
         }
     }
 
     static Optional<BMap<BString, Object>> initNewMapValue(JsonParser.StateMachine sm) {
         JsonParser.StateMachine.ParserContext parentContext = sm.parserContexts.peek();
-        sm.parserContexts.push(JsonParser.StateMachine.ParserContext.MAP);
+        sm.pushParserContext(JsonParser.StateMachine.ParserContext.MAP);
         Type expType = sm.expectedTypes.peek();
         if (expType == null) {
             sm.fieldNameHierarchy.push(new Stack<>());
@@ -142,19 +136,19 @@ public class JsonCreator {
             case TypeTags.RECORD_TYPE_TAG -> {
                 RecordType recordType = (RecordType) currentType;
                 nextMapValue = ValueCreator.createRecordValue(expType.getPackage(), expType.getName());
-                sm.updateExpectedType(getAllFieldsInRecord(recordType), recordType.getRestFieldType());
+                sm.updateExpectedType(ParsePlan.forRecord(recordType));
             }
             case TypeTags.MAP_TAG -> {
                 nextMapValue = ValueCreator.createMapValue((MapType) currentType);
-                sm.updateExpectedType(new HashMap<>(), ((MapType) currentType).getConstrainedType());
+                sm.updateExpectedType(ParsePlan.forRestType(((MapType) currentType).getConstrainedType()));
             }
             case TypeTags.JSON_TAG -> {
                 nextMapValue = ValueCreator.createMapValue(Constants.JSON_MAP_TYPE);
-                sm.updateExpectedType(new HashMap<>(), currentType);
+                sm.updateExpectedType(ParsePlan.forRestType(currentType));
             }
             case TypeTags.ANYDATA_TAG -> {
                 nextMapValue = ValueCreator.createMapValue(Constants.ANYDATA_MAP_TYPE);
-                sm.updateExpectedType(new HashMap<>(), currentType);
+                sm.updateExpectedType(ParsePlan.forRestType(currentType));
             }
             case TypeTags.INTERSECTION_TAG -> {
                 Optional<Type> mutableType = getMutableType((IntersectionType) currentType);
@@ -163,12 +157,6 @@ public class JsonCreator {
                 }
                 return checkTypeAndCreateMappingValue(sm, mutableType.get(), parentContext);
             }
-            case TypeTags.UNION_TAG -> {
-                nextMapValue = ValueCreator.createMapValue(Constants.JSON_MAP_TYPE);
-                sm.parserContexts.push(JsonParser.StateMachine.ParserContext.MAP);
-                sm.unionDepth++;
-                sm.fieldNameHierarchy.push(new Stack<>());
-            }
             default -> {
                 if (parentContext == JsonParser.StateMachine.ParserContext.ARRAY) {
                     throw DiagnosticLog.error(DiagnosticErrorCode.INVALID_TYPE, currentType, "map type");
@@ -190,7 +178,7 @@ public class JsonCreator {
     }
 
     static Optional<BArray> initNewArrayValue(JsonParser.StateMachine sm) {
-        sm.parserContexts.push(JsonParser.StateMachine.ParserContext.ARRAY);
+        sm.pushParserContext(JsonParser.StateMachine.ParserContext.ARRAY);
         if (sm.expectedTypes.peek() == null) {
             return Optional.empty();
         }
@@ -213,6 +201,28 @@ public class JsonCreator {
         return Optional.ofNullable(nextArrValue);
     }
 
+    /**
+     * Returns the type of a value which is expected to be of a union type, resolving type references and read-only
+     * intersections.
+     *
+     * @param expType the expected type
+     * @return the union type or null if the expected type is not a union
+     */
+    static UnionType getUnionType(Type expType) {
+        if (expType == null) {
+            return null;
+        }
+        Type referredType = TypeUtils.getReferredType(expType);
+        if (referredType.getTag() == TypeTags.INTERSECTION_TAG) {
+            Optional<Type> mutableType = getMutableType((IntersectionType) referredType);
+            if (mutableType.isEmpty()) {
+                return null;
+            }
+            referredType = TypeUtils.getReferredType(mutableType.get());
+        }
+        return referredType.getTag() == TypeTags.UNION_TAG ? (UnionType) referredType : null;
+    }
+
     static Optional<Type> getMutableType(IntersectionType intersectionType) {
         for (Type constituentType : intersectionType.getConstituentTypes()) {
             if (constituentType.getTag() == TypeTags.READONLY_TAG) {
@@ -235,7 +245,6 @@ public class JsonCreator {
     @SuppressWarnings("unchecked")
     static Object convertAndUpdateCurrentJsonNode(JsonParser.StateMachine sm, String value, Type type,
                                                   boolean isStringElement) {
-        Object currentJson = sm.currentJsonNode;
         if (sm.nilAsOptionalField && !type.isNilable() && value.equals(Constants.NULL_VALUE)
                 && sm.currentField != null && SymbolFlags.isFlagOn(sm.currentField.getFlags(), SymbolFlags.OPTIONAL)) {
                 return null;
@@ -250,7 +259,19 @@ public class JsonCreator {
             }
             throw DiagnosticLog.error(DiagnosticErrorCode.INCOMPATIBLE_TYPE, type, value);
         }
+        return updateCurrentJsonNode(sm, convertedValue);
+    }
 
+    /**
+     * Adds a converted value to the current JSON node of the parser.
+     *
+     * @param sm the parser
+     * @param convertedValue value converted to the expected type
+     * @return the current JSON node or the value itself if it is the root value
+     */
+    @SuppressWarnings("unchecked")
+    static Object updateCurrentJsonNode(JsonParser.StateMachine sm, Object convertedValue) {
+        Object currentJson = sm.currentJsonNode;
         Type currentJsonNodeType = TypeUtils.getType(currentJson);
         switch (currentJsonNodeType.getTag()) {
             case TypeTags.MAP_TAG, TypeTags.RECORD_TYPE_TAG ->
@@ -292,11 +313,9 @@ public class JsonCreator {
                 return value;
             }
             case TypeTags.FINITE_TYPE_TAG -> {
-                return ((FiniteType) type).getValueSpace().stream()
-                        .filter(finiteValue -> !(convertToSingletonValue(value.getValue(), finiteValue, true)
-                                instanceof BError))
-                        .findFirst()
-                        .orElseGet(() -> DiagnosticLog.error(DiagnosticErrorCode.INCOMPATIBLE_TYPE, type, value));
+                Object singletonValue = FiniteTypeValues.of((FiniteType) type).getString(value.getValue());
+                return singletonValue == FiniteTypeValues.NO_MATCH ?
+                        DiagnosticLog.error(DiagnosticErrorCode.INCOMPATIBLE_TYPE, type, value) : singletonValue;
             }
             case TypeTags.UNION_TAG -> {
                 for (Type memberType : ((UnionType) type).getMemberTypes()) {
@@ -316,6 +335,101 @@ public class JsonCreator {
         }
     }
 
+    /**
+     * Converts a non-string value to the expected type directly from the characters held by the parser.
+     * <p>
+     * Only the common scalar types are handled here. For any other type, or if the value cannot be converted without
+     * creating a String, {@link #NOT_DECODED} is returned and the value has to be converted with
+     * {@link #convertAndUpdateCurrentJsonNode}, which also reports the errors.
+     *
+     * @param value live view of the characters of the value
+     * @param chars the character buffer of the parser
+     * @param length number of characters of the value in the buffer
+     * @param type the expected type
+     * @return the converted value or {@link #NOT_DECODED}
+     */
+    static Object decodeNonStringValue(CharSequence value, char[] chars, int length, Type type) {
+        if (length == 0) {
+            return NOT_DECODED;
+        }
+        switch (TypeUtils.getReferredType(type).getTag()) {
+            case TypeTags.INT_TAG -> {
+                Long longValue = NumberParser.parseLong(value);
+                return longValue == null ? NOT_DECODED : longValue;
+            }
+            case TypeTags.FLOAT_TAG -> {
+                Double doubleValue = NumberParser.parseDouble(value);
+                return doubleValue == null ? NOT_DECODED : doubleValue;
+            }
+            case TypeTags.DECIMAL_TAG -> {
+                return decodeDecimal(value, chars, length);
+            }
+            case TypeTags.BOOLEAN_TAG -> {
+                return decodeBoolean(value);
+            }
+            case TypeTags.NULL_TAG -> {
+                return contentEquals(value, Constants.NULL_VALUE) ? null : NOT_DECODED;
+            }
+            case TypeTags.JSON_TAG, TypeTags.ANYDATA_TAG -> {
+                char ch = chars[0];
+                if (ch == 'n') {
+                    return contentEquals(value, Constants.NULL_VALUE) ? null : NOT_DECODED;
+                }
+                if (ch == 't' || ch == 'f') {
+                    return decodeBoolean(value);
+                }
+                Long longValue = NumberParser.parseLong(value);
+                if (longValue != null) {
+                    return longValue;
+                }
+                Double doubleValue = NumberParser.parseDouble(value);
+                return doubleValue == null ? NOT_DECODED : doubleValue;
+            }
+            default -> {
+                return NOT_DECODED;
+            }
+        }
+    }
+
+    private static Object decodeDecimal(CharSequence value, char[] chars, int length) {
+        char ch = chars[0];
+        if (!((ch >= '0' && ch <= '9') || ch == '-' || ch == '+')) {
+            return NOT_DECODED;
+        }
+        BigDecimal decimalValue = NumberParser.parseDecimal(value);
+        if (decimalValue != null) {
+            return ValueCreator.createDecimalValue(decimalValue);
+        }
+        try {
+            return ValueCreator.createDecimalValue(new BigDecimal(chars, 0, length, MathContext.DECIMAL128));
+        } catch (NumberFormatException e) {
+            return NOT_DECODED;
+        }
+    }
+
+    private static Object decodeBoolean(CharSequence value) {
+        if (contentEquals(value, Constants.TRUE)) {
+            return Boolean.TRUE;
+        }
+        if (contentEquals(value, Constants.FALSE)) {
+            return Boolean.FALSE;
+        }
+        return NOT_DECODED;
+    }
+
+    private static boolean contentEquals(CharSequence value, String expected) {
+        int length = expected.length();
+        if (value.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private static Object validateNonStringValueAndConvertToExpectedType(String value, Type type) {
         char ch = value.charAt(0);
         if (ch == 't') {
@@ -337,6 +451,36 @@ public class JsonCreator {
         return convertNonStringToExpectedType(StringUtils.fromString(value), type);
     }
 
+    /**
+     * Returns the union of the members of a union which can hold a non-string value. The union is created once per
+     * type, so that the conversion plan of {@link FromString} for it is also reused.
+     *
+     * @param unionType the expected union type
+     * @return the union without the string members
+     */
+    private static UnionType getNonStringUnionType(UnionType unionType) {
+        UnionType nonStringType = NON_STRING_UNION_TYPES.get(unionType);
+        if (nonStringType == null) {
+            List<Type> newMembers = new ArrayList<>();
+            for (Type memberType : unionType.getMemberTypes()) {
+                int typeTag = memberType.getTag();
+                if (typeTag == TypeTags.STRING_TAG) {
+                    continue;
+                }
+
+                if (typeTag == TypeTags.JSON_TAG || typeTag == TypeTags.ANYDATA_TAG) {
+                    newMembers.add(UNION_OF_BASIC_TYPE_WITHOUT_STRING);
+                } else {
+                    newMembers.add(memberType);
+                }
+            }
+            nonStringType = TypeCreator.createUnionType(newMembers);
+            UnionType existing = NON_STRING_UNION_TYPES.putIfAbsent(unionType, nonStringType);
+            return existing == null ? nonStringType : existing;
+        }
+        return nonStringType;
+    }
+
     private static Object convertNonStringToExpectedType(BString value, Type type) {
         switch (type.getTag()) {
             case TypeTags.ANYDATA_TAG, TypeTags.JSON_TAG -> {
@@ -346,27 +490,12 @@ public class JsonCreator {
                 return DiagnosticLog.error(DiagnosticErrorCode.INCOMPATIBLE_TYPE, type, value);
             }
             case TypeTags.FINITE_TYPE_TAG -> {
-                return ((FiniteType) type).getValueSpace().stream()
-                        .filter(finiteValue -> !(convertToSingletonValue(value.getValue(),
-                                finiteValue, false) instanceof BError))
-                        .findFirst()
-                        .orElseGet(() -> DiagnosticLog.error(DiagnosticErrorCode.INCOMPATIBLE_TYPE, type, value));
+                Object singletonValue = FiniteTypeValues.of((FiniteType) type).getNonString(value.getValue());
+                return singletonValue == FiniteTypeValues.NO_MATCH ?
+                        DiagnosticLog.error(DiagnosticErrorCode.INCOMPATIBLE_TYPE, type, value) : singletonValue;
             }
             case TypeTags.UNION_TAG -> {
-                List<Type> newMembers = new ArrayList<>();
-                for (Type memberType : ((UnionType) type).getMemberTypes()) {
-                    int typeTag = memberType.getTag();
-                    if (typeTag == TypeTags.STRING_TAG) {
-                        continue;
-                    }
-
-                    if (typeTag == TypeTags.JSON_TAG || typeTag == TypeTags.ANYDATA_TAG) {
-                        newMembers.add(UNION_OF_BASIC_TYPE_WITHOUT_STRING);
-                    } else {
-                        newMembers.add(memberType);
-                    }
-                }
-                return FromString.fromStringWithType(value, TypeCreator.createUnionType(newMembers));
+                return FromString.fromStringWithType(value, getNonStringUnionType((UnionType) type));
             }
             case TypeTags.TYPE_REFERENCED_TYPE_TAG -> {
                 return convertNonStringToExpectedType(value, TypeUtils.getReferredType(type));
@@ -377,18 +506,6 @@ public class JsonCreator {
         }
     }
 
-    private static Object convertToSingletonValue(String str, Object singletonValue, boolean isStringElement) {
-        String singletonStr = String.valueOf(singletonValue);
-        if (str.equals(singletonStr)) {
-            BString value = StringUtils.fromString(str);
-            Type expType = TypeUtils.getType(singletonValue);
-            return isStringElement ?
-                    convertStringToExpectedType(value, expType) : convertNonStringToExpectedType(value, expType);
-        } else {
-            return DiagnosticLog.error(DiagnosticErrorCode.INCOMPATIBLE_TYPE, singletonValue, str);
-        }
-    }
-
     static Type getMemberType(Type expectedType, int index, boolean allowDataProjection) {
         if (expectedType == null) {
             return null;
@@ -410,46 +527,19 @@ public class JsonCreator {
             }
             return null;
         } else if (referredType.getTag() == TypeTags.TUPLE_TAG) {
-            TupleType tupleType = (TupleType) referredType;
-            List<Type> tupleTypes = tupleType.getTupleTypes();
-            if (tupleTypes.size() < index + 1) {
-                Type restType = tupleType.getRestType();
+            ParsePlan.Tuple tuplePlan = ParsePlan.forTuple((TupleType) referredType);
+            if (tuplePlan.memberTypes.length < index + 1) {
+                Type restType = tuplePlan.restType;
                 if (restType == null && !allowDataProjection) {
                     throw DiagnosticLog.error(DiagnosticErrorCode.ARRAY_SIZE_MISMATCH);
                 }
                 return restType;
             }
-            return tupleTypes.get(index);
+            return tuplePlan.memberTypes[index];
         }
         return expectedType;
     }
 
-    @SuppressWarnings("unchecked")
-    static Map<String, Field> getAllFieldsInRecord(RecordType recordType) {
-        BMap<BString, Object> annotations = recordType.getAnnotations();
-        Map<String, String> modifiedNames = new HashMap<>();
-        for (BString annotationKey : annotations.getKeys()) {
-            String keyStr = annotationKey.getValue();
-            if (!keyStr.contains(Constants.FIELD)) {
-                continue;
-            }
-            String fieldName = keyStr.split(Constants.FIELD_REGEX)[1];
-            Map<BString, Object> fieldAnnotation = (Map<BString, Object>) annotations.get(annotationKey);
-            modifiedNames.put(fieldName, getModifiedName(fieldAnnotation, fieldName));
-        }
-
-        Map<String, Field> fields = new HashMap<>();
-        Map<String, Field> recordFields = recordType.getFields();
-        for (String key : recordFields.keySet()) {
-            String fieldName = modifiedNames.getOrDefault(key, key);
-            if (fields.containsKey(fieldName)) {
-                throw DiagnosticLog.error(DiagnosticErrorCode.DUPLICATE_FIELD, fieldName);
-            }
-            fields.put(fieldName, recordFields.get(key));
-        }
-        return fields;
-    }
-
     @SuppressWarnings("unchecked")
     static String getModifiedName(Map<BString, Object> fieldAnnotation, String fieldName) {
         for (BString key : fieldAnnotation.keySet()) {
@@ -465,7 +555,7 @@ public class JsonCreator {
     }
 
     static Object initRootArrayValue(JsonParser.StateMachine sm) {
-        sm.parserContexts.push(JsonParser.StateMachine.ParserContext.ARRAY);
+        sm.pushParserContext(JsonParser.StateMachine.ParserContext.ARRAY);
         Type expType = sm.expectedTypes.peek();
         // In this point we know rhs is json[] or anydata[] hence init index counter.
         if (expType.getTag() == TypeTags.JSON_TAG || expType.getTag() == TypeTags.ANYDATA_TAG) {
@@ -475,18 +565,10 @@ public class JsonCreator {
     }
 
     static void updateExpectedType(JsonParser.StateMachine sm) {
-        if (sm.unionDepth > 0) {
-            return;
-        }
         sm.expectedTypes.push(JsonCreator.getMemberType(sm.expectedTypes.peek(),
                 sm.arrayIndexes.peek(), sm.allowDataProjection));
     }
 
-    static void updateNextMapValueBasedOnExpType(JsonParser.StateMachine sm) {
-        updateExpectedType(sm);
-        updateNextMapValue(sm);
-    }
-
     static void updateNextArrayValueBasedOnExpType(JsonParser.StateMachine sm) {
         updateExpectedType(sm);
         updateNextArrayValue(sm);
@@ -0,0 +1,447 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.data.jsondata.json;
+
+import io.ballerina.lib.data.jsondata.utils.DiagnosticErrorCode;
+import io.ballerina.lib.data.jsondata.utils.DiagnosticLog;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.PredefinedTypes;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTypedesc;
+
+import java.io.CharArrayReader;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A JSON document which is checked for syntax errors up front, but whose values are only converted when accessed.
+ * <p>
+ * Next to the chars of the document, a tape of nodes is kept. Each value, and each field name of an object, is a node
+ * of {@link #NODE_SIZE} ints holding its kind, the offsets where it starts and ends, the tape index of the node after
+ * it, and for objects and arrays, the number of members. The members of an object or an array follow its node, with
+ * each field name node followed by the node of the field value. The tape indexes of the members of a large array are
+ * collected the first time it is accessed by index, so that reading all its members one by one is linear.
+ *
+ * @since 1.1.2
+ */
+final class JsonDocument {
+
+    private static final int KIND = 0;
+    private static final int START = 1;
+    private static final int END = 2;
+    private static final int NEXT = 3;
+    private static final int COUNT = 4;
+    private static final int NODE_SIZE = 5;
+
+    private static final int OBJECT = 1;
+    private static final int ARRAY = 2;
+    private static final int STRING = 3;
+    private static final int ESCAPED_STRING = 4;
+    private static final int SCALAR = 5;
+
+    // Arrays with fewer members are searched by following the links between the members.
+    private static final int MIN_INDEXED_ARRAY_SIZE = 16;
+
+    private static final String UNEXPECTED_END = "unexpected end of JSON document";
+
+    private final char[] json;
+    private int[] tape = new int[NODE_SIZE * 16];
+    private int tapeSize;
+    // The tape indexes of the members of the large arrays accessed by index, keyed by the tape index of the array.
+    private final Map<Integer, int[]> memberNodes = new ConcurrentHashMap<>();
+
+    private JsonDocument(char[] json) {
+        this.json = json;
+    }
+
+    /**
+     * Checks the syntax of the given JSON content and builds the tape of its values.
+     *
+     * @param json JSON content, which is kept as is
+     * @return the document
+     * @throws BError if the content is not a valid JSON document
+     */
+    static JsonDocument parse(char[] json) throws BError {
+        JsonDocument document = new JsonDocument(json);
+        try {
+            document.scan();
+        } catch (ScanException e) {
+            int[] location = document.getLocation(e.offset + 1);
+            throw DiagnosticLog.error(DiagnosticErrorCode.JSON_PARSER_EXCEPTION, e.getMessage(), location[0],
+                    location[1]);
+        }
+        document.tape = Arrays.copyOf(document.tape, document.tapeSize);
+        return document;
+    }
+
+    /**
+     * Converts the value at the given path to the given type.
+     *
+     * @param path    field names and array indexes leading to the value
+     * @param options represent the options that can be used to modify the behaviour of conversion
+     * @param typed   type descriptor of expected type
+     * @return the converted value or an error
+     */
+    Object get(BArray path, BMap<BString, Object> options, BTypedesc typed) {
+        int node = find(path);
+        int start = tape[node + START];
+        int end = tape[node + END];
+        try {
+            return JsonParser.parse(new CharArrayReader(json, start, end - start), options, typed);
+        } catch (BError e) {
+            // Errors are rare, so the location of the value is only found to parse it again for the error.
+            int[] location = getLocation(start);
+            try {
+                JsonParser.parse(new CharArrayReader(json, start, end - start), options, typed.getDescribingType(),
+                        location[0], location[1]);
+            } catch (BError locatedError) {
+                return locatedError;
+            }
+            return e;
+        }
+    }
+
+    /**
+     * Returns the field names of the object at the given path.
+     *
+     * @param path field names and array indexes leading to the object
+     * @return the field names
+     */
+    BArray keys(BArray path) {
+        int node = find(path);
+        if (tape[node + KIND] != OBJECT) {
+            throw DiagnosticLog.error(DiagnosticErrorCode.INVALID_VALUE_AT_PATH, toPathString(path), "an object");
+        }
+        BString[] keys = new BString[tape[node + COUNT]];
+        int key = node + NODE_SIZE;
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = StringUtils.fromString(decodeString(key));
+            key = tape[key + NODE_SIZE + NEXT];
+        }
+        return ValueCreator.createArrayValue(keys);
+    }
+
+    /**
+     * Returns the number of members of the object or the array at the given path.
+     *
+     * @param path field names and array indexes leading to the value
+     * @return the number of members
+     */
+    long length(BArray path) {
+        int node = find(path);
+        int kind = tape[node + KIND];
+        if (kind != OBJECT && kind != ARRAY) {
+            throw DiagnosticLog.error(DiagnosticErrorCode.INVALID_VALUE_AT_PATH, toPathString(path),
+                    "an object or an array");
+        }
+        return tape[node + COUNT];
+    }
+
+    private int find(BArray path) {
+        int node = 0;
+        for (int i = 0; i < path.size() && node >= 0; i++) {
+            Object segment = path.get(i);
+            if (segment instanceof BString fieldName) {
+                node = findField(node, fieldName.getValue());
+            } else {
+                node = findMember(node, (Long) segment);
+            }
+        }
+        if (node < 0) {
+            throw DiagnosticLog.error(DiagnosticErrorCode.VALUE_NOT_FOUND, toPathString(path));
+        }
+        return node;
+    }
+
+    private int findField(int node, String fieldName) {
+        if (tape[node + KIND] != OBJECT) {
+            return -1;
+        }
+        int key = node + NODE_SIZE;
+        int end = tape[node + NEXT];
+        while (key < end) {
+            int value = key + NODE_SIZE;
+            if (keyEquals(key, fieldName)) {
+                return value;
+            }
+            key = tape[value + NEXT];
+        }
+        return -1;
+    }
+
+    private int findMember(int node, long index) {
+        if (tape[node + KIND] != ARRAY || index < 0 || index >= tape[node + COUNT]) {
+            return -1;
+        }
+        int count = tape[node + COUNT];
+        if (count < MIN_INDEXED_ARRAY_SIZE) {
+            int member = node + NODE_SIZE;
+            for (long i = 0; i < index; i++) {
+                member = tape[member + NEXT];
+            }
+            return member;
+        }
+        return getMemberNodes(node, count)[(int) index];
+    }
+
+    private int[] getMemberNodes(int node, int count) {
+        int[] members = memberNodes.get(node);
+        if (members == null) {
+            members = new int[count];
+            int member = node + NODE_SIZE;
+            for (int i = 0; i < count; i++) {
+                members[i] = member;
+                member = tape[member + NEXT];
+            }
+            int[] existing = memberNodes.putIfAbsent(node, members);
+            return existing == null ? members : existing;
+        }
+        return members;
+    }
+
+    private boolean keyEquals(int key, String fieldName) {
+        if (tape[key + KIND] == ESCAPED_STRING) {
+            return decodeString(key).equals(fieldName);
+        }
+        int start = tape[key + START] + 1;
+        int length = tape[key + END] - 1 - start;
+        if (length != fieldName.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (json[start + i] != fieldName.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String decodeString(int node) {
+        int start = tape[node + START];
+        int end = tape[node + END];
+        if (tape[node + KIND] == STRING) {
+            return new String(json, start + 1, end - start - 2);
+        }
+        return ((BString) JsonParser.parse(new CharArrayReader(json, start, end - start),
+                ValueCreator.createMapValue(), PredefinedTypes.TYPE_STRING)).getValue();
+    }
+
+    private static String toPathString(BArray path) {
+        StringBuilder pathString = new StringBuilder("$");
+        for (int i = 0; i < path.size(); i++) {
+            Object segment = path.get(i);
+            if (segment instanceof BString fieldName) {
+                pathString.append('.').append(fieldName.getValue());
+            } else {
+                pathString.append('[').append(segment).append(']');
+            }
+        }
+        return pathString.toString();
+    }
+
+    /**
+     * Returns the line and the column after reading the given number of chars, in the same way as the parser.
+     */
+    private int[] getLocation(int offset) {
+        int line = 1;
+        int lineStart = 0;
+        for (int i = 0; i < offset; i++) {
+            if (json[i] == '\n') {
+                line++;
+                lineStart = i + 1;
+            }
+        }
+        return new int[]{line, offset - lineStart};
+    }
+
+    private void scan() throws ScanException {
+        int[] containers = new int[32];
+        int depth = 0;
+        int length = json.length;
+        // Whether a value is expected next, and otherwise a ',' or the end of the current container.
+        boolean expectValue = true;
+        boolean isFirstMember = false;
+        int i = skipWhitespace(0);
+        while (true) {
+            if (i == length) {
+                if (depth == 0 && !expectValue) {
+                    return;
+                }
+                throw new ScanException(UNEXPECTED_END, length - 1);
+            }
+            char ch = json[i];
+            int container = depth == 0 ? -1 : containers[depth - 1];
+            boolean inObject = container >= 0 && tape[container + KIND] == OBJECT;
+            if (expectValue) {
+                if (isFirstMember && (ch == '}' || ch == ']')) {
+                    if (ch != (inObject ? '}' : ']')) {
+                        throw new ScanException(inObject ? "expected '\"' or '}'" : "unexpected ']'", i);
+                    }
+                    endContainer(container, i);
+                    depth--;
+                    expectValue = false;
+                    isFirstMember = false;
+                    i = skipWhitespace(i + 1);
+                    continue;
+                }
+                if (inObject) {
+                    i = scanFieldName(container, i);
+                }
+                ch = json[i];
+                if (container >= 0 && !inObject) {
+                    tape[container + COUNT]++;
+                }
+                if (ch == '{' || ch == '[') {
+                    if (depth == containers.length) {
+                        containers = Arrays.copyOf(containers, depth * 2);
+                    }
+                    containers[depth++] = addNode(ch == '{' ? OBJECT : ARRAY, i, -1);
+                    isFirstMember = true;
+                    i = skipWhitespace(i + 1);
+                    continue;
+                }
+                int end = ch == '"' ? scanString(i) : scanScalar(i);
+                addNode(ch == '"' ? (hasEscape(i, end) ? ESCAPED_STRING : STRING) : SCALAR, i, end);
+                expectValue = false;
+                isFirstMember = false;
+                i = skipWhitespace(end);
+                continue;
+            }
+
+            if (depth == 0) {
+                throw new ScanException("JSON document has already ended", i);
+            }
+            if (ch == ',') {
+                expectValue = true;
+            } else if (ch == (inObject ? '}' : ']')) {
+                endContainer(container, i);
+                depth--;
+            } else {
+                throw new ScanException(inObject ? "expected ',' or '}'" : "expected ',' or ']'", i);
+            }
+            i = skipWhitespace(i + 1);
+        }
+    }
+
+    /**
+     * Adds the node of the field name starting at the given index and returns the index of the field value.
+     */
+    private int scanFieldName(int container, int i) throws ScanException {
+        if (json[i] != '"') {
+            throw new ScanException("expected '\"'", i);
+        }
+        int end = scanString(i);
+        addNode(hasEscape(i, end) ? ESCAPED_STRING : STRING, i, end);
+        tape[container + COUNT]++;
+        i = skipWhitespace(end);
+        if (i == json.length) {
+            throw new ScanException(UNEXPECTED_END, i - 1);
+        }
+        if (json[i] != ':') {
+            throw new ScanException("expected ':'", i);
+        }
+        i = skipWhitespace(i + 1);
+        if (i == json.length) {
+            throw new ScanException(UNEXPECTED_END, i - 1);
+        }
+        return i;
+    }
+
+    private int scanString(int i) throws ScanException {
+        int length = json.length;
+        for (int j = i + 1; j < length; j++) {
+            char ch = json[j];
+            if (ch == '"') {
+                return j + 1;
+            } else if (ch == '\\') {
+                j++;
+            }
+        }
+        throw new ScanException(UNEXPECTED_END, length - 1);
+    }
+
+    private int scanScalar(int i) throws ScanException {
+        int length = json.length;
+        int end = i;
+        char ch;
+        while (end < length && (ch = json[end]) != ',' && ch != '}' && ch != ']'
+                && !JsonParser.StateMachine.isWhitespace(ch)) {
+            end++;
+        }
+        if (end == i) {
+            throw new ScanException("unexpected '" + json[i] + "'", i);
+        }
+        if (!ValueScanner.isScalar(json, i, end)) {
+            throw new ScanException("unrecognized token '" + new String(json, i, end - i) + "'", i);
+        }
+        return end;
+    }
+
+    private boolean hasEscape(int start, int end) {
+        for (int i = start + 1; i < end - 1; i++) {
+            if (json[i] == '\\') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int skipWhitespace(int i) {
+        while (i < json.length && JsonParser.StateMachine.isWhitespace(json[i])) {
+            i++;
+        }
+        return i;
+    }
+
+    private int addNode(int kind, int start, int end) {
+        if (tapeSize + NODE_SIZE > tape.length) {
+            tape = Arrays.copyOf(tape, tape.length * 2);
+        }
+        int node = tapeSize;
+        tape[node + KIND] = kind;
+        tape[node + START] = start;
+        tape[node + END] = end;
+        tape[node + NEXT] = node + NODE_SIZE;
+        tapeSize += NODE_SIZE;
+        return node;
+    }
+
+    private void endContainer(int container, int i) {
+        tape[container + END] = i + 1;
+        tape[container + NEXT] = tapeSize;
+    }
+
+    /**
+     * Represents a syntax error at an offset of the document.
+     */
+    private static class ScanException extends Exception {
+
+        final int offset;
+
+        ScanException(String message, int offset) {
+            super(message);
+            this.offset = offset;
+        }
+    }
+}
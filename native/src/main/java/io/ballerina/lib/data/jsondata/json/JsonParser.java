@@ -18,13 +18,13 @@
 
 package io.ballerina.lib.data.jsondata.json;
 
+import io.ballerina.lib.data.jsondata.io.Utf8Reader;
 import io.ballerina.lib.data.jsondata.utils.Constants;
 import io.ballerina.lib.data.jsondata.utils.DataUtils;
 import io.ballerina.lib.data.jsondata.utils.DiagnosticErrorCode;
 import io.ballerina.lib.data.jsondata.utils.DiagnosticLog;
 import io.ballerina.runtime.api.creators.ErrorCreator;
 import io.ballerina.runtime.api.creators.ValueCreator;
-import io.ballerina.runtime.api.flags.SymbolFlags;
 import io.ballerina.runtime.api.types.ArrayType;
 import io.ballerina.runtime.api.types.Field;
 import io.ballerina.runtime.api.types.IntersectionType;
@@ -33,6 +33,7 @@ import io.ballerina.runtime.api.types.PredefinedTypes;
 import io.ballerina.runtime.api.types.RecordType;
 import io.ballerina.runtime.api.types.Type;
 import io.ballerina.runtime.api.types.TypeTags;
+import io.ballerina.runtime.api.types.UnionType;
 import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.api.utils.TypeUtils;
 import io.ballerina.runtime.api.values.BArray;
@@ -45,10 +46,11 @@ import org.ballerinalang.langlib.value.CloneReadOnly;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.nio.CharBuffer;
 import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Deque;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 import java.util.Stack;
 
 import static io.ballerina.lib.data.jsondata.utils.Constants.ENABLE_CONSTRAINT_VALIDATION;
@@ -60,7 +62,17 @@ import static io.ballerina.lib.data.jsondata.utils.Constants.ENABLE_CONSTRAINT_V
  */
 public class JsonParser {
 
-    private static final ThreadLocal<StateMachine> tlStateMachine = ThreadLocal.withInitial(StateMachine::new);
+    private static final ParserPool<StateMachine> STATE_MACHINE_POOL =
+            new ParserPool<>(StateMachine::new, StateMachine::recycle);
+
+    /**
+     * Returns the pool of the state machines used for parsing, to observe its size and occupancy.
+     *
+     * @return the pool of state machines
+     */
+    public static ParserPool<?> getStateMachinePool() {
+        return STATE_MACHINE_POOL;
+    }
 
     /**
      * Parses the contents in the given {@link Reader} and returns a json.
@@ -73,13 +85,68 @@ public class JsonParser {
      */
     public static Object parse(Reader reader, BMap<BString, Object> options, Type type)
             throws BError {
-        StateMachine sm = tlStateMachine.get();
+        return parse(reader, options, type, 1, 0);
+    }
+
+    /**
+     * Parses the contents in the given {@link Reader}, which start at the given location of a larger document.
+     *
+     * @param reader  reader which contains the JSON content
+     * @param options represent the options that can be used to modify the behaviour of conversion
+     * @param type the type to which the source has to convert
+     * @param line line of the document in which the content starts
+     * @param column column of the document after which the content starts
+     * @return JSON structure
+     * @throws BError for any parsing error
+     */
+    static Object parse(Reader reader, BMap<BString, Object> options, Type type, int line, int column)
+            throws BError {
+        StateMachine sm = STATE_MACHINE_POOL.acquire();
         try {
+            sm.locationLine = line;
+            sm.lineStart = -column;
             return sm.execute(reader, options, type);
         } finally {
             // Need to reset the state machine before leaving. Otherwise, references to the created
             // JSON values will be maintained and the java GC will not happen properly.
-            sm.reset();
+            STATE_MACHINE_POOL.release(sm);
+        }
+    }
+
+    /**
+     * Parses the given JSON string, validates constraints, and returns a JSON object. The string is copied into the
+     * input buffer of the parser window by window, without going through a {@link Reader}.
+     *
+     * @param json    JSON content
+     * @param options represent the options that can be used to modify the behaviour of conversion
+     * @param typed type descriptor of expected type
+     * @return JSON structure
+     * @throws BError for any parsing error
+     */
+    public static Object parse(String json, BMap<BString, Object> options, BTypedesc typed) throws BError {
+        Object convertedValue = parse(json, options, typed.getDescribingType());
+        if (convertedValue instanceof BError) {
+            return convertedValue;
+        }
+        return DataUtils.validateConstraints(convertedValue, typed,
+                (Boolean) options.get(ENABLE_CONSTRAINT_VALIDATION));
+    }
+
+    /**
+     * Parses the given JSON string to the given type, without validating constraints.
+     *
+     * @param json    JSON content
+     * @param options represent the options that can be used to modify the behaviour of conversion
+     * @param type the type to which the source has to convert
+     * @return JSON structure
+     * @throws BError for any parsing error
+     */
+    static Object parse(String json, BMap<BString, Object> options, Type type) throws BError {
+        StateMachine sm = STATE_MACHINE_POOL.acquire();
+        try {
+            return sm.execute(null, json, options, type);
+        } finally {
+            STATE_MACHINE_POOL.release(sm);
         }
     }
 
@@ -102,6 +169,369 @@ public class JsonParser {
                 (Boolean) options.get(ENABLE_CONSTRAINT_VALIDATION));
     }
 
+    /**
+     * Parses a sequence of JSON documents, which are separated by whitespace or written back to back, such as JSON
+     * Lines. A single state machine is used for all the documents, and the line and the column of an error are the
+     * ones in the whole input.
+     *
+     * @since 1.1.2
+     */
+    static final class DocumentSequence {
+
+        /**
+         * Returned by {@link #next()} once all the documents are read.
+         */
+        static final Object END = new Object();
+
+        private final StateMachine sm = new StateMachine();
+        private final Reader reader;
+        private final String json;
+        private final BMap<BString, Object> options;
+        private final BTypedesc typed;
+        private final Type rootType;
+        private final boolean isReadOnly;
+        private final char[] buff = new char[1024];
+        private int count;
+        private int jsonOffset;
+        // The line of the document is found from its offset only once it is needed, or before its window ends.
+        private int documentLine;
+        private long documentStart;
+
+        DocumentSequence(Reader reader, BMap<BString, Object> options, BTypedesc typed) {
+            this(reader, null, options, typed);
+        }
+
+        /**
+         * Creates a sequence over the documents of a string, which are copied to the input buffer directly.
+         */
+        DocumentSequence(String json, BMap<BString, Object> options, BTypedesc typed) {
+            this(null, json, options, typed);
+        }
+
+        private DocumentSequence(Reader reader, String json, BMap<BString, Object> options, BTypedesc typed) {
+            this.reader = reader;
+            this.json = json;
+            this.options = options;
+            this.typed = typed;
+            Type referredType = TypeUtils.getReferredType(typed.getDescribingType());
+            boolean isReadOnly = false;
+            while (referredType.getTag() == TypeTags.INTERSECTION_TAG) {
+                referredType = StateMachine.getMutableRootType((IntersectionType) referredType);
+                isReadOnly = true;
+            }
+            this.rootType = referredType;
+            this.isReadOnly = isReadOnly;
+        }
+
+        /**
+         * Parses the next document. After an invalid document, the rest of its line is skipped, so that the
+         * following call continues with the next line.
+         *
+         * @return the value of the document, with its constraints validated if enabled, or {@link #END} if there are
+         * no more documents
+         * @throws BError if the document is not valid
+         */
+        Object next() throws BError {
+            Object value = readNext();
+            if (value == END) {
+                return END;
+            }
+            Object documentValue = DataUtils.validateConstraints(
+                    isReadOnly ? JsonCreator.constructReadOnlyValue(value) : value, typed,
+                    (Boolean) options.get(ENABLE_CONSTRAINT_VALIDATION));
+            if (documentValue instanceof BError error) {
+                throw invalidDocument(error);
+            }
+            return documentValue;
+        }
+
+        private Object readNext() throws BError {
+            StateMachine.State state = null;
+            try {
+                while (sm.index < count || fill()) {
+                    if (state == null) {
+                        skipWhitespace();
+                        if (sm.index >= count) {
+                            continue;
+                        }
+                        startDocument();
+                        state = StateMachine.DOC_START_STATE;
+                    }
+                    while (sm.index < count && state != StateMachine.DOC_END_STATE) {
+                        state = state.transition(sm, buff, sm.index, count);
+                    }
+                    sm.limits.checkDocumentSize(sm.windowOffset + sm.index - documentStart);
+                    if (state == StateMachine.DOC_END_STATE) {
+                        return sm.currentJsonNode;
+                    }
+                }
+                return state == null ? END : sm.finish(state);
+            } catch (IOException e) {
+                throw DiagnosticLog.error(DiagnosticErrorCode.JSON_READER_FAILURE, e.getMessage());
+            } catch (JsonParserException e) {
+                locateDocument();
+                sm.locateError();
+                BError error = DiagnosticLog.error(DiagnosticErrorCode.JSON_PARSER_EXCEPTION, e.getMessage(),
+                        sm.errorLine, sm.errorColumn);
+                if (sm.window == buff && sm.errorOffset > sm.windowOffset) {
+                    // The rest of the line is skipped from the character at which the error is found.
+                    sm.index = (int) Math.max(sm.index, sm.errorOffset - sm.windowOffset);
+                }
+                skipRestOfLine();
+                throw invalidDocument(error);
+            } catch (BError e) {
+                locateDocument();
+                skipRestOfLine();
+                throw invalidDocument(e);
+            }
+        }
+
+        /**
+         * Releases the values held by the state machine and closes the source.
+         */
+        void close() {
+            sm.reset();
+            if (reader == null) {
+                return;
+            }
+            try {
+                reader.close();
+            } catch (IOException e) {
+                // Nothing can be done about it, as the documents are either read or not needed.
+            }
+        }
+
+        private boolean fill() throws IOException {
+            if (sm.window == buff) {
+                if (documentLine == 0 && documentStart < sm.windowOffset + count) {
+                    locateDocument();
+                }
+                sm.endWindow(count);
+            }
+            count = reader == null ? copyChars() : reader.read(buff);
+            sm.index = 0;
+            sm.setWindow(buff, sm.windowOffset);
+            if (count <= 0) {
+                count = 0;
+                return false;
+            }
+            return true;
+        }
+
+        private int copyChars() {
+            int length = Math.min(json.length() - jsonOffset, buff.length);
+            json.getChars(jsonOffset, jsonOffset + length, buff, 0);
+            jsonOffset += length;
+            return length;
+        }
+
+        private void skipWhitespace() {
+            int i = sm.index;
+            while (i < count && StateMachine.isWhitespace(buff[i])) {
+                i++;
+            }
+            sm.index = i;
+        }
+
+        private void startDocument() {
+            sm.resetDocument();
+            sm.initRootType(rootType);
+            sm.initOptions(options);
+            documentLine = 0;
+            documentStart = sm.windowOffset + sm.index;
+        }
+
+        private void locateDocument() {
+            if (documentLine == 0) {
+                documentLine = sm.lineAt(documentStart);
+            }
+        }
+
+        private BError invalidDocument(BError error) {
+            locateDocument();
+            return DiagnosticLog.error(DiagnosticErrorCode.INVALID_DOCUMENT, documentLine, error.getMessage());
+        }
+
+        /**
+         * Skips the rest of the line of an invalid document, so that parsing can continue from the next line.
+         */
+        private void skipRestOfLine() {
+            // The error may have been found at the new line which ends the document.
+            if (sm.window != buff || sm.columnAt(sm.windowOffset + sm.index) == 0) {
+                return;
+            }
+            try {
+                while (sm.index < count || fill()) {
+                    if (buff[sm.index++] == StateMachine.NEWLINE) {
+                        return;
+                    }
+                }
+            } catch (IOException e) {
+                // Reported by the next read.
+                count = 0;
+                sm.index = 0;
+            }
+        }
+    }
+
+    /**
+     * Parses a JSON document which is pushed to it in chunks of UTF-8 encoded bytes, such as the frames of a request
+     * body. Each chunk is parsed as soon as it is given, and the state of the state machine is kept until the next
+     * one, so that no thread is blocked while waiting for the rest of the document.
+     *
+     * @since 1.1.2
+     */
+    static final class IncrementalParser {
+
+        /**
+         * Returned by {@link #feed(byte[])} while the document has not ended.
+         */
+        static final Object NEED_MORE = new Object();
+
+        private static final byte[] NO_BYTES = new byte[0];
+
+        private final StateMachine sm = new StateMachine();
+        private final BMap<BString, Object> options;
+        private final BTypedesc typed;
+        private final boolean isReadOnly;
+        private StateMachine.State state = StateMachine.DOC_START_STATE;
+        private char[] chars = new char[1024];
+        private byte[] incompleteBytes = NO_BYTES;
+        private long size;
+        private Object value;
+        private boolean isDone;
+        private BError error;
+
+        IncrementalParser(BMap<BString, Object> options, BTypedesc typed) throws BError {
+            this.options = options;
+            this.typed = typed;
+            Type referredType = TypeUtils.getReferredType(typed.getDescribingType());
+            boolean isReadOnly = false;
+            while (referredType.getTag() == TypeTags.INTERSECTION_TAG) {
+                referredType = StateMachine.getMutableRootType((IntersectionType) referredType);
+                isReadOnly = true;
+            }
+            this.isReadOnly = isReadOnly;
+            sm.initRootType(referredType);
+            sm.initOptions(options);
+            sm.stopWhenComplete = Boolean.TRUE.equals(options.get(Constants.STOP_WHEN_COMPLETE));
+        }
+
+        /**
+         * Parses the next chunk of the document. A multi-byte character split between two chunks is decoded once its
+         * last byte is given. After the document has ended, the following chunks may only hold whitespace.
+         *
+         * @param bytes the next chunk of the document
+         * @return {@link #NEED_MORE} if the document has not ended, else the value of the document
+         * @throws BError if the document is not valid or can not be converted
+         */
+        synchronized Object feed(byte[] bytes) throws BError {
+            if (error != null) {
+                throw error;
+            }
+            if (sm.completed) {
+                // The rest of the document is neither parsed nor checked.
+                return value;
+            }
+            byte[] content = bytes;
+            int length = bytes.length;
+            if (incompleteBytes.length > 0) {
+                content = new byte[incompleteBytes.length + length];
+                System.arraycopy(incompleteBytes, 0, content, 0, incompleteBytes.length);
+                System.arraycopy(bytes, 0, content, incompleteBytes.length, length);
+                length = content.length;
+            }
+            int incompleteLength = Utf8Reader.getIncompleteSuffixLength(content, 0, length);
+            incompleteBytes = incompleteLength == 0 ? NO_BYTES
+                    : Arrays.copyOfRange(content, length - incompleteLength, length);
+            parse(new Utf8Reader(content, 0, length - incompleteLength), length - incompleteLength);
+            return isDone ? value : NEED_MORE;
+        }
+
+        /**
+         * Ends the document. This is needed for a document which can only end with the input, such as a single
+         * number, and checks that a document does not end before it is complete.
+         *
+         * @return the value of the document
+         * @throws BError if the document is not valid or can not be converted
+         */
+        synchronized Object end() throws BError {
+            if (error != null) {
+                throw error;
+            }
+            if (sm.completed) {
+                return value;
+            }
+            if (incompleteBytes.length > 0) {
+                // The bytes which do not complete a character are decoded as replacement characters.
+                byte[] bytes = incompleteBytes;
+                incompleteBytes = NO_BYTES;
+                parse(new Utf8Reader(bytes), bytes.length);
+            }
+            try {
+                complete(sm.finish(state));
+            } catch (JsonParserException e) {
+                throw fail(e);
+            } catch (BError e) {
+                throw fail(e);
+            }
+            return value;
+        }
+
+        private void parse(Reader reader, int maxCharCount) throws BError {
+            if (chars.length < maxCharCount) {
+                chars = new char[maxCharCount];
+            }
+            try {
+                int count = 0;
+                int read;
+                while (count < chars.length && (read = reader.read(chars, count, chars.length - count)) > 0) {
+                    count += read;
+                }
+                size += count;
+                sm.limits.checkDocumentSize(size);
+                state = sm.feed(state, chars, count);
+                if (!isDone && (state == StateMachine.DOC_END_STATE || sm.completed)) {
+                    complete(sm.currentJsonNode);
+                }
+            } catch (IOException e) {
+                // Not thrown, as there is no underlying stream.
+                throw fail(DiagnosticLog.error(DiagnosticErrorCode.JSON_READER_FAILURE, e.getMessage()));
+            } catch (JsonParserException e) {
+                throw fail(e);
+            } catch (BError e) {
+                throw fail(e);
+            }
+        }
+
+        private void complete(Object node) throws BError {
+            if (isDone) {
+                return;
+            }
+            Object documentValue = DataUtils.validateConstraints(
+                    isReadOnly ? JsonCreator.constructReadOnlyValue(node) : node, typed,
+                    (Boolean) options.get(ENABLE_CONSTRAINT_VALIDATION));
+            if (documentValue instanceof BError constraintError) {
+                throw constraintError;
+            }
+            value = documentValue;
+            isDone = true;
+        }
+
+        private BError fail(JsonParserException e) {
+            sm.locateError();
+            return fail(DiagnosticLog.error(DiagnosticErrorCode.JSON_PARSER_EXCEPTION, e.getMessage(),
+                    sm.errorLine, sm.errorColumn));
+        }
+
+        private BError fail(BError e) {
+            error = e;
+            // The values built so far are not needed anymore.
+            sm.reset();
+            return e;
+        }
+    }
+
     /**
      * Represents a JSON parser related exception.
      */
@@ -138,6 +568,8 @@ public class JsonParser {
         private static final State NON_STRING_VALUE_STATE = new NonStringValueState();
         private static final State STRING_VALUE_STATE = new StringValueState();
         private static final State FIELD_END_STATE = new FieldEndState();
+        private static final State SKIP_FIELD_VALUE_STATE = new SkipFieldValueState();
+        private static final State UNION_VALUE_STATE = new UnionValueState();
         private static final State STRING_AE_ESC_CHAR_PROCESSING_STATE = new StringAEEscapedCharacterProcessingState();
         private static final State STRING_AE_PROCESSING_STATE = new StringAEProcessingState();
         private static final State FIELD_NAME_UNICODE_HEX_PROCESSING_STATE = new FieldNameUnicodeHexProcessingState();
@@ -160,26 +592,72 @@ public class JsonParser {
         Object currentJsonNode;
         Deque<Object> nodesStack;
         private StringBuilder hexBuilder = new StringBuilder(4);
-        private char[] charBuff = new char[1024];
+        private final char[] inputBuff = new char[1024];
+        private static final int INITIAL_BUFF_SIZE = 1024;
+        private static final int MAX_RETAINED_BUFF_SIZE = 64 * 1024;
+
+        private char[] charBuff = new char[INITIAL_BUFF_SIZE];
         private int charBuffIndex;
+        private boolean skipFieldValue;
+        private long skippedScalarOffset = -1;
+        private final ValueScanner scanner = new ValueScanner();
+        private boolean expectUnionFieldName;
+        private int unionFieldNameStart = -1;
+        private boolean isEscapedUnionFieldName;
+        private boolean hasEscapedUnionFieldName;
+        private boolean expectUnionMemberValue;
+        private int unionElementIndex;
+        private boolean[] unionCandidates = new boolean[8];
+        private PendingFields[] unionCandidateFields = new PendingFields[8];
+        private Type[] unionCandidateValueTypes = new Type[8];
+        private int unionCandidateCount;
+        private long unionValueOffset;
+        private boolean unionValueLocated;
+        private int unionValueLine;
+        private long unionValueLineStart;
+        private StateMachine unionMemberParser;
+        // The outermost union typed value which is continued as its only possible member type. Its characters are
+        // kept when the input is read window by window, as they are reported if it can not be converted.
+        private Type streamedUnionType;
+        private long streamedUnionOffset;
+        private int streamedUnionDepth;
+        private final StringBuilder streamedUnionChars = new StringBuilder();
+        private long streamedUnionCharsEnd;
+        private ParsePlan.Union unionPlan;
+        private boolean isDiscriminatorFieldName;
+        private int discriminatorValueStart;
+        private int discriminatorValueEnd;
+        private final CharSequence charBuffView = new CharBuffView();
 
         private int index;
-        private int line;
-        private int column;
+        // The buffer of input characters being read, and the offset of its first character in the input.
+        private char[] window;
+        private long windowOffset;
+        // The whole input, when it is available, from which the location of an error is found without tracking it.
+        private CharSequence source;
+        // Otherwise, the line at an offset of the input, and the offset at which that line starts.
+        private long locationOffset;
+        private int locationLine;
+        private long lineStart;
+        private long errorOffset = -1;
+        private boolean errorLocated;
+        private int errorLine;
+        private int errorColumn;
         private char currentQuoteChar;
         boolean allowDataProjection = false;
         boolean nilAsOptionalField = false;
         boolean absentAsNilableType = false;
+        private boolean stopWhenComplete;
+        private boolean completed;
+        private ResourceLimits limits = ResourceLimits.UNLIMITED;
+        private int[] fieldCounts = new int[32];
         Field currentField;
-        Stack<Map<String, Field>> fieldHierarchy = new Stack<>();
-        Stack<Map<String, Field>> visitedFieldHierarchy = new Stack<>();
-        Stack<Type> restType = new Stack<>();
+        Stack<PendingFields> fieldHierarchy = new Stack<>();
         Stack<Type> expectedTypes = new Stack<>();
         Stack<Stack<String>> fieldNameHierarchy = new Stack<>();
         int jsonFieldDepth = 0;
         Stack<Integer> arrayIndexes = new Stack<>();
         Stack<ParserContext> parserContexts = new Stack<>();
-        int unionDepth = 0;
 
         StateMachine() {
             reset();
@@ -187,15 +665,24 @@ public class JsonParser {
 
         public void reset() {
             index = 0;
+            charBuffIndex = 0;
             currentJsonNode = null;
-            line = 1;
-            column = 0;
+            window = null;
+            windowOffset = 0;
+            source = null;
+            locationOffset = 0;
+            locationLine = 1;
+            lineStart = 0;
+            errorOffset = -1;
+            errorLocated = false;
+            unionValueOffset = -1;
+            unionValueLocated = true;
+            streamedUnionType = null;
+            streamedUnionChars.setLength(0);
             nodesStack = new ArrayDeque<>();
             fieldNameHierarchy.clear();
             fieldHierarchy.clear();
-            visitedFieldHierarchy.clear();
             currentField = null;
-            restType.clear();
             expectedTypes.clear();
             jsonFieldDepth = 0;
             arrayIndexes.clear();
@@ -203,32 +690,329 @@ public class JsonParser {
             allowDataProjection = false;
             nilAsOptionalField = false;
             absentAsNilableType = false;
-            unionDepth = 0;
+            stopWhenComplete = false;
+            completed = false;
+            limits = ResourceLimits.UNLIMITED;
+            resetScan();
+        }
+
+        /**
+         * Resets the state machine to be reused for another document, and trims the buffers grown by an oversized
+         * document back to their initial size, so that pooled state machines do not hold on to them.
+         */
+        void recycle() {
+            reset();
+            if (charBuff.length > MAX_RETAINED_BUFF_SIZE) {
+                charBuff = new char[INITIAL_BUFF_SIZE];
+            }
+            scanner.recycle(MAX_RETAINED_BUFF_SIZE);
+            if (streamedUnionChars.capacity() > MAX_RETAINED_BUFF_SIZE) {
+                streamedUnionChars.trimToSize();
+            }
+            if (fieldCounts.length > MAX_RETAINED_BUFF_SIZE) {
+                fieldCounts = new int[32];
+            }
+            if (unionMemberParser != null) {
+                unionMemberParser.recycle();
+            }
         }
 
-        private static boolean isWhitespace(char ch) {
+        static boolean isWhitespace(char ch) {
             return ch == SPACE || ch == HZ_TAB || ch == NEWLINE || ch == CR;
         }
 
-        private static void throwExpected(String... chars) throws JsonParserException {
-            throw new JsonParserException("expected '" + String.join("' or '", chars) + "'");
+        /**
+         * Creates the exception for an error found at the given index of the current window. Only the offset of the
+         * error in the input is kept, as the line and the column of the error are found once it is reported.
+         */
+        private JsonParserException error(int i, String message) {
+            errorOffset = windowOffset + i + 1;
+            return new JsonParserException(message);
+        }
+
+        private JsonParserException expected(int i, String... chars) {
+            return error(i, "expected '" + String.join("' or '", chars) + "'");
         }
 
-        private void processLocation(char ch) {
-            if (ch == '\n') {
-                this.line++;
-                this.column = 0;
-            } else {
-                this.column++;
+        private void setWindow(char[] buff, long offset) {
+            this.window = buff;
+            this.windowOffset = offset;
+        }
+
+        /**
+         * Ends the current window of the input, so that the next window follows it. The states only keep the index in
+         * the window, hence the new lines of a window are counted once here when the location has to be tracked.
+         */
+        private void endWindow(int count) {
+            long end = windowOffset + count;
+            if (source == null) {
+                if (!unionValueLocated && unionValueOffset >= locationOffset && unionValueOffset < end) {
+                    // The characters before the union value are not kept after the window.
+                    locateUnionValue();
+                }
+                if (streamedUnionType != null) {
+                    keepStreamedUnionChars(end);
+                }
+                advanceLocation(end);
             }
+            windowOffset = end;
+        }
+
+        private void keepStreamedUnionChars(long end) {
+            int from = (int) Math.max(streamedUnionCharsEnd - windowOffset, 0);
+            int to = (int) (end - windowOffset);
+            if (from < to) {
+                streamedUnionChars.append(window, from, to - from);
+                streamedUnionCharsEnd = end;
+            }
+        }
+
+        /**
+         * Tracks the location over the characters of the current window up to the given offset of the input.
+         */
+        private void advanceLocation(long end) {
+            int to = (int) Math.min(end - windowOffset, window == null ? 0 : window.length);
+            for (int i = (int) Math.max(locationOffset - windowOffset, 0); i < to; i++) {
+                if (window[i] == NEWLINE) {
+                    locationLine++;
+                    lineStart = windowOffset + i + 1;
+                }
+            }
+            locationOffset = Math.max(locationOffset, end);
+        }
+
+        /**
+         * Returns the line after the given number of characters of the input.
+         */
+        private int lineAt(long end) {
+            if (source == null) {
+                advanceLocation(end);
+                return locationLine;
+            }
+            int line = 1;
+            int length = (int) Math.min(end, source.length());
+            for (int i = 0; i < length; i++) {
+                if (source.charAt(i) == NEWLINE) {
+                    line++;
+                }
+            }
+            return line;
+        }
+
+        /**
+         * Returns the offset of the input at which the line holding the given offset starts.
+         */
+        private long lineStartAt(long end) {
+            if (source == null) {
+                advanceLocation(end);
+                return lineStart;
+            }
+            for (int i = (int) Math.min(end, source.length()) - 1; i >= 0; i--) {
+                if (source.charAt(i) == NEWLINE) {
+                    return i + 1;
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * Returns the column after the given number of characters of the input.
+         */
+        private int columnAt(long end) {
+            return (int) (end - lineStartAt(end));
+        }
+
+        /**
+         * Computes the line and the column of the error being thrown, counting the character at which it is found.
+         */
+        private void locateError() {
+            if (errorLocated) {
+                return;
+            }
+            long end = errorOffset >= 0 ? errorOffset : windowOffset + index;
+            errorLine = lineAt(end);
+            errorColumn = columnAt(end);
+            errorLocated = true;
+        }
+
+        /**
+         * Finds the line and the start of the line of the union value being read.
+         */
+        private void locateUnionValue() {
+            if (unionValueLocated) {
+                return;
+            }
+            unionValueLine = lineAt(unionValueOffset);
+            unionValueLineStart = lineStartAt(unionValueOffset);
+            unionValueLocated = true;
+        }
+
+        /**
+         * Resets the state machine for the next document of a sequence, keeping the location in the input.
+         */
+        private void resetDocument() {
+            char[] window = this.window;
+            long windowOffset = this.windowOffset;
+            long locationOffset = this.locationOffset;
+            int locationLine = this.locationLine;
+            long lineStart = this.lineStart;
+            int index = this.index;
+            reset();
+            setWindow(window, windowOffset);
+            this.locationOffset = locationOffset;
+            this.locationLine = locationLine;
+            this.lineStart = lineStart;
+            this.index = index;
         }
 
         public Object execute(Reader reader, BMap<BString, Object> options, Type type) throws BError {
+            return execute(reader, null, options, type);
+        }
+
+        /**
+         * Parses the content of either the reader or the string. The input buffer is reused across the calls.
+         */
+        private Object execute(Reader reader, String json, BMap<BString, Object> options, Type type)
+                throws BError {
+            Type referredType = TypeUtils.getReferredType(type);
+            if (referredType.getTag() == TypeTags.INTERSECTION_TAG) {
+                return JsonCreator.constructReadOnlyValue(
+                        execute(reader, json, options, getMutableRootType((IntersectionType) referredType)));
+            }
+            initRootType(referredType);
+            initOptions(options);
+            stopWhenComplete = Boolean.TRUE.equals(options.get(Constants.STOP_WHEN_COMPLETE));
+            source = json;
+
+            State currentState = DOC_START_STATE;
+            int count = 0;
+            try {
+                int offset = 0;
+                long size = 0;
+                while (!completed && (count = json == null ? reader.read(inputBuff) : copyChars(json, offset)) > 0) {
+                    offset += count;
+                    size += count;
+                    limits.checkDocumentSize(size);
+                    currentState = feed(currentState, inputBuff, count);
+                }
+                if (completed) {
+                    // The rest of the document is neither read nor checked.
+                    if (reader != null) {
+                        reader.close();
+                    }
+                    return currentJsonNode;
+                }
+                return finish(currentState);
+            } catch (IOException e) {
+                throw DiagnosticLog.error(DiagnosticErrorCode.JSON_READER_FAILURE, e.getMessage());
+            } catch (JsonParserException e) {
+                locateError();
+                throw DiagnosticLog.error(DiagnosticErrorCode.JSON_PARSER_EXCEPTION, e.getMessage(), errorLine,
+                        errorColumn);
+            } catch (BError e) {
+                throw getStreamedUnionError(e, reader, count);
+            }
+        }
+
+        /**
+         * Returns the error of a union typed value which is continued as its only possible member type and can not be
+         * converted to it. It is reported for the union type with the whole value, the same way as a value which is
+         * collected and tried against each member type. Other errors, such as the exceeded limits, are kept.
+         *
+         * @param error the error thrown while the value is read
+         * @param reader the reader of the input, if it is not a string
+         * @param count the number of characters in the current window of the input
+         */
+        private BError getStreamedUnionError(BError error, Reader reader, int count) {
+            if (streamedUnionType == null || limits.isExceededBy(error)) {
+                return error;
+            }
+            ValueScanner valueScanner = new ValueScanner();
+            StringBuilder value = new StringBuilder();
+            int result;
+            if (source != null) {
+                result = appendValue(valueScanner, value, source, (int) streamedUnionOffset, source.length());
+            } else {
+                // The rest of the value is read from the input.
+                result = appendValue(valueScanner, value, streamedUnionChars, 0, streamedUnionChars.length());
+                if (result == ValueScanner.IN_VALUE && window == inputBuff) {
+                    result = appendValue(valueScanner, value, CharBuffer.wrap(inputBuff),
+                            (int) Math.max(streamedUnionCharsEnd - windowOffset, 0), count);
+                }
+                try {
+                    int read;
+                    while (result == ValueScanner.IN_VALUE && (read = reader.read(inputBuff)) > 0) {
+                        result = appendValue(valueScanner, value, CharBuffer.wrap(inputBuff), 0, read);
+                    }
+                } catch (IOException e) {
+                    return error;
+                }
+            }
+            if (result != ValueScanner.ENDED) {
+                return error;
+            }
+            Object jsonValue;
+            try {
+                jsonValue = JsonParser.parse(value.toString(), ValueCreator.createMapValue(),
+                        PredefinedTypes.TYPE_JSON);
+            } catch (BError e) {
+                return error;
+            }
+            return DiagnosticLog.error(DiagnosticErrorCode.INCOMPATIBLE_TYPE, getReportedUnionType(streamedUnionType),
+                    jsonValue);
+        }
+
+        /**
+         * Appends the characters of a value until it ends.
+         *
+         * @return {@link ValueScanner#ENDED} if the value ends, {@link ValueScanner#IN_VALUE} if it continues after
+         * the characters, or the result of a misplaced closing bracket
+         */
+        private static int appendValue(ValueScanner valueScanner, StringBuilder value, CharSequence chars, int start,
+                                       int end) {
+            for (int i = start; i < end; i++) {
+                char ch = chars.charAt(i);
+                value.append(ch);
+                int result = valueScanner.scan(ch);
+                if (result != ValueScanner.IN_VALUE && result != ValueScanner.OPENED) {
+                    return result;
+                }
+            }
+            return ValueScanner.IN_VALUE;
+        }
+
+        private void initOptions(BMap<BString, Object> options) {
+            limits = ResourceLimits.from(options);
+            Object allowDataProjection = options.get(Constants.ALLOW_DATA_PROJECTION);
+            if (allowDataProjection instanceof Boolean) {
+                this.allowDataProjection = false;
+            } else if (allowDataProjection instanceof BMap<?, ?>) {
+                this.allowDataProjection = true;
+                this.absentAsNilableType =
+                        (Boolean) ((BMap<?, ?>) allowDataProjection).get(Constants.ABSENT_AS_NILABLE_TYPE);
+                this.nilAsOptionalField =
+                        (Boolean) ((BMap<?, ?>) allowDataProjection).get(Constants.NIL_AS_OPTIONAL_FIELD);
+            }
+        }
+
+        static Type getMutableRootType(IntersectionType intersectionType) {
+            if (!intersectionType.getEffectiveType().isReadOnly()) {
+                throw DiagnosticLog.error(DiagnosticErrorCode.UNSUPPORTED_TYPE, intersectionType);
+            }
+            for (Type constituentType : intersectionType.getConstituentTypes()) {
+                if (constituentType.getTag() != TypeTags.READONLY_TAG) {
+                    return TypeUtils.getReferredType(constituentType);
+                }
+            }
+            throw DiagnosticLog.error(DiagnosticErrorCode.UNSUPPORTED_TYPE, intersectionType);
+        }
+
+        private void initRootType(Type type) {
             switch (type.getTag()) {
                 case TypeTags.RECORD_TYPE_TAG -> {
                     RecordType recordType = (RecordType) type;
                     expectedTypes.push(recordType);
-                    updateExpectedType(JsonCreator.getAllFieldsInRecord(recordType), recordType.getRestFieldType());
+                    updateExpectedType(ParsePlan.forRecord(recordType));
                 }
                 case TypeTags.ARRAY_TAG, TypeTags.TUPLE_TAG -> {
                     expectedTypes.push(type);
@@ -241,65 +1025,41 @@ public class JsonParser {
                         TypeTags.FINITE_TYPE_TAG, TypeTags.UNION_TAG -> expectedTypes.push(type);
                 case TypeTags.JSON_TAG, TypeTags.ANYDATA_TAG -> {
                     expectedTypes.push(type);
-                    updateExpectedType(new HashMap<>(), type);
+                    updateExpectedType(ParsePlan.forRestType(type));
                 }
                 case TypeTags.MAP_TAG -> {
                     expectedTypes.push(type);
-                    updateExpectedType(new HashMap<>(), ((MapType) type).getConstrainedType());
-                }
-                case TypeTags.INTERSECTION_TAG -> {
-                    Type effectiveType = ((IntersectionType) type).getEffectiveType();
-                    if (!effectiveType.isReadOnly()) {
-                        throw DiagnosticLog.error(DiagnosticErrorCode.UNSUPPORTED_TYPE, type);
-                    }
-
-                    Object jsonValue = null;
-                    for (Type constituentType : ((IntersectionType) type).getConstituentTypes()) {
-                        if (constituentType.getTag() == TypeTags.READONLY_TAG) {
-                            continue;
-                        }
-                        jsonValue = execute(reader, options, TypeUtils.getReferredType(constituentType));
-                        break;
-                    }
-                    return JsonCreator.constructReadOnlyValue(jsonValue);
-                }
-                case TypeTags.TYPE_REFERENCED_TYPE_TAG -> {
-                    return execute(reader, options, TypeUtils.getReferredType(type));
+                    updateExpectedType(ParsePlan.forRestType(((MapType) type).getConstrainedType()));
                 }
                 default -> throw DiagnosticLog.error(DiagnosticErrorCode.UNSUPPORTED_TYPE, type);
             }
+        }
 
-            Object allowDataProjection = options.get(Constants.ALLOW_DATA_PROJECTION);
-            if (allowDataProjection instanceof Boolean) {
-                this.allowDataProjection = false;
-            } else if (allowDataProjection instanceof BMap<?, ?>) {
-                this.allowDataProjection = true;
-                this.absentAsNilableType =
-                        (Boolean) ((BMap<?, ?>) allowDataProjection).get(Constants.ABSENT_AS_NILABLE_TYPE);
-                this.nilAsOptionalField =
-                        (Boolean) ((BMap<?, ?>) allowDataProjection).get(Constants.NIL_AS_OPTIONAL_FIELD);
+        private int copyChars(String json, int offset) {
+            int count = Math.min(json.length() - offset, inputBuff.length);
+            json.getChars(offset, offset + count, inputBuff, 0);
+            return count;
+        }
+
+        private State feed(State state, char[] buff, int count) throws JsonParserException {
+            this.index = 0;
+            setWindow(buff, windowOffset);
+            while (this.index < count && !completed) {
+                state = state.transition(this, buff, this.index, count);
             }
+            endWindow(Math.min(this.index, count));
+            return state;
+        }
 
-            State currentState = DOC_START_STATE;
-            try {
-                char[] buff = new char[1024];
-                int count;
-                while ((count = reader.read(buff)) > 0) {
-                    this.index = 0;
-                    while (this.index < count) {
-                        currentState = currentState.transition(this, buff, this.index, count);
-                    }
-                }
-                currentState = currentState.transition(this, new char[]{EOF}, 0, 1);
-                if (currentState != DOC_END_STATE) {
-                    throw ErrorCreator.createError(StringUtils.fromString("invalid JSON document"));
-                }
-                return currentJsonNode;
-            } catch (IOException e) {
-                throw DiagnosticLog.error(DiagnosticErrorCode.JSON_READER_FAILURE, e.getMessage());
-            } catch (JsonParserException e) {
-                throw DiagnosticLog.error(DiagnosticErrorCode.JSON_PARSER_EXCEPTION, e.getMessage(), line, column);
+        private Object finish(State state) throws JsonParserException {
+            char[] eof = new char[]{EOF};
+            // The end of the document is counted as a character, for the errors found at it.
+            setWindow(eof, windowOffset);
+            state = state.transition(this, eof, 0, 1);
+            if (state != DOC_END_STATE) {
+                throw ErrorCreator.createError(StringUtils.fromString("invalid JSON document"));
             }
+            return currentJsonNode;
         }
 
         private void append(char ch) {
@@ -313,174 +1073,687 @@ public class JsonParser {
             }
         }
 
-        private void growCharBuff() {
-            char[] newBuff = new char[charBuff.length * 2];
-            System.arraycopy(this.charBuff, 0, newBuff, 0, this.charBuff.length);
-            this.charBuff = newBuff;
+        private void appendChars(char[] buff, int start, int end) {
+            int length = end - start;
+            if (length > 0) {
+                while (this.charBuffIndex + length > this.charBuff.length) {
+                    this.growCharBuff();
+                }
+                System.arraycopy(buff, start, this.charBuff, this.charBuffIndex, length);
+                this.charBuffIndex += length;
+            }
+        }
+
+        /**
+         * Appends the run of characters from {@code i} which need no handling by the string states, i.e. everything
+         * up to the next quote, escape character, new line or EOF.
+         * <p>
+         * Strings make up most of the characters of a typical document, so copying such runs in bulk avoids
+         * dispatching on each of them.
+         *
+         * @return the index of the first character which was not appended
+         */
+        private int appendPlainChars(char[] buff, int i, int count) {
+            int end = findStringSpecialChar(buff, i, count, this.currentQuoteChar);
+            int length = end - i;
+            // Checked for each run, including the empty ones which follow an escaped character.
+            limits.checkStringLength(charBuffIndex + length);
+            appendChars(buff, i, end);
+            return end;
+        }
+
+        /**
+         * Skips the characters of a string which is not collected, the same way as {@link #appendPlainChars}.
+         *
+         * @return the index of the first character which was not skipped
+         */
+        private int skipPlainChars(char[] buff, int i, int count) {
+            return findStringSpecialChar(buff, i, count, QUOTES);
+        }
+
+        private static int findStringSpecialChar(char[] buff, int i, int count, char quote) {
+            char ch;
+            while (i < count && (ch = buff[i]) != quote && ch != REV_SOL && ch != NEWLINE && ch != EOF) {
+                i++;
+            }
+            return i;
+        }
+
+        private void growCharBuff() {
+            char[] newBuff = new char[charBuff.length * 2];
+            System.arraycopy(this.charBuff, 0, newBuff, 0, this.charBuff.length);
+            this.charBuff = newBuff;
+        }
+
+        private State finalizeNonArrayObjectAndRemoveExpectedType() {
+            State state = finalizeNonArrayObject();
+            expectedTypes.pop();
+            return state;
+        }
+
+        private State finalizeNonArrayObject() {
+            if (jsonFieldDepth > 0) {
+                jsonFieldDepth--;
+            }
+
+            if (!expectedTypes.isEmpty() && expectedTypes.peek() == null) {
+                // Skip the value and continue to next state.
+                parserContexts.pop();
+                endStreamedUnion();
+                fieldNameHierarchy.pop();
+                if (parserContexts.peek() == ParserContext.MAP) {
+                    return FIELD_END_STATE;
+                }
+                return ARRAY_ELEMENT_END_STATE;
+            }
+
+            PendingFields remainingFields = fieldHierarchy.pop();
+            fieldNameHierarchy.pop();
+            remainingFields.checkRequiredFields(absentAsNilableType);
+            return finalizeObject();
+        }
+
+        @SuppressWarnings("Unchecked")
+        private State finalizeObject() {
+            // Skip the value and continue to next state.
+            parserContexts.pop();
+            endStreamedUnion();
+
+            if (!expectedTypes.isEmpty() && expectedTypes.peek() == null) {
+                if (parserContexts.peek() == ParserContext.MAP) {
+                    return FIELD_END_STATE;
+                }
+                return ARRAY_ELEMENT_END_STATE;
+            }
+
+            if (nodesStack.isEmpty()) {
+                return DOC_END_STATE;
+            }
+
+            if (expectedTypes.peek().isReadOnly()) {
+                currentJsonNode = CloneReadOnly.cloneReadOnly(currentJsonNode);
+            }
+
+            Object parentNode = nodesStack.pop();
+            Type parentNodeType = TypeUtils.getType(parentNode);
+            int parentNodeTypeTag = TypeUtils.getReferredType(parentNodeType).getTag();
+            if (parentNodeTypeTag == TypeTags.RECORD_TYPE_TAG || parentNodeTypeTag == TypeTags.MAP_TAG) {
+                ((BMap<BString, Object>) parentNode).put(StringUtils.fromString(fieldNameHierarchy.peek().pop()),
+                        currentJsonNode);
+                currentJsonNode = parentNode;
+                return FIELD_END_STATE;
+            }
+
+            switch (TypeUtils.getType(parentNode).getTag()) {
+                case TypeTags.ARRAY_TAG -> {
+                    // Handle projection in array.
+                    ArrayType arrayType = (ArrayType) parentNodeType;
+                    if (arrayType.getState() == ArrayType.ArrayState.CLOSED &&
+                            arrayType.getSize() <= arrayIndexes.peek()) {
+                        break;
+                    }
+                    ((BArray) parentNode).add(arrayIndexes.peek(), currentJsonNode);
+                }
+                case TypeTags.TUPLE_TAG -> ((BArray) parentNode).add(arrayIndexes.peek(), currentJsonNode);
+                default -> {
+                }
+            }
+
+            currentJsonNode = parentNode;
+            return ARRAY_ELEMENT_END_STATE;
+        }
+
+        private boolean isUnionTypeExpected() {
+            return !expectedTypes.isEmpty() && JsonCreator.getUnionType(expectedTypes.peek()) != null;
+        }
+
+        private State startArrayElementValue(char ch, int i) throws JsonParserException {
+            JsonCreator.updateExpectedType(this);
+            if (isUnionTypeExpected()) {
+                return startUnionValue(ch, i);
+            }
+            if (ch == '{') {
+                JsonCreator.updateNextMapValue(this);
+                return FIRST_FIELD_READY_STATE;
+            }
+            JsonCreator.updateNextArrayValue(this);
+            return FIRST_ARRAY_ELEMENT_READY_STATE;
+        }
+
+        /**
+         * Starts reading a map or an array value which is expected to be of a union type. The member types which can
+         * not hold the value are ruled out as it is read, and the value is continued as the only member type left, as
+         * soon as there is one. Until then, the characters of the value are collected.
+         */
+        private State startUnionValue(char ch, int i) throws JsonParserException {
+            unionPlan = ParsePlan.forUnion(expectedTypes.peek());
+            isDiscriminatorFieldName = false;
+            discriminatorValueStart = -1;
+            discriminatorValueEnd = -1;
+            unionValueOffset = windowOffset + i;
+            unionValueLocated = false;
+            boolean isMappingValue = ch == '{';
+            expectUnionFieldName = isMappingValue;
+            unionFieldNameStart = -1;
+            isEscapedUnionFieldName = false;
+            hasEscapedUnionFieldName = false;
+            expectUnionMemberValue = !isMappingValue;
+            unionElementIndex = 0;
+            initUnionCandidates(isMappingValue);
+            charBuffIndex = 0;
+            append(ch);
+            scan(ch, i);
+            State memberState = startSingleUnionCandidate();
+            return memberState == null ? UNION_VALUE_STATE : memberState;
+        }
+
+        private void initUnionCandidates(boolean isMappingValue) {
+            int memberCount = unionPlan.memberTypes.size();
+            if (unionCandidates.length < memberCount) {
+                unionCandidates = new boolean[memberCount];
+                unionCandidateFields = new PendingFields[memberCount];
+                unionCandidateValueTypes = new Type[memberCount];
+            }
+            unionCandidateCount = 0;
+            for (int j = 0; j < memberCount; j++) {
+                boolean isCandidate = isMappingValue ? unionPlan.acceptsMapping[j] : unionPlan.acceptsList[j];
+                ParsePlan.Mapping plan = isCandidate && isMappingValue ? unionPlan.mappingPlans[j] : null;
+                unionCandidates[j] = isCandidate;
+                unionCandidateFields[j] = plan == null ? null : new PendingFields(plan);
+                unionCandidateValueTypes[j] = null;
+                if (isCandidate) {
+                    unionCandidateCount++;
+                }
+            }
+        }
+
+        private void dropUnionCandidate(int j) {
+            unionCandidates[j] = false;
+            unionCandidateFields[j] = null;
+            unionCandidateCount--;
+        }
+
+        /**
+         * Follows the top level of a union typed value, to rule out the member types by the field names and the kinds
+         * of the values in it, and to find the discriminator value.
+         *
+         * @param ch the next character of the value, at the top level of it
+         * @return the state to continue with, if the value is continued as a single member type, otherwise null
+         */
+        private State trackUnionValue(char ch) throws JsonParserException {
+            boolean isMappingValue = charBuff[0] == '{';
+            if (scanner.isInString()) {
+                if (scanner.isEscaped() || !isMappingValue) {
+                    return null;
+                }
+                if (ch == REV_SOL) {
+                    if (unionFieldNameStart >= 0) {
+                        isEscapedUnionFieldName = true;
+                        hasEscapedUnionFieldName = true;
+                    } else if (discriminatorValueEnd < 0) {
+                        // Escaped discriminator values are not used to select the member type.
+                        discriminatorValueStart = -1;
+                    }
+                } else if (ch == QUOTES) {
+                    if (unionFieldNameStart >= 0) {
+                        int start = unionFieldNameStart;
+                        unionFieldNameStart = -1;
+                        return endUnionFieldName(start, charBuffIndex - 1);
+                    }
+                    if (discriminatorValueStart >= 0 && discriminatorValueEnd < 0) {
+                        discriminatorValueEnd = charBuffIndex - 1;
+                        return startDiscriminatedValue();
+                    }
+                }
+                return null;
+            }
+
+            if (expectUnionMemberValue && !isWhitespace(ch)) {
+                expectUnionMemberValue = false;
+                if (ch != ',' && ch != ']' && ch != '}') {
+                    State memberState = narrowUnionByValue(ch);
+                    if (memberState != null) {
+                        return memberState;
+                    }
+                }
+            }
+            if (ch == QUOTES) {
+                if (expectUnionFieldName) {
+                    unionFieldNameStart = charBuffIndex;
+                    expectUnionFieldName = false;
+                } else if (isDiscriminatorFieldName && discriminatorValueEnd < 0) {
+                    discriminatorValueStart = charBuffIndex;
+                }
+            } else if (ch == ':') {
+                expectUnionMemberValue = isMappingValue;
+            } else if (ch == ',') {
+                if (isMappingValue) {
+                    expectUnionFieldName = true;
+                    isDiscriminatorFieldName = false;
+                } else {
+                    expectUnionMemberValue = true;
+                    unionElementIndex++;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Rules out the record members which can not have a field of the given name, and keeps the type of the field
+         * in each of the other members, for its value.
+         */
+        private State endUnionFieldName(int start, int end) throws JsonParserException {
+            String discriminatorField = unionPlan.discriminatorField;
+            isDiscriminatorFieldName = discriminatorField != null && discriminatorField.length() == end - start;
+            for (int i = start; isDiscriminatorFieldName && i < end; i++) {
+                isDiscriminatorFieldName = charBuff[i] == discriminatorField.charAt(i - start);
+            }
+
+            // Escaped field names are not decoded here, hence they rule out no member.
+            String fieldName = isEscapedUnionFieldName ? null : new String(charBuff, start, end - start);
+            isEscapedUnionFieldName = false;
+            for (int j = 0; j < unionPlan.memberTypes.size(); j++) {
+                if (!unionCandidates[j]) {
+                    continue;
+                }
+                PendingFields fields = unionCandidateFields[j];
+                if (fields == null || fieldName == null) {
+                    unionCandidateValueTypes[j] = null;
+                    continue;
+                }
+                Field field = fields.visit(fieldName);
+                Type fieldType = field == null ? fields.restType() : field.getFieldType();
+                if (fieldType == null && !allowDataProjection) {
+                    dropUnionCandidate(j);
+                    continue;
+                }
+                unionCandidateValueTypes[j] = fieldType;
+            }
+            return startSingleUnionCandidate();
+        }
+
+        /**
+         * Rules out the members which can not hold a field value or a list member starting with the given character.
+         */
+        private State narrowUnionByValue(char ch) throws JsonParserException {
+            boolean isMappingValue = charBuff[0] == '{';
+            for (int j = 0; j < unionPlan.memberTypes.size(); j++) {
+                if (!unionCandidates[j]) {
+                    continue;
+                }
+                Type valueType;
+                try {
+                    valueType = isMappingValue ? unionCandidateValueTypes[j] : getUnionElementType(j);
+                } catch (BError e) {
+                    // The list member does not fit in the list type.
+                    dropUnionCandidate(j);
+                    continue;
+                }
+                if (!mayHoldValue(valueType, ch)) {
+                    dropUnionCandidate(j);
+                }
+            }
+            return startSingleUnionCandidate();
+        }
+
+        private Type getUnionElementType(int j) {
+            Type memberType = unionPlan.memberTypes.get(j);
+            Type referredType = TypeUtils.getReferredType(memberType);
+            if (referredType.getTag() == TypeTags.INTERSECTION_TAG) {
+                referredType = ((IntersectionType) referredType).getEffectiveType();
+            }
+            int tag = referredType.getTag();
+            if (tag != TypeTags.ARRAY_TAG && tag != TypeTags.TUPLE_TAG) {
+                return null;
+            }
+            return JsonCreator.getMemberType(memberType, unionElementIndex, allowDataProjection);
+        }
+
+        /**
+         * Returns whether a JSON value starting with the given character may be converted to the given type.
+         *
+         * @param type the expected type, null if any value is accepted
+         * @param ch the first character of the value
+         * @return false if the conversion fails for sure
+         */
+        private boolean mayHoldValue(Type type, char ch) {
+            // A null or a "null" for an optional field may be left out instead of being converted.
+            if (type == null || (nilAsOptionalField && (ch == 'n' || ch == QUOTES))) {
+                return true;
+            }
+            Type referredType = TypeUtils.getReferredType(type);
+            switch (referredType.getTag()) {
+                case TypeTags.INTERSECTION_TAG -> {
+                    return mayHoldValue(((IntersectionType) referredType).getEffectiveType(), ch);
+                }
+                case TypeTags.UNION_TAG -> {
+                    for (Type memberType : ((UnionType) referredType).getMemberTypes()) {
+                        if (mayHoldValue(memberType, ch)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                }
+                case TypeTags.RECORD_TYPE_TAG, TypeTags.MAP_TAG -> {
+                    return ch == '{';
+                }
+                case TypeTags.ARRAY_TAG, TypeTags.TUPLE_TAG -> {
+                    return ch == '[';
+                }
+                case TypeTags.STRING_TAG, TypeTags.CHAR_STRING_TAG -> {
+                    return ch == QUOTES;
+                }
+                case TypeTags.FINITE_TYPE_TAG -> {
+                    return ch != '{' && ch != '[';
+                }
+                case TypeTags.NULL_TAG, TypeTags.BOOLEAN_TAG, TypeTags.INT_TAG, TypeTags.BYTE_TAG,
+                        TypeTags.SIGNED8_INT_TAG, TypeTags.SIGNED16_INT_TAG, TypeTags.SIGNED32_INT_TAG,
+                        TypeTags.UNSIGNED8_INT_TAG, TypeTags.UNSIGNED16_INT_TAG, TypeTags.UNSIGNED32_INT_TAG,
+                        TypeTags.FLOAT_TAG, TypeTags.DECIMAL_TAG -> {
+                    return ch != '{' && ch != '[' && ch != QUOTES;
+                }
+                default -> {
+                    return true;
+                }
+            }
+        }
+
+        private State startSingleUnionCandidate() throws JsonParserException {
+            if (unionCandidateCount != 1) {
+                return null;
+            }
+            for (int j = 0; j < unionPlan.memberTypes.size(); j++) {
+                if (unionCandidates[j]) {
+                    Type memberType = unionPlan.memberTypes.get(j);
+                    return isStreamableUnionMember(memberType) ? startUnionMember(memberType) : null;
+                }
+            }
+            return null;
         }
 
-        private State finalizeNonArrayObjectAndRemoveExpectedType() {
-            State state = finalizeNonArrayObject();
-            expectedTypes.pop();
-            return state;
+        /**
+         * Returns whether a union typed value can be continued as the given member type without collecting it.
+         */
+        private boolean isStreamableUnionMember(Type memberType) {
+            if (expectedTypes.peek().isReadOnly()) {
+                return false;
+            }
+            boolean isMappingValue = charBuff[0] == '{';
+            return switch (TypeUtils.getReferredType(memberType).getTag()) {
+                case TypeTags.RECORD_TYPE_TAG, TypeTags.MAP_TAG -> isMappingValue;
+                case TypeTags.ARRAY_TAG, TypeTags.TUPLE_TAG -> !isMappingValue;
+                case TypeTags.JSON_TAG, TypeTags.ANYDATA_TAG, TypeTags.UNION_TAG -> true;
+                default -> false;
+            };
         }
 
-        private State checkUnionAndFinalizeNonArrayObject() {
-            if (unionDepth > 0) {
-                fieldNameHierarchy.pop();
-                return finalizeObject();
+        private Type getDiscriminatedType() {
+            if (discriminatorValueEnd < 0) {
+                return null;
             }
-            return finalizeNonArrayObjectAndRemoveExpectedType();
+            return unionPlan.getDiscriminatedType(
+                    new String(charBuff, discriminatorValueStart, discriminatorValueEnd - discriminatorValueStart));
         }
 
-        private State finalizeNonArrayObject() {
-            if (jsonFieldDepth > 0) {
-                jsonFieldDepth--;
+        /**
+         * Continues reading a union typed mapping value as the member type selected by its discriminator value, so
+         * the discriminator does not need to be the first field.
+         *
+         * @return the state to continue with or null if the value can not be read as a single member type yet
+         */
+        private State startDiscriminatedValue() throws JsonParserException {
+            Type memberType = getDiscriminatedType();
+            if (memberType == null || !isStreamableUnionMember(memberType)) {
+                return null;
             }
+            return startUnionMember(memberType);
+        }
 
-            if (!expectedTypes.isEmpty() && expectedTypes.peek() == null) {
-                // Skip the value and continue to next state.
-                parserContexts.pop();
-                fieldNameHierarchy.pop();
-                if (parserContexts.peek() == ParserContext.MAP) {
-                    return FIELD_END_STATE;
+        /**
+         * Continues reading a union typed value as the given member type. The characters collected so far are parsed
+         * again as the member type, and the rest of the value is read directly into it.
+         *
+         * @return the state to continue with
+         */
+        private State startUnionMember(Type memberType) throws JsonParserException {
+            char[] chars = Arrays.copyOf(charBuff, charBuffIndex);
+            charBuffIndex = 0;
+            resetScan();
+            Type unionType = expectedTypes.pop();
+            if (streamedUnionType == null) {
+                streamedUnionType = unionType;
+                streamedUnionOffset = unionValueOffset;
+                streamedUnionDepth = parserContexts.size();
+                if (source == null) {
+                    streamedUnionChars.setLength(0);
+                    streamedUnionChars.append(chars);
+                    streamedUnionCharsEnd = unionValueOffset + chars.length;
                 }
-                return ARRAY_ELEMENT_END_STATE;
             }
 
-            Map<String, Field> remainingFields = fieldHierarchy.pop();
-            visitedFieldHierarchy.pop();
-            fieldNameHierarchy.pop();
-            restType.pop();
-            for (Field field : remainingFields.values()) {
-                if (absentAsNilableType && field.getFieldType().isNilable()) {
-                    continue;
+            // The collected characters are parsed again as a window which starts where the value starts, while the
+            // window and the location in the input are kept as they are.
+            if (source == null) {
+                locateUnionValue();
+            }
+            char[] inputWindow = window;
+            long inputWindowOffset = windowOffset;
+            long inputLocationOffset = locationOffset;
+            int inputLocationLine = locationLine;
+            long inputLineStart = lineStart;
+            setWindow(chars, unionValueOffset);
+            locationOffset = unionValueOffset;
+            locationLine = unionValueLine;
+            lineStart = unionValueLineStart;
+            try {
+                State state = startMemberValue(memberType, chars[0]);
+                this.index = 1;
+                while (this.index < chars.length) {
+                    state = state.transition(this, chars, this.index, chars.length);
                 }
-
-                if (SymbolFlags.isFlagOn(field.getFlags(), SymbolFlags.REQUIRED)) {
-                    throw DiagnosticLog.error(DiagnosticErrorCode.REQUIRED_FIELD_NOT_PRESENT, field.getFieldName());
+                return state;
+            } catch (JsonParserException e) {
+                locateError();
+                throw e;
+            } finally {
+                if (source == null) {
+                    // A union value started in the collected characters can not be located after them.
+                    locateUnionValue();
                 }
+                setWindow(inputWindow, inputWindowOffset);
+                locationOffset = inputLocationOffset;
+                locationLine = inputLocationLine;
+                lineStart = inputLineStart;
             }
-            return finalizeObject();
         }
 
-        private Object verifyAndConvertToUnion(Object json) {
-            if (unionDepth > 0) {
-                return json;
+        private State startMemberValue(Type memberType, char ch) throws JsonParserException {
+            boolean isRootValue = parserContexts.isEmpty();
+            if (isRootValue) {
+                initRootType(TypeUtils.getReferredType(memberType));
+            } else {
+                expectedTypes.push(memberType);
+            }
+            if (isUnionTypeExpected()) {
+                return startUnionValue(ch, 0);
             }
-            BMap<BString, Object> options = ValueCreator.createMapValue();
-            BMap<BString, Object> allowDataProjectionMap = ValueCreator.createMapValue();
-            if (!allowDataProjection) {
-                options.put(Constants.ALLOW_DATA_PROJECTION, false);
+            if (ch == '{') {
+                if (isRootValue) {
+                    currentJsonNode = JsonCreator.initRootMapValue(this);
+                } else {
+                    JsonCreator.updateNextMapValue(this);
+                }
+                return FIRST_FIELD_READY_STATE;
+            }
+            if (isRootValue) {
+                currentJsonNode = JsonCreator.initRootArrayValue(this);
             } else {
-                allowDataProjectionMap.put(Constants.NIL_AS_OPTIONAL_FIELD, nilAsOptionalField);
-                allowDataProjectionMap.put(Constants.ABSENT_AS_NILABLE_TYPE, absentAsNilableType);
-                options.put(Constants.ALLOW_DATA_PROJECTION, allowDataProjectionMap);
+                JsonCreator.updateNextArrayValue(this);
             }
-            return JsonTraverse.traverse(json, options, expectedTypes.peek());
+            return FIRST_ARRAY_ELEMENT_READY_STATE;
         }
 
-        @SuppressWarnings("Unchecked")
-        private State finalizeObject() {
-            // Skip the value and continue to next state.
-            parserContexts.pop();
+        private State finalizeUnionValue() throws JsonParserException {
+            Type expType = expectedTypes.pop();
+            Object value = resolveUnionValue(expType);
+            charBuffIndex = 0;
+            if (expType.isReadOnly()) {
+                value = JsonCreator.constructReadOnlyValue(value);
+            }
+            JsonCreator.checkNullAndUpdateCurrentJson(this, JsonCreator.updateCurrentJsonNode(this, value));
+            endStreamedUnion();
 
-            if (unionDepth > 0) {
-                unionDepth--;
-                currentJsonNode = verifyAndConvertToUnion(currentJsonNode);
+            if (parserContexts.isEmpty()) {
+                return DOC_END_STATE;
+            }
+            if (parserContexts.peek() == ParserContext.MAP) {
+                return FIELD_END_STATE;
             }
+            return ARRAY_ELEMENT_END_STATE;
+        }
 
-            if (!expectedTypes.isEmpty() && expectedTypes.peek() == null) {
-                if (parserContexts.peek() == ParserContext.MAP) {
-                    return FIELD_END_STATE;
+        /**
+         * Converts the collected union value to the first member type which accepts it. Only the members which are
+         * not ruled out while the value is read, and which have all the required fields, are tried.
+         */
+        private Object resolveUnionValue(Type expType) throws JsonParserException {
+            Type discriminatedType = charBuff[0] == '{' ? getDiscriminatedType() : null;
+            // Only the member selected by the discriminator is tried, if there is one.
+            List<Type> memberTypes = discriminatedType == null ? unionPlan.memberTypes : List.of(discriminatedType);
+            StateMachine memberParser = getUnionMemberParser();
+            for (int j = 0; j < memberTypes.size(); j++) {
+                if (discriminatedType == null && !isUnionCandidate(j)) {
+                    continue;
+                }
+                try {
+                    return memberParser.parseUnionMember(this, memberTypes.get(j));
+                } catch (BError | JsonParserException e) {
+                    // Try the next member type.
+                } finally {
+                    memberParser.reset();
                 }
-                return ARRAY_ELEMENT_END_STATE;
             }
 
-            if (nodesStack.isEmpty()) {
-                return DOC_END_STATE;
+            Object jsonValue;
+            try {
+                jsonValue = memberParser.parseUnionMember(this, PredefinedTypes.TYPE_JSON);
+            } catch (JsonParserException e) {
+                // Report the error at its location in the whole document.
+                memberParser.locateError();
+                locateUnionValue();
+                errorColumn = memberParser.errorLine == 1
+                        ? (int) (unionValueOffset - unionValueLineStart) + memberParser.errorColumn
+                        : memberParser.errorColumn;
+                errorLine = unionValueLine + memberParser.errorLine - 1;
+                errorLocated = true;
+                throw e;
+            } finally {
+                memberParser.reset();
             }
+            throw DiagnosticLog.error(DiagnosticErrorCode.INCOMPATIBLE_TYPE, getReportedUnionType(expType), jsonValue);
+        }
 
-            if (expectedTypes.peek().isReadOnly()) {
-                currentJsonNode = CloneReadOnly.cloneReadOnly(currentJsonNode);
+        /**
+         * Ends the union typed value which is continued as a single member type, once its member value has ended.
+         */
+        private void endStreamedUnion() {
+            if (streamedUnionType != null && parserContexts.size() <= streamedUnionDepth) {
+                streamedUnionType = null;
+                streamedUnionChars.setLength(0);
             }
+        }
 
-            Object parentNode = nodesStack.pop();
-            Type parentNodeType = TypeUtils.getType(parentNode);
-            int parentNodeTypeTag = TypeUtils.getReferredType(parentNodeType).getTag();
-            if (parentNodeTypeTag == TypeTags.RECORD_TYPE_TAG || parentNodeTypeTag == TypeTags.MAP_TAG) {
-                ((BMap<BString, Object>) parentNode).put(StringUtils.fromString(fieldNameHierarchy.peek().pop()),
-                        currentJsonNode);
-                currentJsonNode = parentNode;
-                return FIELD_END_STATE;
+        private boolean isUnionCandidate(int j) {
+            if (!unionCandidates[j]) {
+                return false;
             }
+            // A required field may have been given with an escaped name.
+            PendingFields fields = unionCandidateFields[j];
+            return fields == null || hasEscapedUnionFieldName || fields.hasRequiredFields(absentAsNilableType);
+        }
 
-            switch (TypeUtils.getType(parentNode).getTag()) {
-                case TypeTags.ARRAY_TAG -> {
-                    // Handle projection in array.
-                    ArrayType arrayType = (ArrayType) parentNodeType;
-                    if (arrayType.getState() == ArrayType.ArrayState.CLOSED &&
-                            arrayType.getSize() <= arrayIndexes.peek()) {
-                        break;
-                    }
-                    ((BArray) parentNode).add(arrayIndexes.peek(), currentJsonNode);
-                }
-                case TypeTags.TUPLE_TAG -> ((BArray) parentNode).add(arrayIndexes.peek(), currentJsonNode);
-                default -> {
-                }
+        private static Type getReportedUnionType(Type expType) {
+            Type referredType = TypeUtils.getReferredType(expType);
+            return referredType.getTag() == TypeTags.INTERSECTION_TAG ?
+                    JsonCreator.getMutableType((IntersectionType) referredType).orElse(expType) : expType;
+        }
+
+        private StateMachine getUnionMemberParser() {
+            if (unionMemberParser == null) {
+                unionMemberParser = new StateMachine();
             }
+            return unionMemberParser;
+        }
 
-            currentJsonNode = parentNode;
-            return ARRAY_ELEMENT_END_STATE;
+        private Object parseUnionMember(StateMachine parent, Type type) throws JsonParserException {
+            Type referredType = TypeUtils.getReferredType(type);
+            if (referredType.getTag() == TypeTags.INTERSECTION_TAG) {
+                return JsonCreator.constructReadOnlyValue(
+                        parseUnionMember(parent, getMutableRootType((IntersectionType) referredType)));
+            }
+            initRootType(referredType);
+            allowDataProjection = parent.allowDataProjection;
+            nilAsOptionalField = parent.nilAsOptionalField;
+            absentAsNilableType = parent.absentAsNilableType;
+            source = CharBuffer.wrap(parent.charBuff, 0, parent.charBuffIndex);
+            return finish(feed(DOC_START_STATE, parent.charBuff, parent.charBuffIndex));
+        }
+
+        /**
+         * Returns whether the parsing can be stopped, as every field of the expected closed record has a value and
+         * the rest of the fields in the document can only be projected away.
+         */
+        private boolean isRootRecordComplete() {
+            if (!stopWhenComplete || !nodesStack.isEmpty() || jsonFieldDepth > 0 || fieldHierarchy.size() != 1) {
+                return false;
+            }
+            PendingFields pendingFields = fieldHierarchy.peek();
+            return pendingFields.restType() == null && pendingFields.isComplete();
         }
 
         private void updateIndexOfArrayElement() {
             int arrayIndex = arrayIndexes.pop();
+            // The next element is the one after the element at the index.
+            limits.checkElementCount(arrayIndex + 2L);
             arrayIndexes.push(arrayIndex + 1);
         }
 
-        public void updateExpectedType(Map<String, Field> fields, Type restType) {
-            this.fieldHierarchy.push(new HashMap<>(fields));
-            this.visitedFieldHierarchy.push(new HashMap<>());
-            this.restType.push(restType);
+        public void updateExpectedType(ParsePlan.Mapping plan) {
+            this.fieldHierarchy.push(new PendingFields(plan));
             this.fieldNameHierarchy.push(new Stack<>());
         }
 
         private State finalizeArrayObjectAndRemoveExpectedType() {
+            arrayIndexes.pop();
             State state = finalizeObject();
             expectedTypes.pop();
             return state;
         }
 
-        private State checkUnionAndFinalizeArrayObject() {
-            arrayIndexes.pop();
-            if (unionDepth > 0) {
-                return finalizeObject();
-            }
-            return finalizeArrayObjectAndRemoveExpectedType();
-        }
-
         void handleFieldName(String jsonFieldName) {
-            if (jsonFieldDepth == 0 && unionDepth == 0) {
-                currentField = visitedFieldHierarchy.peek().get(jsonFieldName);
-                if (currentField == null) {
-                    currentField = fieldHierarchy.peek().remove(jsonFieldName);
-                }
+            limits.checkElementCount(++fieldCounts[parserContexts.size() - 1]);
+            if (jsonFieldDepth == 0) {
+                PendingFields pendingFields = fieldHierarchy.peek();
+                currentField = pendingFields.visit(jsonFieldName);
 
                 Type fieldType;
                 if (currentField == null) {
-                    fieldType = restType.peek();
+                    fieldType = pendingFields.restType();
                 } else {
                     // Replace modified field name with actual field name.
                     jsonFieldName = currentField.getFieldName();
                     fieldType = currentField.getFieldType();
-                    visitedFieldHierarchy.peek().put(jsonFieldName, currentField);
                 }
-                expectedTypes.push(fieldType);
 
-                if (!allowDataProjection && fieldType == null)  {
-                    throw DiagnosticLog.error(DiagnosticErrorCode.UNDEFINED_FIELD, jsonFieldName);
+                if (fieldType == null) {
+                    if (!allowDataProjection) {
+                        throw DiagnosticLog.error(DiagnosticErrorCode.UNDEFINED_FIELD, jsonFieldName);
+                    }
+                    // The value is projected away, hence it is skipped without building any state for it.
+                    skipFieldValue = true;
+                    return;
                 }
+                expectedTypes.push(fieldType);
             } else if (expectedTypes.peek() == null) {
                 expectedTypes.push(null);
             }
@@ -520,8 +1793,9 @@ public class JsonParser {
                 State state = null;
                 for (; i < count; i++) {
                     ch = buff[i];
-                    sm.processLocation(ch);
-                    if (ch == '{') {
+                    if ((ch == '{' || ch == '[') && sm.isUnionTypeExpected()) {
+                        state = sm.startUnionValue(ch, i);
+                    } else if (ch == '{') {
                         sm.currentJsonNode = JsonCreator.initRootMapValue(sm);
                         state = FIRST_FIELD_READY_STATE;
                     } else if (ch == '[') {
@@ -534,7 +1808,7 @@ public class JsonParser {
                         sm.currentQuoteChar = ch;
                         state = STRING_VALUE_STATE;
                     } else if (ch == EOF) {
-                        throw new JsonParserException("empty JSON document");
+                        throw sm.error(i, "empty JSON document");
                     } else {
                         state = NON_STRING_VALUE_STATE;
                     }
@@ -560,17 +1834,13 @@ public class JsonParser {
                 State state = null;
                 for (; i < count; i++) {
                     ch = buff[i];
-                    sm.processLocation(ch);
                     if (StateMachine.isWhitespace(ch) || ch == EOF) {
                         state = this;
                         continue;
                     }
-                    throw new JsonParserException("JSON document has already ended");
+                    throw sm.error(i, "JSON document has already ended");
                 }
                 sm.index = i + 1;
-                if (sm.unionDepth > 0) {
-                    sm.currentJsonNode = sm.verifyAndConvertToUnion(sm.currentJsonNode);
-                }
                 return state;
             }
         }
@@ -586,7 +1856,6 @@ public class JsonParser {
                 State state = null;
                 for (; i < count; i++) {
                     ch = buff[i];
-                    sm.processLocation(ch);
                     if (ch == QUOTES) {
                         state = FIELD_NAME_STATE;
                         sm.currentQuoteChar = ch;
@@ -594,9 +1863,9 @@ public class JsonParser {
                         state = this;
                         continue;
                     } else if (ch == '}') {
-                        state = sm.checkUnionAndFinalizeNonArrayObject();
+                        state = sm.finalizeNonArrayObjectAndRemoveExpectedType();
                     } else {
-                        StateMachine.throwExpected("\"", "}");
+                        throw sm.expected(i, "\"", "}");
                     }
                     break;
                 }
@@ -611,12 +1880,11 @@ public class JsonParser {
         private static class FirstArrayElementReadyState implements State {
 
             @Override
-            public State transition(StateMachine sm, char[] buff, int i, int count) {
+            public State transition(StateMachine sm, char[] buff, int i, int count) throws JsonParserException {
                 State state = null;
                 char ch;
                 for (; i < count; i++) {
                     ch = buff[i];
-                    sm.processLocation(ch);
                     if (StateMachine.isWhitespace(ch)) {
                         state = this;
                         continue;
@@ -624,14 +1892,10 @@ public class JsonParser {
                         state = STRING_ARRAY_ELEMENT_STATE;
                         sm.currentQuoteChar = ch;
                         JsonCreator.updateExpectedType(sm);
-                    } else if (ch == '{') {
-                        JsonCreator.updateNextMapValueBasedOnExpType(sm);
-                        state = FIRST_FIELD_READY_STATE;
-                    } else if (ch == '[') {
-                        JsonCreator.updateNextArrayValueBasedOnExpType(sm);
-                        state = FIRST_ARRAY_ELEMENT_READY_STATE;
+                    } else if (ch == '{' || ch == '[') {
+                        state = sm.startArrayElementValue(ch, i);
                     } else if (ch == ']') {
-                        state = sm.checkUnionAndFinalizeArrayObject();
+                        state = sm.finalizeArrayObjectAndRemoveExpectedType();
                     } else {
                         state = NON_STRING_ARRAY_ELEMENT_STATE;
                         JsonCreator.updateExpectedType(sm);
@@ -658,7 +1922,6 @@ public class JsonParser {
                 char ch;
                 for (; i < count; i++) {
                     ch = buff[i];
-                    sm.processLocation(ch);
                     if (ch == QUOTES) {
                         sm.currentQuoteChar = ch;
                         state = FIELD_NAME_STATE;
@@ -666,7 +1929,7 @@ public class JsonParser {
                         state = this;
                         continue;
                     } else {
-                        StateMachine.throwExpected("\"");
+                        throw sm.expected(i, "\"");
                     }
                     break;
                 }
@@ -681,12 +1944,11 @@ public class JsonParser {
         private static class NonFirstArrayElementReadyState implements State {
 
             @Override
-            public State transition(StateMachine sm, char[] buff, int i, int count) {
+            public State transition(StateMachine sm, char[] buff, int i, int count) throws JsonParserException {
                 State state = null;
                 char ch;
                 for (; i < count; i++) {
                     ch = buff[i];
-                    sm.processLocation(ch);
                     if (StateMachine.isWhitespace(ch)) {
                         state = this;
                         continue;
@@ -694,12 +1956,8 @@ public class JsonParser {
                         state = STRING_ARRAY_ELEMENT_STATE;
                         sm.currentQuoteChar = ch;
                         JsonCreator.updateExpectedType(sm);
-                    } else if (ch == '{') {
-                        JsonCreator.updateNextMapValueBasedOnExpType(sm);
-                        state = FIRST_FIELD_READY_STATE;
-                    } else if (ch == '[') {
-                        JsonCreator.updateNextArrayValueBasedOnExpType(sm);
-                        state = FIRST_ARRAY_ELEMENT_READY_STATE;
+                    } else if (ch == '{' || ch == '[') {
+                        state = sm.startArrayElementValue(ch, i);
                     } else {
                         JsonCreator.updateExpectedType(sm);
                         state = NON_STRING_ARRAY_ELEMENT_STATE;
@@ -721,6 +1979,33 @@ public class JsonParser {
             return result;
         }
 
+        /**
+         * Read only view of the characters currently held in the buffer, which avoids creating a String for values
+         * that can be decoded in place.
+         */
+        private final class CharBuffView implements CharSequence {
+
+            @Override
+            public int length() {
+                return charBuffIndex;
+            }
+
+            @Override
+            public char charAt(int index) {
+                return charBuff[index];
+            }
+
+            @Override
+            public CharSequence subSequence(int start, int end) {
+                return new String(charBuff, start, end - start);
+            }
+
+            @Override
+            public String toString() {
+                return new String(charBuff, 0, charBuffIndex);
+            }
+        }
+
         private String processFieldName() {
             return this.value();
         }
@@ -735,8 +2020,12 @@ public class JsonParser {
                 char ch;
                 State state = null;
                 for (; i < count; i++) {
+                    i = sm.appendPlainChars(buff, i, count);
+                    if (i == count) {
+                        state = this;
+                        break;
+                    }
                     ch = buff[i];
-                    sm.processLocation(ch);
                     if (ch == sm.currentQuoteChar) {
                         String jsonFieldName = sm.processFieldName();
                         sm.handleFieldName(jsonFieldName);
@@ -744,7 +2033,7 @@ public class JsonParser {
                     } else if (ch == REV_SOL) {
                         state = FIELD_NAME_ESC_CHAR_PROCESSING_STATE;
                     } else if (ch == EOF) {
-                        throw new JsonParserException("unexpected end of JSON document");
+                        throw sm.error(i, "unexpected end of JSON document");
                     } else {
                         sm.append(ch);
                         state = this;
@@ -768,14 +2057,13 @@ public class JsonParser {
                 char ch;
                 for (; i < count; i++) {
                     ch = buff[i];
-                    sm.processLocation(ch);
                     if (StateMachine.isWhitespace(ch)) {
                         state = this;
                         continue;
                     } else if (ch == ':') {
-                        state = FIELD_VALUE_READY_STATE;
+                        state = sm.skipFieldValue ? SKIP_FIELD_VALUE_STATE : FIELD_VALUE_READY_STATE;
                     } else {
-                        StateMachine.throwExpected(":");
+                        throw sm.expected(i, ":");
                     }
                     break;
                 }
@@ -790,18 +2078,19 @@ public class JsonParser {
         private static class FieldValueReadyState implements State {
 
             @Override
-            public State transition(StateMachine sm, char[] buff, int i, int count) {
+            public State transition(StateMachine sm, char[] buff, int i, int count) throws JsonParserException {
                 State state = null;
                 char ch;
                 for (; i < count; i++) {
                     ch = buff[i];
-                    sm.processLocation(ch);
                     if (StateMachine.isWhitespace(ch)) {
                         state = this;
                         continue;
                     } else if (ch == QUOTES) {
                         state = STRING_FIELD_VALUE_STATE;
                         sm.currentQuoteChar = ch;
+                    } else if ((ch == '{' || ch == '[') && sm.isUnionTypeExpected()) {
+                        state = sm.startUnionValue(ch, i);
                     } else if (ch == '{') {
                         JsonCreator.updateNextMapValue(sm);
                         state = FIRST_FIELD_READY_STATE;
@@ -832,15 +2121,19 @@ public class JsonParser {
                 State state = null;
                 char ch;
                 for (; i < count; i++) {
+                    i = sm.appendPlainChars(buff, i, count);
+                    if (i == count) {
+                        state = this;
+                        break;
+                    }
                     ch = buff[i];
-                    sm.processLocation(ch);
                     if (ch == sm.currentQuoteChar) {
                         sm.processValue(true);
                         state = FIELD_END_STATE;
                     } else if (ch == REV_SOL) {
                         state = STRING_FIELD_ESC_CHAR_PROCESSING_STATE;
                     } else if (ch == EOF) {
-                        throw new JsonParserException("unexpected end of JSON document");
+                        throw sm.error(i, "unexpected end of JSON document");
                     } else {
                         sm.append(ch);
                         state = this;
@@ -863,15 +2156,19 @@ public class JsonParser {
                 State state = null;
                 char ch;
                 for (; i < count; i++) {
+                    i = sm.appendPlainChars(buff, i, count);
+                    if (i == count) {
+                        state = this;
+                        break;
+                    }
                     ch = buff[i];
-                    sm.processLocation(ch);
                     if (ch == sm.currentQuoteChar) {
                         sm.processValue(true);
                         state = ARRAY_ELEMENT_END_STATE;
                     } else if (ch == REV_SOL) {
                         state = STRING_AE_ESC_CHAR_PROCESSING_STATE;
                     } else if (ch == EOF) {
-                        throw new JsonParserException("unexpected end of JSON document");
+                        throw sm.error(i, "unexpected end of JSON document");
                     } else {
                         sm.append(ch);
                         state = this;
@@ -895,7 +2192,6 @@ public class JsonParser {
                 char ch;
                 for (; i < count; i++) {
                     ch = buff[i];
-                    sm.processLocation(ch);
                     if (ch == '{') {
                         JsonCreator.updateNextMapValue(sm);
                         state = FIRST_FIELD_READY_STATE;
@@ -904,10 +2200,10 @@ public class JsonParser {
                         JsonCreator.updateNextArrayValueBasedOnExpType(sm);
                     } else if (ch == '}') {
                         sm.processValue(false);
-                        state = sm.checkUnionAndFinalizeNonArrayObject();
+                        state = sm.finalizeNonArrayObjectAndRemoveExpectedType();
                     } else if (ch == ']') {
                         sm.processValue(false);
-                        state = sm.checkUnionAndFinalizeArrayObject();
+                        state = sm.finalizeArrayObjectAndRemoveExpectedType();
                     } else if (ch == ',') {
                         sm.processValue(false);
                         state = NON_FIRST_FIELD_READY_STATE;
@@ -915,7 +2211,7 @@ public class JsonParser {
                         sm.processValue(false);
                         state = FIELD_END_STATE;
                     } else if (ch == EOF) {
-                        throw new JsonParserException("unexpected end of JSON document");
+                        throw sm.error(i, "unexpected end of JSON document");
                     } else {
                         sm.append(ch);
                         state = this;
@@ -939,7 +2235,6 @@ public class JsonParser {
                 char ch;
                 for (; i < count; i++) {
                     ch = buff[i];
-                    sm.processLocation(ch);
                     if (ch == '{') {
                         JsonCreator.updateNextMapValue(sm);
                         state = FIRST_FIELD_READY_STATE;
@@ -948,7 +2243,7 @@ public class JsonParser {
                         state = FIRST_ARRAY_ELEMENT_READY_STATE;
                     } else if (ch == ']') {
                         sm.processValue(false);
-                        state = sm.checkUnionAndFinalizeArrayObject();
+                        state = sm.finalizeArrayObjectAndRemoveExpectedType();
                     } else if (ch == ',') {
                         sm.processValue(false);
                         state = NON_FIRST_ARRAY_ELEMENT_READY_STATE;
@@ -957,7 +2252,7 @@ public class JsonParser {
                         sm.processValue(false);
                         state = ARRAY_ELEMENT_END_STATE;
                     } else if (ch == EOF) {
-                        throw new JsonParserException("unexpected end of JSON document");
+                        throw sm.error(i, "unexpected end of JSON document");
                     } else {
                         sm.append(ch);
                         state = this;
@@ -980,23 +2275,22 @@ public class JsonParser {
                 State state = null;
                 char ch;
                 for (; i < count; i++) {
+                    i = sm.appendPlainChars(buff, i, count);
+                    if (i == count) {
+                        state = this;
+                        break;
+                    }
                     ch = buff[i];
-                    sm.processLocation(ch);
                     if (ch == sm.currentQuoteChar) {
                         String value = sm.value();
-                        Type expType;
-                        if (sm.unionDepth > 0) {
-                            expType = PredefinedTypes.TYPE_STRING;
-                        } else {
-                            expType = sm.expectedTypes.peek();
-                        }
+                        Type expType = sm.expectedTypes.peek();
                         JsonCreator.checkNullAndUpdateCurrentJson(sm,
                                 JsonCreator.convertAndUpdateCurrentJsonNode(sm, value, expType, true));
                         state = DOC_END_STATE;
                     } else if (ch == REV_SOL) {
                         state = STRING_VAL_ESC_CHAR_PROCESSING_STATE;
                     } else if (ch == EOF) {
-                        throw new JsonParserException("unexpected end of JSON document");
+                        throw sm.error(i, "unexpected end of JSON document");
                     } else {
                         sm.append(ch);
                         state = this;
@@ -1010,18 +2304,25 @@ public class JsonParser {
         }
 
         private void processValue(boolean isStringElement) {
-            // This will clear the buffer
-            String value = value();
+            Type expType = expectedTypes.pop();
+            if (expType == null) {
+                this.charBuffIndex = 0;
+                return;
+            }
 
-            Type expType;
-            if (unionDepth > 0) {
-                expType = isStringElement ? PredefinedTypes.TYPE_STRING : PredefinedTypes.TYPE_JSON;
-            } else {
-                expType = expectedTypes.pop();
-                if (expType == null) {
+            if (!isStringElement) {
+                Object decodedValue = JsonCreator.decodeNonStringValue(this.charBuffView, this.charBuff,
+                        this.charBuffIndex, expType);
+                if (decodedValue != JsonCreator.NOT_DECODED) {
+                    this.charBuffIndex = 0;
+                    JsonCreator.checkNullAndUpdateCurrentJson(this, JsonCreator.updateCurrentJsonNode(this,
+                            decodedValue));
                     return;
                 }
             }
+
+            // This will clear the buffer
+            String value = value();
             JsonCreator.checkNullAndUpdateCurrentJson(this,
                     JsonCreator.convertAndUpdateCurrentJsonNode(this, value, expType, isStringElement));
         }
@@ -1037,7 +2338,6 @@ public class JsonParser {
                 char ch;
                 for (; i < count; i++) {
                     ch = buff[i];
-                    sm.processLocation(ch);
                     if (StateMachine.isWhitespace(ch) || ch == EOF) {
                         sm.currentJsonNode = null;
                         sm.processValue(false);
@@ -1054,6 +2354,178 @@ public class JsonParser {
             }
         }
 
+        /**
+         * Enters a map or a list which is converted, checking the nesting depth.
+         */
+        void pushParserContext(ParserContext context) {
+            parserContexts.push(context);
+            int depth = parserContexts.size();
+            limits.checkDepth(depth);
+            if (depth > fieldCounts.length) {
+                int[] newCounts = new int[fieldCounts.length * 2];
+                System.arraycopy(fieldCounts, 0, newCounts, 0, fieldCounts.length);
+                fieldCounts = newCounts;
+            }
+            fieldCounts[depth - 1] = 0;
+        }
+
+        /**
+         * Tracks the nesting of a value which is scanned without being parsed.
+         *
+         * @param ch the next character of the value
+         * @return true if the character ends the value at the top level of the scan
+         */
+        private boolean scan(char ch, int i) throws JsonParserException {
+            int result = scanner.scan(ch);
+            if (result == ValueScanner.OPENED) {
+                limits.checkDepth(parserContexts.size() + scanner.getDepth());
+            } else if (result == ValueScanner.UNEXPECTED_BRACKET) {
+                throw error(i, "unexpected '" + ch + "'");
+            } else if (result == ValueScanner.MISMATCHED_BRACKET) {
+                throw expected(i, String.valueOf(scanner.getExpectedBracket()));
+            }
+            return result == ValueScanner.ENDED;
+        }
+
+        private State endSkip(State nextState) {
+            resetScan();
+            return nextState;
+        }
+
+        private void resetScan() {
+            skipFieldValue = false;
+            skippedScalarOffset = -1;
+            scanner.reset();
+        }
+
+        /**
+         * Validates the non-string value collected while a field value is skipped, which ends at the given index.
+         */
+        private void checkSkippedScalar(int i) throws JsonParserException {
+            long offset = skippedScalarOffset;
+            skippedScalarOffset = -1;
+            if (ValueScanner.isScalar(charBuff, 0, charBuffIndex)) {
+                charBuffIndex = 0;
+                return;
+            }
+            String message = "unrecognized token '" + value() + "'";
+            if (source == null && offset < windowOffset) {
+                // The location of the previous windows is not tracked anymore.
+                throw error(i, message);
+            }
+            errorOffset = offset + 1;
+            throw new JsonParserException(message);
+        }
+
+        private static boolean isSkippedScalarEnd(char ch) {
+            return ch == ',' || ch == '}' || ch == ']' || ch == QUOTES || ch == '{' || ch == '[' || ch == ':'
+                    || StateMachine.isWhitespace(ch);
+        }
+
+        /**
+         * Represents the state during a field value, which is not part of the expected type, is skipped.
+         * Only the nesting of the brackets and the boundaries of the strings are tracked until the value ends, and the
+         * non-string values are validated. The content of the value is neither stored nor converted.
+         */
+        private static class SkipFieldValueState implements State {
+
+            @Override
+            public State transition(StateMachine sm, char[] buff, int i, int count) throws JsonParserException {
+                State state = this;
+                char ch;
+                for (; i < count; i++) {
+                    if (sm.scanner.isInString() && !sm.scanner.isEscaped()) {
+                        i = sm.skipPlainChars(buff, i, count);
+                        if (i == count) {
+                            break;
+                        }
+                    }
+                    ch = buff[i];
+                    if (ch == EOF) {
+                        throw sm.error(i, "unexpected end of JSON document");
+                    }
+
+                    if (sm.skippedScalarOffset >= 0) {
+                        // A non-string value ends with the first delimiter.
+                        if (!isSkippedScalarEnd(ch)) {
+                            sm.append(ch);
+                            continue;
+                        }
+                        sm.checkSkippedScalar(i);
+                        if (sm.scanner.getDepth() == 0) {
+                            if (StateMachine.isWhitespace(ch)) {
+                                state = sm.endSkip(FIELD_END_STATE);
+                            } else if (ch == ',') {
+                                state = sm.endSkip(NON_FIRST_FIELD_READY_STATE);
+                            } else if (ch == '}') {
+                                sm.resetScan();
+                                state = sm.finalizeNonArrayObjectAndRemoveExpectedType();
+                            } else {
+                                throw sm.expected(i, ",", "}");
+                            }
+                            break;
+                        }
+                    } else if (!sm.scanner.isInString() && ValueScanner.isScalarStart(ch)) {
+                        sm.skippedScalarOffset = sm.windowOffset + i;
+                        sm.append(ch);
+                        continue;
+                    } else if (!sm.scanner.isInString() && sm.scanner.getDepth() == 0 && (ch == ',' || ch == ':')) {
+                        throw sm.error(i, "unexpected '" + ch + "'");
+                    }
+
+                    if (sm.scan(ch, i)) {
+                        state = sm.endSkip(FIELD_END_STATE);
+                        break;
+                    }
+                }
+                sm.index = i + 1;
+                return state;
+            }
+        }
+
+        /**
+         * Represents the state during a map or an array value, which is expected to be of a union type, is read.
+         * The characters of the value are collected while more than one member type may hold it, and the value is
+         * converted to the first matching member type once it ends.
+         */
+        private static class UnionValueState implements State {
+
+            @Override
+            public State transition(StateMachine sm, char[] buff, int i, int count) throws JsonParserException {
+                State state = this;
+                char ch;
+                for (; i < count; i++) {
+                    if (sm.scanner.isInString() && !sm.scanner.isEscaped()) {
+                        int end = findStringSpecialChar(buff, i, count, QUOTES);
+                        sm.appendChars(buff, i, end);
+                        i = end;
+                        if (i == count) {
+                            break;
+                        }
+                    }
+                    ch = buff[i];
+                    if (ch == EOF) {
+                        throw sm.error(i, "unexpected end of JSON document");
+                    }
+                    sm.append(ch);
+
+                    if (sm.scanner.getDepth() == 1) {
+                        State memberState = sm.trackUnionValue(ch);
+                        if (memberState != null) {
+                            state = memberState;
+                            break;
+                        }
+                    }
+                    if (sm.scan(ch, i)) {
+                        state = sm.finalizeUnionValue();
+                        break;
+                    }
+                }
+                sm.index = i + 1;
+                return state;
+            }
+        }
+
         /**
          * Represents the state where an object field has ended.
          */
@@ -1065,16 +2537,20 @@ public class JsonParser {
                 char ch;
                 for (; i < count; i++) {
                     ch = buff[i];
-                    sm.processLocation(ch);
                     if (StateMachine.isWhitespace(ch)) {
                         state = this;
                         continue;
                     } else if (ch == ',') {
-                        state = NON_FIRST_FIELD_READY_STATE;
+                        if (sm.isRootRecordComplete()) {
+                            sm.completed = true;
+                            state = sm.finalizeNonArrayObjectAndRemoveExpectedType();
+                        } else {
+                            state = NON_FIRST_FIELD_READY_STATE;
+                        }
                     } else if (ch == '}') {
-                        state = sm.checkUnionAndFinalizeNonArrayObject();
+                        state = sm.finalizeNonArrayObjectAndRemoveExpectedType();
                     } else {
-                        StateMachine.throwExpected(",", "}");
+                        throw sm.expected(i, ",", "}");
                     }
                     break;
                 }
@@ -1095,7 +2571,6 @@ public class JsonParser {
                 char ch;
                 for (; i < count; i++) {
                     ch = buff[i];
-                    sm.processLocation(ch);
                     if (StateMachine.isWhitespace(ch)) {
                         state = this;
                         continue;
@@ -1103,9 +2578,9 @@ public class JsonParser {
                         sm.updateIndexOfArrayElement();
                         state = NON_FIRST_ARRAY_ELEMENT_READY_STATE;
                     } else if (ch == ']') {
-                        state = sm.checkUnionAndFinalizeArrayObject();
+                        state = sm.finalizeArrayObjectAndRemoveExpectedType();
                     } else {
-                        StateMachine.throwExpected(",", "]");
+                        throw sm.expected(i, ",", "]");
                     }
                     break;
                 }
@@ -1180,7 +2655,6 @@ public class JsonParser {
                 char ch;
                 for (; i < count; i++) {
                     ch = buff[i];
-                    sm.processLocation(ch);
                     if ((ch >= '0' && ch <= '9') || (ch >= 'A' && ch <= 'F') || (ch >= 'a' && ch <= 'f')) {
                         sm.hexBuilder.append(ch);
                         if (sm.hexBuilder.length() >= 4) {
@@ -1193,8 +2667,7 @@ public class JsonParser {
                         continue;
                     }
                     this.reset(sm);
-                    StateMachine.throwExpected("hexadecimal value of an unicode character");
-                    break;
+                    throw sm.expected(i, "hexadecimal value of an unicode character");
                 }
                 sm.index = i + 1;
                 return state;
@@ -1271,7 +2744,6 @@ public class JsonParser {
                 char ch;
                 if (i < count) {
                     ch = buff[i];
-                    sm.processLocation(ch);
                     switch (ch) {
                         case '"':
                             sm.append(QUOTES);
@@ -1315,12 +2787,12 @@ public class JsonParser {
                             } else if (this.getSourceState() == STRING_ARRAY_ELEMENT_STATE) {
                                 state = STRING_AE_PROCESSING_STATE;
                             } else {
-                                throw new JsonParserException("unknown source '" + this.getSourceState() +
+                                throw sm.error(i, "unknown source '" + this.getSourceState() +
                                         "' in escape char processing state");
                             }
                             break;
                         default:
-                            StateMachine.throwExpected("escaped characters");
+                            throw sm.expected(i, "escaped characters");
                     }
                 }
                 sm.index = i + 1;
@@ -0,0 +1,596 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.data.jsondata.json;
+
+import io.ballerina.lib.data.jsondata.utils.Constants;
+import io.ballerina.lib.data.jsondata.utils.DataUtils;
+import io.ballerina.lib.data.jsondata.utils.DiagnosticErrorCode;
+import io.ballerina.lib.data.jsondata.utils.DiagnosticLog;
+import io.ballerina.lib.data.jsonpath.BJsonPath;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.IntersectionType;
+import io.ballerina.runtime.api.types.PredefinedTypes;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.types.TypeTags;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTypedesc;
+
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.ballerina.lib.data.jsonpath.Utils.convertRawTemplateToString;
+
+/**
+ * Converts only the values at a JSON path of a document, without building the rest of the document.
+ * <p>
+ * Paths made of field names, array indexes and wildcards are selected while the document is read. The values
+ * leading to the selected ones are followed member by member, and the rest are skipped with the scanner of the parser,
+ * which checks their nesting, strings and non-string values. Each selected value is converted on its own by the
+ * parser. Other paths, such as the ones with
+ * filters or deep scans, are evaluated on the whole document converted to JSON.
+ *
+ * @since 1.1.2
+ */
+final class JsonPathSelector {
+
+    private static final Object WILDCARD = new Object();
+    private static final char EOF = (char) -1;
+    private static final String UNEXPECTED_END = "unexpected end of JSON document";
+
+    private final String path;
+    // Field names, array indexes as longs, and wildcards.
+    private final Object[] segments;
+    private final boolean isDefinite;
+
+    private JsonPathSelector(String path, Object[] segments) {
+        this.path = path;
+        this.segments = segments;
+        boolean isDefinite = true;
+        for (Object segment : segments) {
+            isDefinite &= segment != WILDCARD;
+        }
+        this.isDefinite = isDefinite;
+    }
+
+    /**
+     * Converts the values at the path of the document, which is read from the reader or given as a string.
+     * <p>
+     * A path without wildcards selects a single value, which is converted to the given type. Otherwise, the selected
+     * values are converted to the members of the given list type, in the order of the document.
+     *
+     * @param query   raw template of the JSON path
+     * @param reader  reader which contains the JSON content, if the content is not given as a string
+     * @param json    JSON content, if it is not read from a reader
+     * @param options represent the options that can be used to modify the behaviour of conversion
+     * @param typed   type descriptor of expected type
+     * @return the converted value or an error
+     * @throws BError for any parsing error
+     */
+    static Object select(BObject query, Reader reader, String json, BMap<BString, Object> options, BTypedesc typed)
+            throws BError {
+        String path = convertRawTemplateToString(query);
+        Object[] segments = parsePath(path);
+        if (segments == null) {
+            Object document = json == null ? JsonParser.parse(reader, options, PredefinedTypes.TYPE_JSON)
+                    : JsonParser.parse(json, options, PredefinedTypes.TYPE_JSON);
+            Object value = BJsonPath.readJson(document, query);
+            if (value instanceof BError) {
+                return value;
+            }
+            return Native.parseAsType(value, options, typed);
+        }
+        return new JsonPathSelector(path, segments).select(reader, json, options, typed);
+    }
+
+    private Object select(Reader reader, String json, BMap<BString, Object> options, BTypedesc typed) {
+        Type type = typed.getDescribingType();
+        Type listType = TypeUtils.getReferredType(type);
+        boolean isReadOnly = false;
+        Type memberType = type;
+        if (!isDefinite) {
+            while (listType.getTag() == TypeTags.INTERSECTION_TAG) {
+                listType = JsonParser.StateMachine.getMutableRootType((IntersectionType) listType);
+                isReadOnly = true;
+            }
+            memberType = switch (listType.getTag()) {
+                case TypeTags.ARRAY_TAG -> ((ArrayType) listType).getElementType();
+                case TypeTags.JSON_TAG, TypeTags.ANYDATA_TAG -> listType;
+                default -> throw DiagnosticLog.error(DiagnosticErrorCode.INVALID_TYPE, type, "list type");
+            };
+        }
+
+        Selection selection = new Selection(reader, json, options, memberType);
+        List<Object> values = selection.run();
+        Object value;
+        if (isDefinite) {
+            if (values.isEmpty()) {
+                throw DiagnosticLog.error(DiagnosticErrorCode.VALUE_NOT_FOUND, path);
+            }
+            value = values.get(0);
+        } else {
+            BArray array = ValueCreator.createArrayValue(switch (listType.getTag()) {
+                case TypeTags.ARRAY_TAG -> (ArrayType) listType;
+                case TypeTags.JSON_TAG -> PredefinedTypes.TYPE_JSON_ARRAY;
+                default -> PredefinedTypes.TYPE_ANYDATA_ARRAY;
+            });
+            for (int i = 0; i < values.size(); i++) {
+                array.add(i, values.get(i));
+            }
+            value = isReadOnly ? JsonCreator.constructReadOnlyValue(array) : array;
+        }
+        return DataUtils.validateConstraints(value, typed,
+                (Boolean) options.get(Constants.ENABLE_CONSTRAINT_VALIDATION));
+    }
+
+    /**
+     * Returns the segments of the given path, or null if the path has more than field names, array indexes and
+     * wildcards.
+     */
+    private static Object[] parsePath(String path) {
+        if (path.isEmpty() || path.charAt(0) != '$') {
+            return null;
+        }
+        List<Object> segments = new ArrayList<>();
+        int length = path.length();
+        int i = 1;
+        while (i < length) {
+            char ch = path.charAt(i);
+            if (ch == '.') {
+                int start = i + 1;
+                if (start < length && path.charAt(start) == '*') {
+                    segments.add(WILDCARD);
+                    i = start + 1;
+                    continue;
+                }
+                int end = start;
+                while (end < length && path.charAt(end) != '.' && path.charAt(end) != '[') {
+                    end++;
+                }
+                if (end == start) {
+                    // A deep scan.
+                    return null;
+                }
+                segments.add(path.substring(start, end));
+                i = end;
+            } else if (ch == '[') {
+                int close = path.indexOf(']', i);
+                if (close < 0) {
+                    return null;
+                }
+                Object segment = parseBracketSegment(path.substring(i + 1, close));
+                if (segment == null) {
+                    return null;
+                }
+                segments.add(segment);
+                i = close + 1;
+            } else {
+                return null;
+            }
+        }
+        return segments.toArray();
+    }
+
+    private static Object parseBracketSegment(String segment) {
+        if (segment.equals("*")) {
+            return WILDCARD;
+        }
+        int length = segment.length();
+        if (length >= 2 && (segment.charAt(0) == '\'' || segment.charAt(0) == '"')
+                && segment.charAt(length - 1) == segment.charAt(0)) {
+            String name = segment.substring(1, length - 1);
+            // Escaped, quoted and multiple names are left to the JSON path evaluation.
+            if (name.indexOf('\\') >= 0 || name.indexOf('\'') >= 0 || name.indexOf('"') >= 0) {
+                return null;
+            }
+            return name;
+        }
+        if (length == 0 || length > 18) {
+            return null;
+        }
+        for (int i = 0; i < length; i++) {
+            char ch = segment.charAt(i);
+            if (ch < '0' || ch > '9') {
+                // Slices, unions, negative indexes and filters.
+                return null;
+            }
+        }
+        return Long.parseLong(segment);
+    }
+
+    /**
+     * Reads a document once, and converts the values at the path as they are read.
+     */
+    private final class Selection {
+
+        private final Reader reader;
+        private final String json;
+        private final BMap<BString, Object> options;
+        private final Type memberType;
+        private final ResourceLimits limits;
+        private final boolean stopWhenComplete;
+        private final char[] buff = new char[8192];
+        private int count;
+        private int pos;
+        private int jsonOffset;
+        private long size;
+        private boolean eof;
+        private int line = 1;
+        private int column;
+        private int depth;
+        private char[] valueBuff = new char[1024];
+        private int valueLength;
+        private char[] scalarBuff = new char[64];
+        private int scalarLength;
+        private final ValueScanner scanner = new ValueScanner();
+        private final StringBuilder fieldName = new StringBuilder();
+        private final List<Object> values = new ArrayList<>();
+        private boolean completed;
+
+        Selection(Reader reader, String json, BMap<BString, Object> options, Type memberType) {
+            this.reader = reader;
+            this.json = json;
+            this.options = options;
+            this.memberType = memberType;
+            this.limits = ResourceLimits.from(options);
+            this.stopWhenComplete = isDefinite && Boolean.TRUE.equals(options.get(Constants.STOP_WHEN_COMPLETE));
+        }
+
+        List<Object> run() {
+            try {
+                skipWhitespace();
+                if (peek() == EOF) {
+                    next();
+                    throw error("empty JSON document");
+                }
+                selectValue(0);
+                if (completed) {
+                    // The rest of the document is neither read nor checked.
+                    return values;
+                }
+                skipWhitespace();
+                if (next() != EOF) {
+                    throw error("JSON document has already ended");
+                }
+                return values;
+            } catch (IOException e) {
+                throw DiagnosticLog.error(DiagnosticErrorCode.JSON_READER_FAILURE, e.getMessage());
+            } finally {
+                if (reader != null) {
+                    try {
+                        reader.close();
+                    } catch (IOException e) {
+                        // The content has been read, or is not needed anymore.
+                    }
+                }
+            }
+        }
+
+        /**
+         * Selects the values at the rest of the path, from the segment at the given index, within the value which
+         * starts with the next character.
+         */
+        private void selectValue(int segment) throws IOException {
+            if (segment == segments.length) {
+                convertValue();
+                return;
+            }
+            char ch = peek();
+            Object pathSegment = segments[segment];
+            if (ch == '{' && !(pathSegment instanceof Long)) {
+                selectFields(segment);
+            } else if (ch == '[' && !(pathSegment instanceof String)) {
+                selectMembers(segment);
+            } else {
+                scanValue(false);
+            }
+        }
+
+        private void selectFields(int segment) throws IOException {
+            next();
+            limits.checkDepth(++depth);
+            Object pathSegment = segments[segment];
+            skipWhitespace();
+            if (peek() == '}') {
+                next();
+                depth--;
+                return;
+            }
+            while (true) {
+                char ch = next();
+                if (ch != '"') {
+                    throw error(ch == EOF ? UNEXPECTED_END : "expected '\"'");
+                }
+                boolean isSelected = readFieldName(pathSegment);
+                skipWhitespace();
+                ch = next();
+                if (ch != ':') {
+                    throw error(ch == EOF ? UNEXPECTED_END : "expected ':'");
+                }
+                skipValueWhitespace();
+                if (isSelected) {
+                    selectValue(segment + 1);
+                    if (completed) {
+                        return;
+                    }
+                } else {
+                    scanValue(false);
+                }
+                skipWhitespace();
+                ch = next();
+                if (ch == '}') {
+                    depth--;
+                    return;
+                }
+                if (ch != ',') {
+                    throw error(ch == EOF ? UNEXPECTED_END : "expected ',' or '}'");
+                }
+                skipWhitespace();
+            }
+        }
+
+        private void selectMembers(int segment) throws IOException {
+            next();
+            limits.checkDepth(++depth);
+            Object pathSegment = segments[segment];
+            skipWhitespace();
+            if (peek() == ']') {
+                next();
+                depth--;
+                return;
+            }
+            long index = 0;
+            while (true) {
+                skipValueWhitespace();
+                if (pathSegment == WILDCARD || (Long) pathSegment == index) {
+                    selectValue(segment + 1);
+                    if (completed) {
+                        return;
+                    }
+                } else {
+                    scanValue(false);
+                }
+                index++;
+                skipWhitespace();
+                char ch = next();
+                if (ch == ']') {
+                    depth--;
+                    return;
+                }
+                if (ch != ',') {
+                    throw error(ch == EOF ? UNEXPECTED_END : "expected ',' or ']'");
+                }
+            }
+        }
+
+        /**
+         * Reads the field name after its opening quote and returns whether it is selected by the path segment.
+         */
+        private boolean readFieldName(Object pathSegment) throws IOException {
+            fieldName.setLength(0);
+            boolean hasEscape = false;
+            char ch;
+            while ((ch = next()) != '"') {
+                if (ch == EOF) {
+                    throw error(UNEXPECTED_END);
+                }
+                fieldName.append(ch);
+                if (ch == '\\') {
+                    hasEscape = true;
+                    ch = next();
+                    if (ch == EOF) {
+                        throw error(UNEXPECTED_END);
+                    }
+                    fieldName.append(ch);
+                }
+            }
+            if (pathSegment == WILDCARD) {
+                return true;
+            }
+            if (!hasEscape) {
+                return pathSegment.equals(fieldName.toString());
+            }
+            String quoted = "\"" + fieldName + "\"";
+            return pathSegment.equals(((BString) JsonParser.parse(quoted, ValueCreator.createMapValue(),
+                    PredefinedTypes.TYPE_STRING)).getValue());
+        }
+
+        /**
+         * Collects the value which starts with the next character, and converts it to the member type by parsing it
+         * from where it starts in the document.
+         */
+        private void convertValue() throws IOException {
+            int valueLine = line;
+            int valueColumn = column;
+            valueLength = 0;
+            scanValue(true);
+            Object value = JsonParser.parse(new CharArrayReader(valueBuff, 0, valueLength), options, memberType,
+                    valueLine, valueColumn);
+            if (value instanceof BError error) {
+                throw error;
+            }
+            values.add(value);
+            limits.checkElementCount(values.size());
+            completed = stopWhenComplete;
+        }
+
+        /**
+         * Reads the value which starts with the next character, checking its nesting, strings and non-string values,
+         * and collects its characters if requested.
+         */
+        private void scanValue(boolean collect) throws IOException {
+            char ch = next();
+            if (ch == EOF) {
+                throw error(UNEXPECTED_END);
+            }
+            if (ch != '"' && ch != '{' && ch != '[') {
+                scanScalar(ch, collect);
+                return;
+            }
+
+            scanner.reset();
+            while (true) {
+                if (!scanner.isInString() && ValueScanner.isScalarStart(ch)) {
+                    scanScalar(ch, collect);
+                } else {
+                    if (collect) {
+                        collect(ch);
+                    }
+                    int result = scanner.scan(ch);
+                    if (result == ValueScanner.ENDED) {
+                        return;
+                    }
+                    if (result == ValueScanner.OPENED) {
+                        limits.checkDepth(depth + scanner.getDepth());
+                    } else if (result == ValueScanner.MISMATCHED_BRACKET) {
+                        throw error("expected '" + scanner.getExpectedBracket() + "'");
+                    }
+                }
+                ch = next();
+                if (ch == EOF) {
+                    throw error(UNEXPECTED_END);
+                }
+            }
+        }
+
+        /**
+         * Reads the rest of a number or a literal, which ends with the first delimiter, and validates it.
+         */
+        private void scanScalar(char ch, boolean collect) throws IOException {
+            if (ch == '}' || ch == ']' || ch == ',' || ch == ':') {
+                throw error("unexpected '" + ch + "'");
+            }
+            int tokenLine = line;
+            int tokenColumn = column;
+            scalarLength = 0;
+            appendScalar(ch);
+            while (!isDelimiter(peek())) {
+                appendScalar(next());
+            }
+            if (!ValueScanner.isScalar(scalarBuff, 0, scalarLength)) {
+                throw DiagnosticLog.error(DiagnosticErrorCode.JSON_PARSER_EXCEPTION,
+                        "unrecognized token '" + new String(scalarBuff, 0, scalarLength) + "'", tokenLine, tokenColumn);
+            }
+            if (collect) {
+                for (int i = 0; i < scalarLength; i++) {
+                    collect(scalarBuff[i]);
+                }
+            }
+        }
+
+        private void appendScalar(char ch) {
+            if (scalarLength == scalarBuff.length) {
+                char[] newBuff = new char[scalarLength * 2];
+                System.arraycopy(scalarBuff, 0, newBuff, 0, scalarLength);
+                scalarBuff = newBuff;
+            }
+            scalarBuff[scalarLength++] = ch;
+        }
+
+        private void collect(char ch) {
+            if (valueLength == valueBuff.length) {
+                char[] newBuff = new char[valueLength * 2];
+                System.arraycopy(valueBuff, 0, newBuff, 0, valueLength);
+                valueBuff = newBuff;
+            }
+            valueBuff[valueLength++] = ch;
+        }
+
+        private boolean isDelimiter(char ch) {
+            return ch == ',' || ch == '}' || ch == ']' || ch == EOF || JsonParser.StateMachine.isWhitespace(ch);
+        }
+
+        private void skipWhitespace() throws IOException {
+            while (JsonParser.StateMachine.isWhitespace(peek())) {
+                next();
+            }
+        }
+
+        /**
+         * Skips the whitespace before a value, which must follow.
+         */
+        private void skipValueWhitespace() throws IOException {
+            skipWhitespace();
+            if (peek() == EOF) {
+                next();
+                throw error(UNEXPECTED_END);
+            }
+        }
+
+        private char peek() throws IOException {
+            if (pos == count && !fill()) {
+                return EOF;
+            }
+            return buff[pos];
+        }
+
+        /**
+         * Reads the next character and advances the location over it. The end of the document is counted as a
+         * character, in the same way as the parser does.
+         */
+        private char next() throws IOException {
+            if (pos == count && !fill()) {
+                column++;
+                return EOF;
+            }
+            char ch = buff[pos++];
+            if (ch == '\n') {
+                line++;
+                column = 0;
+            } else {
+                column++;
+            }
+            return ch;
+        }
+
+        private boolean fill() throws IOException {
+            if (eof) {
+                return false;
+            }
+            if (json == null) {
+                count = reader.read(buff);
+            } else {
+                count = Math.min(json.length() - jsonOffset, buff.length);
+                json.getChars(jsonOffset, jsonOffset + count, buff, 0);
+                jsonOffset += count;
+            }
+            pos = 0;
+            if (count <= 0) {
+                count = 0;
+                eof = true;
+                return false;
+            }
+            size += count;
+            limits.checkDocumentSize(size);
+            return true;
+        }
+
+        private BError error(String message) {
+            return DiagnosticLog.error(DiagnosticErrorCode.JSON_PARSER_EXCEPTION, message, line, column);
+        }
+    }
+}
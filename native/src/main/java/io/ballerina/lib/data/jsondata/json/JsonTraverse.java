@@ -34,7 +34,6 @@ import io.ballerina.runtime.api.types.RecordType;
 import io.ballerina.runtime.api.types.TupleType;
 import io.ballerina.runtime.api.types.Type;
 import io.ballerina.runtime.api.types.TypeTags;
-import io.ballerina.runtime.api.types.UnionType;
 import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.api.utils.TypeUtils;
 import io.ballerina.runtime.api.utils.ValueUtils;
@@ -46,9 +45,7 @@ import io.ballerina.runtime.api.values.BTypedesc;
 
 import java.util.ArrayDeque;
 import java.util.Deque;
-import java.util.HashMap;
 import java.util.Iterator;
-import java.util.Map;
 import java.util.Stack;
 
 import static io.ballerina.lib.data.jsondata.utils.Constants.ENABLE_CONSTRAINT_VALIDATION;
@@ -60,10 +57,19 @@ import static io.ballerina.lib.data.jsondata.utils.Constants.ENABLE_CONSTRAINT_V
  */
 public class JsonTraverse {
 
-    private static final ThreadLocal<JsonTree> tlJsonTree = ThreadLocal.withInitial(JsonTree::new);
+    private static final ParserPool<JsonTree> JSON_TREE_POOL = new ParserPool<>(JsonTree::new, JsonTree::reset);
+
+    /**
+     * Returns the pool of the traversers, to observe its size and occupancy.
+     *
+     * @return the pool of traversers
+     */
+    public static ParserPool<?> getJsonTreePool() {
+        return JSON_TREE_POOL;
+    }
 
     public static Object traverse(Object json, BMap<BString, Object> options, Type type) {
-        JsonTree jsonTree = tlJsonTree.get();
+        JsonTree jsonTree = JSON_TREE_POOL.acquire();
         try {
             Object allowDataProjection = options.get(Constants.ALLOW_DATA_PROJECTION);
             if (allowDataProjection instanceof Boolean) {
@@ -75,9 +81,10 @@ public class JsonTraverse {
                 jsonTree.nilAsOptionalField =
                         (Boolean) ((BMap<?, ?>) allowDataProjection).get(Constants.NIL_AS_OPTIONAL_FIELD);
             }
+            jsonTree.limits = ResourceLimits.from(options);
             return jsonTree.traverseJson(json, type);
         } finally {
-            jsonTree.reset();
+            JSON_TREE_POOL.release(jsonTree);
         }
     }
 
@@ -92,23 +99,25 @@ public class JsonTraverse {
 
     private static class JsonTree {
         Field currentField;
-        Stack<Map<String, Field>> fieldHierarchy = new Stack<>();
-        Stack<Type> restType = new Stack<>();
+        Stack<PendingFields> fieldHierarchy = new Stack<>();
         Deque<String> fieldNames = new ArrayDeque<>();
         Type rootArray;
         boolean allowDataProjection = false;
         boolean nilAsOptionalField = false;
         boolean absentAsNilableType = false;
+        ResourceLimits limits = ResourceLimits.UNLIMITED;
+        int depth;
 
         void reset() {
             currentField = null;
             fieldHierarchy.clear();
-            restType.clear();
             fieldNames.clear();
             rootArray = null;
             allowDataProjection = false;
             nilAsOptionalField = false;
             absentAsNilableType = false;
+            limits = ResourceLimits.UNLIMITED;
+            depth = 0;
         }
 
         private Object traverseJson(Object json, Type type) {
@@ -119,8 +128,7 @@ public class JsonTraverse {
                         throw DiagnosticLog.error(DiagnosticErrorCode.INCOMPATIBLE_TYPE, type, json);
                     }
                     RecordType recordType = (RecordType) referredType;
-                    fieldHierarchy.push(JsonCreator.getAllFieldsInRecord(recordType));
-                    restType.push(recordType.getRestFieldType());
+                    fieldHierarchy.push(new PendingFields(ParsePlan.forRecord(recordType)));
                     if (recordType.isReadOnly()) {
                         Object value = traverseMapJsonOrArrayJson(json,
                                         ValueCreator.createMapValue(TypeCreator
@@ -158,7 +166,16 @@ public class JsonTraverse {
                     return convertToBasicType(json, referredType);
                 }
                 case TypeTags.UNION_TAG -> {
-                    for (Type memberType : ((UnionType) referredType).getMemberTypes()) {
+                    ParsePlan.Union plan = ParsePlan.forUnion(type);
+                    Type discriminatedType = getDiscriminatedType(json, plan);
+                    if (discriminatedType != null) {
+                        try {
+                            return traverseJson(json, discriminatedType);
+                        } catch (Exception e) {
+                            throw DiagnosticLog.error(DiagnosticErrorCode.INCOMPATIBLE_TYPE, type, json);
+                        }
+                    }
+                    for (Type memberType : plan.memberTypes) {
                         try {
                             return traverseJson(json, memberType);
                         } catch (Exception e) {
@@ -172,8 +189,7 @@ public class JsonTraverse {
                 }
                 case TypeTags.MAP_TAG -> {
                     MapType mapType = (MapType) referredType;
-                    fieldHierarchy.push(new HashMap<>());
-                    restType.push(mapType.getConstrainedType());
+                    fieldHierarchy.push(new PendingFields(ParsePlan.forRestType(mapType.getConstrainedType())));
                     return traverseMapJsonOrArrayJson(json, ValueCreator.createMapValue(mapType), referredType);
                 }
                 case TypeTags.INTERSECTION_TAG -> {
@@ -194,16 +210,40 @@ public class JsonTraverse {
             }
         }
 
+        private Type getDiscriminatedType(Object json, ParsePlan.Union plan) {
+            if (plan.discriminatorField == null || !(json instanceof BMap<?, ?> bMap)) {
+                return null;
+            }
+            Object discriminatorValue = bMap.get(StringUtils.fromString(plan.discriminatorField));
+            if (!(discriminatorValue instanceof BString bString)) {
+                return null;
+            }
+            return plan.getDiscriminatedType(bString.getValue());
+        }
+
         private Object traverseMapJsonOrArrayJson(Object json, Object currentJsonNode, Type type) {
             if (json instanceof BMap bMap) {
-                return traverseMapValue(bMap, currentJsonNode);
+                limits.checkElementCount(bMap.size());
+                limits.checkDepth(depth + 1);
+                depth++;
+                try {
+                    return traverseMapValue(bMap, currentJsonNode);
+                } finally {
+                    depth--;
+                }
             } else if (json instanceof BArray bArray) {
-                return traverseArrayValue(bArray, currentJsonNode);
+                limits.checkElementCount(bArray.getLength());
+                limits.checkDepth(depth + 1);
+                depth++;
+                try {
+                    return traverseArrayValue(bArray, currentJsonNode);
+                } finally {
+                    depth--;
+                }
             } else {
                 // JSON value not compatible with map or array.
                 if (type.getTag() == TypeTags.RECORD_TYPE_TAG) {
                     this.fieldHierarchy.pop();
-                    this.restType.pop();
                 }
 
                 if (fieldNames.isEmpty()) {
@@ -214,12 +254,13 @@ public class JsonTraverse {
         }
 
         private Object traverseMapValue(BMap<BString, Object> map, Object currentJsonNode) {
+            PendingFields pendingFields = fieldHierarchy.peek();
             for (BString key : map.getKeys()) {
-                currentField = fieldHierarchy.peek().remove(key.toString());
+                currentField = pendingFields.visit(key.toString());
                 if (currentField == null) {
                     // Add to the rest field
-                    if (restType.peek() != null) {
-                        Type restFieldType = TypeUtils.getReferredType(restType.peek());
+                    if (pendingFields.restType() != null) {
+                        Type restFieldType = TypeUtils.getReferredType(pendingFields.restType());
                         addRestField(restFieldType, key, map.get(key), currentJsonNode);
                         continue;
                     }
@@ -251,9 +292,7 @@ public class JsonTraverse {
                                 traverseJson(mapValue, currentFieldType));
                 }
             }
-            Map<String, Field> currentField = fieldHierarchy.pop();
-            checkOptionalFieldsAndLogError(currentField);
-            restType.pop();
+            fieldHierarchy.pop().checkRequiredFields(absentAsNilableType);
             return currentJsonNode;
         }
 
@@ -276,14 +315,14 @@ public class JsonTraverse {
                     }
                 }
                 case TypeTags.TUPLE_TAG -> {
-                    TupleType tupleType = (TupleType) rootArray;
-                    Type restType = tupleType.getRestType();
-                    int expectedTupleTypeCount = tupleType.getTupleTypes().size();
+                    ParsePlan.Tuple tuplePlan = ParsePlan.forTuple((TupleType) rootArray);
+                    Type restType = tuplePlan.restType;
+                    int expectedTupleTypeCount = tuplePlan.memberTypes.length;
                     for (int i = 0; i < array.getLength(); i++) {
                         Object jsonMember = array.get(i);
                         Object nextJsonNode;
                         if (i < expectedTupleTypeCount) {
-                            nextJsonNode = traverseJson(jsonMember, tupleType.getTupleTypes().get(i));
+                            nextJsonNode = traverseJson(jsonMember, tuplePlan.memberTypes[i]);
                         } else if (restType != null) {
                             nextJsonNode = traverseJson(jsonMember, restType);
                         } else if (!allowDataProjection) {
@@ -320,17 +359,6 @@ public class JsonTraverse {
             }
         }
 
-        private void checkOptionalFieldsAndLogError(Map<String, Field> currentField) {
-            currentField.values().forEach(field -> {
-                if (field.getFieldType().isNilable() && absentAsNilableType) {
-                    return;
-                }
-                if (SymbolFlags.isFlagOn(field.getFlags(), SymbolFlags.REQUIRED)) {
-                    throw DiagnosticLog.error(DiagnosticErrorCode.REQUIRED_FIELD_NOT_PRESENT, field.getFieldName());
-                }
-            });
-        }
-
         private Object convertToBasicType(Object json, Type targetType) {
             try {
                 return ValueUtils.convert(json, targetType);
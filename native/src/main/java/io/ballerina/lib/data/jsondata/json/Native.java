@@ -18,7 +18,10 @@
 
 package io.ballerina.lib.data.jsondata.json;
 
-import io.ballerina.lib.data.jsondata.io.BallerinaByteBlockInputStream;
+import io.ballerina.lib.data.ModuleUtils;
+import io.ballerina.lib.data.jsondata.io.BallerinaByteBlockSource;
+import io.ballerina.lib.data.jsondata.io.MappedFileChunkSource;
+import io.ballerina.lib.data.jsondata.io.Utf8Reader;
 import io.ballerina.lib.data.jsondata.utils.Constants;
 import io.ballerina.lib.data.jsondata.utils.DiagnosticErrorCode;
 import io.ballerina.lib.data.jsondata.utils.DiagnosticLog;
@@ -27,6 +30,7 @@ import io.ballerina.runtime.api.creators.TypeCreator;
 import io.ballerina.runtime.api.creators.ValueCreator;
 import io.ballerina.runtime.api.types.PredefinedTypes;
 import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.Type;
 import io.ballerina.runtime.api.utils.JsonUtils;
 import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.api.utils.TypeUtils;
@@ -39,12 +43,14 @@ import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BTable;
 import io.ballerina.runtime.api.values.BTypedesc;
 
-import java.io.ByteArrayInputStream;
-import java.io.InputStreamReader;
-import java.io.StringReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import static io.ballerina.lib.data.jsondata.json.JsonCreator.getModifiedName;
 import static io.ballerina.lib.data.jsondata.utils.DataUtils.unescapeIdentifier;
@@ -58,6 +64,20 @@ import static io.ballerina.lib.data.jsondata.utils.DataReader.resolveNextMethod;
  */
 public class Native {
 
+    private static final String ARRAY_ELEMENT_STREAM = "ArrayElementStream";
+    private static final String ARRAY_ELEMENT = "ArrayElement";
+    private static final String ARRAY_ELEMENT_ITERATOR = "arrayElementIterator";
+    private static final String DOCUMENT_BATCH_STREAM = "DocumentBatchStream";
+    private static final String DOCUMENT_BATCH = "DocumentBatch";
+    private static final String DOCUMENT_BATCH_ITERATOR = "documentBatchIterator";
+    private static final String DOCUMENT = "Document";
+    private static final String JSON_DOCUMENT = "jsonDocument";
+    private static final String PARSER = "Parser";
+    private static final String INCREMENTAL_PARSER = "incrementalParser";
+    private static final String DONE = "Done";
+    private static final BString NEED_MORE = StringUtils.fromString("NEED_MORE");
+    private static final int STREAM_PREFETCH_DEPTH = 2;
+
     public static Object parseAsType(Object json, BMap<BString, Object> options, BTypedesc typed) {
         try {
             return JsonTraverse.traverse(json, options, typed);
@@ -66,18 +86,35 @@ public class Native {
         }
     }
 
-    public static Object parseString(BString json, BMap<BString, Object> options, BTypedesc typed) {
+    public static Object parseString(Environment env, BString json, BMap<BString, Object> options,
+                                     BTypedesc typed) {
         try {
-            return JsonParser.parse(new StringReader(json.getValue()), options, typed);
+            String value = json.getValue();
+            if (ParallelArrayParser.isApplicable(value.length(), typed.getDescribingType())) {
+                // The strand yields while the slices are parsed by the parser thread pool.
+                return env.yieldAndRun(() -> parseInParallel(() -> ParallelArrayParser.parse(value, options, typed)));
+            }
+            return JsonParser.parse(value, options, typed);
         } catch (BError e) {
             return e;
         }
     }
 
-    public static Object parseBytes(BArray json, BMap<BString, Object> options, BTypedesc typed) {
+    public static Object parseBytes(Environment env, BArray json, BMap<BString, Object> options, BTypedesc typed) {
         try {
             byte[] bytes = json.getBytes();
-            return JsonParser.parse(new InputStreamReader(new ByteArrayInputStream(bytes)), options, typed);
+            if (ParallelArrayParser.isApplicable(bytes.length, typed.getDescribingType())) {
+                return env.yieldAndRun(() -> parseInParallel(() -> ParallelArrayParser.parse(bytes, options, typed)));
+            }
+            return JsonParser.parse(new Utf8Reader(bytes), options, typed);
+        } catch (BError e) {
+            return e;
+        }
+    }
+
+    private static Object parseInParallel(Supplier<Object> parser) {
+        try {
+            return parser.get();
         } catch (BError e) {
             return e;
         }
@@ -86,16 +123,243 @@ public class Native {
     public static Object parseStream(Environment env, BStream json, BMap<BString, Object> options, BTypedesc typed) {
         final BObject iteratorObj = json.getIteratorObj();
         return env.yieldAndRun(() -> {
-            BallerinaByteBlockInputStream byteBlockSteam = new BallerinaByteBlockInputStream(env, iteratorObj,
-                    resolveNextMethod(iteratorObj), resolveCloseMethod(iteratorObj));
-            Object result = JsonParser.parse(new InputStreamReader(byteBlockSteam), options, typed);
-            if (byteBlockSteam.getError() != null) {
-                return byteBlockSteam.getError();
+            BallerinaByteBlockSource blockSource = new BallerinaByteBlockSource(env, iteratorObj,
+                    resolveNextMethod(iteratorObj), resolveCloseMethod(iteratorObj), STREAM_PREFETCH_DEPTH);
+            try {
+                Object result = JsonParser.parse(new Utf8Reader(blockSource), options, typed);
+                if (blockSource.getError() != null) {
+                    return blockSource.getError();
+                }
+                return result;
+            } finally {
+                blockSource.stopPrefetch();
+            }
+        });
+    }
+
+    public static Object parseFile(Environment env, BString path, BMap<BString, Object> options, BTypedesc typed) {
+        return env.yieldAndRun(() -> {
+            try (Reader reader = new Utf8Reader(new MappedFileChunkSource(Path.of(path.getValue())))) {
+                return JsonParser.parse(reader, options, typed);
+            } catch (IOException | InvalidPathException e) {
+                return DiagnosticLog.error(DiagnosticErrorCode.CANNOT_READ_FILE, path, e.getMessage());
+            } catch (BError e) {
+                return e;
+            }
+        });
+    }
+
+    public static Object parseAsStream(Environment env, BStream json, BMap<BString, Object> options,
+                                       BTypedesc typed) {
+        final BObject iteratorObj = json.getIteratorObj();
+        BallerinaByteBlockSource blockSource = new BallerinaByteBlockSource(env, iteratorObj,
+                resolveNextMethod(iteratorObj), resolveCloseMethod(iteratorObj), 0);
+        ArrayElementIterator elementIterator = new ArrayElementIterator(new Utf8Reader(blockSource),
+                blockSource, options, typed);
+        BObject streamIterator = ValueCreator.createObjectValue(ModuleUtils.getModule(), ARRAY_ELEMENT_STREAM);
+        streamIterator.addNativeData(ARRAY_ELEMENT_ITERATOR, elementIterator);
+        return ValueCreator.createStreamValue(TypeCreator.createStreamType(typed.getDescribingType(),
+                getErrorCompletionType()), streamIterator);
+    }
+
+    public static Object nextArrayElement(Environment env, BObject streamIterator) {
+        ArrayElementIterator elementIterator =
+                (ArrayElementIterator) streamIterator.getNativeData(ARRAY_ELEMENT_ITERATOR);
+        return env.yieldAndRun(() -> {
+            Object member = elementIterator.next();
+            if (member == ArrayElementIterator.END) {
+                return null;
+            }
+            if (member instanceof BError) {
+                return member;
+            }
+            BMap<BString, Object> arrayElement =
+                    ValueCreator.createRecordValue(ModuleUtils.getModule(), ARRAY_ELEMENT);
+            arrayElement.put(Constants.VALUE, member);
+            return arrayElement;
+        });
+    }
+
+    public static Object closeArrayElementStream(Environment env, BObject streamIterator) {
+        ArrayElementIterator elementIterator =
+                (ArrayElementIterator) streamIterator.getNativeData(ARRAY_ELEMENT_ITERATOR);
+        return env.yieldAndRun(() -> {
+            elementIterator.close();
+            return null;
+        });
+    }
+
+    public static Object parseLines(Object json, BMap<BString, Object> options, BTypedesc typed) {
+        try {
+            JsonParser.DocumentSequence documents = json instanceof BString jsonString
+                    ? new JsonParser.DocumentSequence(jsonString.getValue(), options, typed)
+                    : new JsonParser.DocumentSequence(new Utf8Reader(((BArray) json).getBytes()), options, typed);
+            return new DocumentBatchIterator(documents, null, options, typed).readAll();
+        } catch (BError e) {
+            return e;
+        }
+    }
+
+    public static Object parseLinesAsStream(Environment env, BStream json, BMap<BString, Object> options,
+                                            BTypedesc typed) {
+        long batchSize = options.getIntValue(Constants.BATCH_SIZE);
+        if (batchSize < 1) {
+            return DiagnosticLog.error(DiagnosticErrorCode.INVALID_BATCH_SIZE, batchSize);
+        }
+        final BObject iteratorObj = json.getIteratorObj();
+        BallerinaByteBlockSource blockSource = new BallerinaByteBlockSource(env, iteratorObj,
+                resolveNextMethod(iteratorObj), resolveCloseMethod(iteratorObj), 0);
+        DocumentBatchIterator batchIterator = new DocumentBatchIterator(
+                new JsonParser.DocumentSequence(new Utf8Reader(blockSource), options, typed), blockSource, options,
+                typed);
+        BObject streamIterator = ValueCreator.createObjectValue(ModuleUtils.getModule(), DOCUMENT_BATCH_STREAM);
+        streamIterator.addNativeData(DOCUMENT_BATCH_ITERATOR, batchIterator);
+        streamIterator.addNativeData(Constants.BATCH_SIZE.getValue(), batchSize);
+        return ValueCreator.createStreamValue(TypeCreator.createStreamType(batchIterator.getBatchType(),
+                getErrorCompletionType()), streamIterator);
+    }
+
+    public static Object nextDocumentBatch(Environment env, BObject streamIterator) {
+        DocumentBatchIterator batchIterator =
+                (DocumentBatchIterator) streamIterator.getNativeData(DOCUMENT_BATCH_ITERATOR);
+        long batchSize = (Long) streamIterator.getNativeData(Constants.BATCH_SIZE.getValue());
+        return env.yieldAndRun(() -> {
+            Object batch = batchIterator.next(batchSize);
+            if (batch == null || batch instanceof BError) {
+                return batch;
+            }
+            BMap<BString, Object> documentBatch =
+                    ValueCreator.createRecordValue(ModuleUtils.getModule(), DOCUMENT_BATCH);
+            documentBatch.put(Constants.VALUE, batch);
+            return documentBatch;
+        });
+    }
+
+    public static Object closeDocumentBatchStream(Environment env, BObject streamIterator) {
+        DocumentBatchIterator batchIterator =
+                (DocumentBatchIterator) streamIterator.getNativeData(DOCUMENT_BATCH_ITERATOR);
+        return env.yieldAndRun(() -> {
+            batchIterator.close();
+            return null;
+        });
+    }
+
+    public static Object parseStringAtPath(BString json, BObject path, BMap<BString, Object> options,
+                                           BTypedesc typed) {
+        try {
+            return JsonPathSelector.select(path, null, json.getValue(), options, typed);
+        } catch (BError e) {
+            return e;
+        }
+    }
+
+    public static Object parseBytesAtPath(BArray json, BObject path, BMap<BString, Object> options,
+                                          BTypedesc typed) {
+        try {
+            return JsonPathSelector.select(path, new Utf8Reader(json.getBytes()), null, options, typed);
+        } catch (BError e) {
+            return e;
+        }
+    }
+
+    public static Object parseStreamAtPath(Environment env, BStream json, BObject path,
+                                           BMap<BString, Object> options, BTypedesc typed) {
+        final BObject iteratorObj = json.getIteratorObj();
+        return env.yieldAndRun(() -> {
+            BallerinaByteBlockSource blockSource = new BallerinaByteBlockSource(env, iteratorObj,
+                    resolveNextMethod(iteratorObj), resolveCloseMethod(iteratorObj), STREAM_PREFETCH_DEPTH);
+            try {
+                Object result = JsonPathSelector.select(path, new Utf8Reader(blockSource), null, options, typed);
+                if (blockSource.getError() != null) {
+                    return blockSource.getError();
+                }
+                return result;
+            } catch (BError e) {
+                return blockSource.getError() != null ? blockSource.getError() : e;
+            } finally {
+                blockSource.stopPrefetch();
             }
-            return result;
         });
     }
 
+    public static Object parseDocument(Object json) {
+        try {
+            char[] chars = json instanceof BString value ? value.getValue().toCharArray()
+                    : Utf8Reader.decode(((BArray) json).getBytes());
+            JsonDocument jsonDocument = JsonDocument.parse(chars);
+            BObject document = ValueCreator.createObjectValue(ModuleUtils.getModule(), DOCUMENT);
+            document.addNativeData(JSON_DOCUMENT, jsonDocument);
+            return document;
+        } catch (BError e) {
+            return e;
+        }
+    }
+
+    public static Object getDocumentValue(BObject document, BArray path, BMap<BString, Object> options,
+                                          BTypedesc typed) {
+        try {
+            return ((JsonDocument) document.getNativeData(JSON_DOCUMENT)).get(path, options, typed);
+        } catch (BError e) {
+            return e;
+        }
+    }
+
+    public static Object getDocumentKeys(BObject document, BArray path) {
+        try {
+            return ((JsonDocument) document.getNativeData(JSON_DOCUMENT)).keys(path);
+        } catch (BError e) {
+            return e;
+        }
+    }
+
+    public static Object getDocumentLength(BObject document, BArray path) {
+        try {
+            return ((JsonDocument) document.getNativeData(JSON_DOCUMENT)).length(path);
+        } catch (BError e) {
+            return e;
+        }
+    }
+
+    public static Object createParser(BMap<BString, Object> options, BTypedesc typed) {
+        try {
+            JsonParser.IncrementalParser incrementalParser = new JsonParser.IncrementalParser(options, typed);
+            BObject parser = ValueCreator.createObjectValue(ModuleUtils.getModule(), PARSER);
+            parser.addNativeData(INCREMENTAL_PARSER, incrementalParser);
+            return parser;
+        } catch (BError e) {
+            return e;
+        }
+    }
+
+    public static Object feedParser(BObject parser, BArray chunk) {
+        try {
+            Object value = ((JsonParser.IncrementalParser) parser.getNativeData(INCREMENTAL_PARSER))
+                    .feed(chunk.getBytes());
+            return value == JsonParser.IncrementalParser.NEED_MORE ? NEED_MORE : createDone(value);
+        } catch (BError e) {
+            return e;
+        }
+    }
+
+    public static Object endParser(BObject parser) {
+        try {
+            return createDone(((JsonParser.IncrementalParser) parser.getNativeData(INCREMENTAL_PARSER)).end());
+        } catch (BError e) {
+            return e;
+        }
+    }
+
+    private static BMap<BString, Object> createDone(Object value) {
+        BMap<BString, Object> done = ValueCreator.createRecordValue(ModuleUtils.getModule(), DONE);
+        done.put(Constants.VALUE, value);
+        return done;
+    }
+
+    private static Type getErrorCompletionType() {
+        return TypeCreator.createUnionType(TypeUtils.getType(DiagnosticLog.createJsonError("")),
+                PredefinedTypes.TYPE_NULL);
+    }
+
     public static Object toJson(Object value) {
         return toJson(value, new HashSet<>());
     }
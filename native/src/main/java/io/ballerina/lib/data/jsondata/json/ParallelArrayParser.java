@@ -0,0 +1,476 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.data.jsondata.json;
+
+import io.ballerina.lib.data.jsondata.io.Utf8Reader;
+import io.ballerina.lib.data.jsondata.utils.DataUtils;
+import io.ballerina.lib.data.jsondata.utils.DiagnosticErrorCode;
+import io.ballerina.lib.data.jsondata.utils.DiagnosticLog;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.types.TypeTags;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTypedesc;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static io.ballerina.lib.data.jsondata.utils.Constants.ENABLE_CONSTRAINT_VALIDATION;
+
+/**
+ * Parses large JSON arrays, which are expected to be of an open array type, in parallel.
+ * <p>
+ * The array is cut at the commas between its members into a few slices per worker of the parser thread pool of the
+ * module. Each slice is read straight from the source string or bytes and parsed as an array of the expected type on
+ * its own, starting from the line and the column where it is in the document, and the members of the slices are put
+ * together in order. Documents which can not be split this way are left to the sequential parser, which also reports
+ * their errors.
+ *
+ * @since 1.1.2
+ */
+final class ParallelArrayParser {
+
+    private static final int MIN_PARALLEL_LENGTH = 4 * 1024 * 1024;
+    private static final int MIN_SLICE_LENGTH = 256 * 1024;
+    private static final int SLICES_PER_WORKER = 4;
+    private static final int PARALLELISM = Runtime.getRuntime().availableProcessors();
+    private static final long KEEP_ALIVE_TIME = 60L;
+    private static final String THREAD_NAME = "bal-data-jsondata-parser";
+    private static final ExecutorService EXECUTOR_SERVICE = createExecutorService();
+
+    private ParallelArrayParser() {
+    }
+
+    private static ExecutorService createExecutorService() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(PARALLELISM, PARALLELISM, KEEP_ALIVE_TIME,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new ParserThreadFactory());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Returns whether a document of the given length is worth parsing in parallel to the given type.
+     *
+     * @param length length of the document
+     * @param type   expected type
+     * @return true if the document can be parsed in parallel
+     */
+    static boolean isApplicable(int length, Type type) {
+        if (length < MIN_PARALLEL_LENGTH || PARALLELISM < 2) {
+            return false;
+        }
+        Type referredType = TypeUtils.getReferredType(type);
+        return referredType.getTag() == TypeTags.ARRAY_TAG
+                && ((ArrayType) referredType).getState() == ArrayType.ArrayState.OPEN;
+    }
+
+    /**
+     * Parses UTF-8 encoded JSON content to the given type. The slices are decoded as they are parsed.
+     *
+     * @param bytes   UTF-8 encoded JSON content
+     * @param options represent the options that can be used to modify the behaviour of conversion
+     * @param typed   type descriptor of expected type
+     * @return the converted value or an error
+     * @throws BError for any parsing error
+     */
+    static Object parse(byte[] bytes, BMap<BString, Object> options, BTypedesc typed) throws BError {
+        return parse(new Utf8Source(bytes), options, typed);
+    }
+
+    /**
+     * Parses JSON content to the given type. The slices are copied from the string as they are parsed.
+     *
+     * @param json    JSON content
+     * @param options represent the options that can be used to modify the behaviour of conversion
+     * @param typed   type descriptor of expected type
+     * @return the converted value or an error
+     * @throws BError for any parsing error
+     */
+    static Object parse(String json, BMap<BString, Object> options, BTypedesc typed) throws BError {
+        return parse(new StringSource(json), options, typed);
+    }
+
+    private static Object parse(Source source, BMap<BString, Object> options, BTypedesc typed) throws BError {
+        Slices slices = split(source);
+        if (slices == null) {
+            return source.parseSequentially(options, typed);
+        }
+
+        // Each slice is checked on its own, hence the limits on the whole document and on the top level array are
+        // checked here.
+        ResourceLimits limits = ResourceLimits.from(options);
+        limits.checkDocumentSize(slices.charCount);
+        Type type = typed.getDescribingType();
+        int sliceCount = slices.count;
+        @SuppressWarnings("unchecked")
+        Future<Object>[] tasks = new Future[sliceCount];
+        for (int i = 1; i < sliceCount; i++) {
+            int slice = i;
+            tasks[i] = EXECUTOR_SERVICE.submit(() -> parseSlice(source, slices, slice, options, type));
+        }
+
+        BArray result = ValueCreator.createArrayValue((ArrayType) TypeUtils.getReferredType(type));
+        long index = 0;
+        try {
+            for (int i = 0; i < sliceCount; i++) {
+                Object slice = i == 0 ? parseSlice(source, slices, 0, options, type) : getSlice(tasks[i]);
+                if (slice instanceof BError error) {
+                    // The first error in the document is the one the sequential parser reports.
+                    throw error;
+                }
+                BArray members = (BArray) slice;
+                limits.checkElementCount(index + members.size());
+                for (int j = 0; j < members.size(); j++) {
+                    result.add(index++, members.get(j));
+                }
+            }
+        } finally {
+            for (int i = 1; i < sliceCount; i++) {
+                tasks[i].cancel(false);
+            }
+        }
+        return DataUtils.validateConstraints(result, typed, (Boolean) options.get(ENABLE_CONSTRAINT_VALIDATION));
+    }
+
+    private static Object getSlice(Future<Object> task) {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return DiagnosticLog.error(DiagnosticErrorCode.CAN_NOT_READ_STREAM);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static Object parseSlice(Source source, Slices slices, int slice, BMap<BString, Object> options,
+                                     Type type) {
+        int start = slices.delimiters[slice];
+        int end = slices.delimiters[slice + 1];
+        try {
+            // The opening bracket added by the reader takes the place of the delimiter before the slice.
+            return JsonParser.parse(source.reader(start + 1, end), options, type, slices.lines[slice],
+                    slices.columns[slice] - 1);
+        } catch (BError e) {
+            return e;
+        }
+    }
+
+    /**
+     * Finds where to cut the top level array of the document, without checking anything but the nesting of
+     * brackets and strings.
+     *
+     * @return the slices or null if the document is not a single array or is too small to be split
+     */
+    private static Slices split(Source source) {
+        int length = source.length;
+        int sliceLength = Math.max(MIN_SLICE_LENGTH, length / (PARALLELISM * SLICES_PER_WORKER));
+        Slices slices = new Slices(length / sliceLength + 2);
+        long charCount = 0;
+        int line = 1;
+        int column = 0;
+        int i = 0;
+        int ch = 0;
+        for (; i < length; i++) {
+            ch = source.at(i);
+            charCount++;
+            if (ch == '\n') {
+                line++;
+                column = 0;
+            } else {
+                column++;
+            }
+            if (ch != ' ' && ch != '\t' && ch != '\n' && ch != '\r') {
+                break;
+            }
+        }
+        if (ch != '[') {
+            return null;
+        }
+        slices.add(i, line, column);
+
+        int depth = 0;
+        int nextCut = i + sliceLength;
+        boolean inString = false;
+        boolean escaped = false;
+        boolean isEmptySlice = true;
+        for (i++; i < length; i++) {
+            ch = source.at(i);
+            int width = source.width(ch);
+            charCount += width;
+            if (ch == '\n') {
+                line++;
+                column = 0;
+            } else {
+                column += width;
+            }
+
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (ch == '\\') {
+                    escaped = true;
+                } else if (ch == '"') {
+                    inString = false;
+                }
+            } else if (ch == '"') {
+                inString = true;
+            } else if (ch == '{' || ch == '[') {
+                depth++;
+            } else if (ch == '}' || ch == ']') {
+                if (depth-- == 0) {
+                    break;
+                }
+            } else if (ch == ',' && depth == 0 && i >= nextCut) {
+                if (isEmptySlice) {
+                    return null;
+                }
+                slices.add(i, line, column);
+                nextCut = i + sliceLength;
+                isEmptySlice = true;
+                continue;
+            }
+            isEmptySlice &= ch == ' ' || ch == '\t' || ch == '\n' || ch == '\r';
+        }
+        // A slice without members would be parsed as an empty array, hence a misplaced comma is left to the
+        // sequential parser, which reports it.
+        if (ch != ']' || depth >= 0 || slices.count < 2 || isEmptySlice) {
+            return null;
+        }
+        slices.delimiters[slices.count] = i;
+        for (i++; i < length; i++) {
+            ch = source.at(i);
+            charCount++;
+            if (ch != ' ' && ch != '\t' && ch != '\n' && ch != '\r') {
+                return null;
+            }
+        }
+        slices.charCount = charCount;
+        return slices;
+    }
+
+    /**
+     * Positions of the delimiters before each slice, together with their lines and columns. The delimiter after the
+     * last slice is the closing bracket of the array.
+     */
+    private static final class Slices {
+
+        int[] delimiters;
+        int[] lines;
+        int[] columns;
+        int count;
+        long charCount;
+
+        Slices(int capacity) {
+            this.delimiters = new int[capacity + 1];
+            this.lines = new int[capacity];
+            this.columns = new int[capacity];
+        }
+
+        private void add(int delimiter, int line, int column) {
+            if (count == lines.length) {
+                delimiters = Arrays.copyOf(delimiters, count * 2 + 1);
+                lines = Arrays.copyOf(lines, count * 2);
+                columns = Arrays.copyOf(columns, count * 2);
+            }
+            delimiters[count] = delimiter;
+            lines[count] = line;
+            columns[count] = column;
+            count++;
+        }
+    }
+
+    /**
+     * Content of a document, which is split and read without being copied as a whole. The structural characters
+     * of JSON are ASCII, hence the content is scanned by its code units, which are chars or UTF-8 bytes.
+     */
+    private abstract static class Source {
+
+        final int length;
+
+        Source(int length) {
+            this.length = length;
+        }
+
+        /**
+         * Returns the code unit at the given index.
+         */
+        abstract int at(int i);
+
+        /**
+         * Returns the number of chars which a code unit adds to the column.
+         */
+        abstract int width(int unit);
+
+        /**
+         * Returns a reader of the chars of the given range of code units, enclosed in brackets.
+         */
+        abstract Reader reader(int start, int end);
+
+        /**
+         * Parses the whole content with the sequential parser.
+         */
+        abstract Object parseSequentially(BMap<BString, Object> options, BTypedesc typed);
+    }
+
+    private static final class StringSource extends Source {
+
+        private final String json;
+
+        StringSource(String json) {
+            super(json.length());
+            this.json = json;
+        }
+
+        @Override
+        int at(int i) {
+            return json.charAt(i);
+        }
+
+        @Override
+        int width(int unit) {
+            return 1;
+        }
+
+        @Override
+        Reader reader(int start, int end) {
+            return new SliceReader() {
+                private int pos = start;
+
+                @Override
+                int readContent(char[] cbuf, int off, int len) {
+                    int count = Math.min(len, end - pos);
+                    json.getChars(pos, pos + count, cbuf, off);
+                    pos += count;
+                    return count == 0 ? -1 : count;
+                }
+            };
+        }
+
+        @Override
+        Object parseSequentially(BMap<BString, Object> options, BTypedesc typed) {
+            return JsonParser.parse(json, options, typed);
+        }
+    }
+
+    private static final class Utf8Source extends Source {
+
+        private final byte[] bytes;
+
+        Utf8Source(byte[] bytes) {
+            super(bytes.length);
+            this.bytes = bytes;
+        }
+
+        @Override
+        int at(int i) {
+            return bytes[i] & 0xFF;
+        }
+
+        @Override
+        int width(int unit) {
+            // Continuation bytes add nothing, and four byte sequences are decoded to surrogate pairs.
+            return (unit & 0xC0) == 0x80 ? 0 : unit >= 0xF0 ? 2 : 1;
+        }
+
+        @Override
+        Reader reader(int start, int end) {
+            Utf8Reader content = new Utf8Reader(bytes, start, end - start);
+            return new SliceReader() {
+                @Override
+                int readContent(char[] cbuf, int off, int len) throws IOException {
+                    return content.read(cbuf, off, len);
+                }
+            };
+        }
+
+        @Override
+        Object parseSequentially(BMap<BString, Object> options, BTypedesc typed) {
+            return JsonParser.parse(new Utf8Reader(bytes), options, typed);
+        }
+    }
+
+    /**
+     * Reads the chars of a slice of the members of an array, enclosed in brackets.
+     */
+    private abstract static class SliceReader extends Reader {
+
+        private boolean opened;
+        private boolean closed;
+
+        abstract int readContent(char[] cbuf, int off, int len) throws IOException;
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            int n = 0;
+            if (!opened) {
+                cbuf[off + n++] = '[';
+                opened = true;
+            }
+            if (n < len) {
+                int count = readContent(cbuf, off + n, len - n);
+                if (count > 0) {
+                    return n + count;
+                }
+                if (!closed) {
+                    cbuf[off + n++] = ']';
+                    closed = true;
+                }
+            }
+            return n == 0 ? -1 : n;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Creates the daemon threads of the parser thread pool, so that an idle pool does not keep the program running.
+     */
+    private static class ParserThreadFactory implements ThreadFactory {
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable);
+            thread.setName(THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
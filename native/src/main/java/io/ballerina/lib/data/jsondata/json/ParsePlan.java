@@ -0,0 +1,373 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.data.jsondata.json;
+
+import io.ballerina.lib.data.jsondata.utils.Constants;
+import io.ballerina.lib.data.jsondata.utils.DiagnosticErrorCode;
+import io.ballerina.lib.data.jsondata.utils.DiagnosticLog;
+import io.ballerina.runtime.api.flags.SymbolFlags;
+import io.ballerina.runtime.api.types.AnnotatableType;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.FiniteType;
+import io.ballerina.runtime.api.types.IntersectionType;
+import io.ballerina.runtime.api.types.MapType;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.ReferenceType;
+import io.ballerina.runtime.api.types.TupleType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.types.TypeTags;
+import io.ballerina.runtime.api.types.UnionType;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTypedesc;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolved metadata of an expected type, which is needed to parse or traverse JSON values into it.
+ * <p>
+ * Plans are immutable and are created once per type. They are shared by all the parser and traverser instances, so
+ * nested values of the same type reuse the resolved field names, required fields and member types instead of
+ * resolving them again for each value.
+ *
+ * @since 1.1.2
+ */
+final class ParsePlan {
+
+    private static final Map<Type, Mapping> RECORD_PLANS = new ConcurrentHashMap<>();
+    private static final Map<Type, Mapping> MAP_PLANS = new ConcurrentHashMap<>();
+    private static final Map<Type, Tuple> TUPLE_PLANS = new ConcurrentHashMap<>();
+    private static final Map<Type, Union> UNION_PLANS = new ConcurrentHashMap<>();
+
+    private ParsePlan() {
+    }
+
+    static Mapping forRecord(RecordType recordType) {
+        Mapping plan = RECORD_PLANS.get(recordType);
+        if (plan == null) {
+            plan = Mapping.of(recordType);
+            Mapping existing = RECORD_PLANS.putIfAbsent(recordType, plan);
+            return existing == null ? plan : existing;
+        }
+        return plan;
+    }
+
+    /**
+     * Returns the plan of a mapping type without fields, such as a map, json or anydata.
+     *
+     * @param restType the type of the members of the mapping
+     * @return the plan
+     */
+    static Mapping forRestType(Type restType) {
+        Mapping plan = MAP_PLANS.get(restType);
+        if (plan == null) {
+            plan = new Mapping(new String[0], new Field[0], restType);
+            Mapping existing = MAP_PLANS.putIfAbsent(restType, plan);
+            return existing == null ? plan : existing;
+        }
+        return plan;
+    }
+
+    static Tuple forTuple(TupleType tupleType) {
+        Tuple plan = TUPLE_PLANS.get(tupleType);
+        if (plan == null) {
+            plan = new Tuple(tupleType.getTupleTypes().toArray(new Type[0]), tupleType.getRestType());
+            Tuple existing = TUPLE_PLANS.putIfAbsent(tupleType, plan);
+            return existing == null ? plan : existing;
+        }
+        return plan;
+    }
+
+    /**
+     * Returns the plan of a union type. The type may be a reference or a read-only intersection of the union, in which
+     * case the {@code Discriminator} annotation of the type definition is also taken into account.
+     *
+     * @param type the union type
+     * @return the plan
+     */
+    static Union forUnion(Type type) {
+        Union plan = UNION_PLANS.get(type);
+        if (plan == null) {
+            plan = Union.of(type);
+            Union existing = UNION_PLANS.putIfAbsent(type, plan);
+            return existing == null ? plan : existing;
+        }
+        return plan;
+    }
+
+    /**
+     * Plan of a mapping type. Fields are identified by a slot, which is their index in {@link #fields}.
+     */
+    static final class Mapping {
+
+        final Type restType;
+        final Field[] fields;
+        final boolean[] required;
+        final boolean[] nilable;
+        private final Map<String, Integer> slotsByJsonName;
+
+        private Mapping(String[] jsonNames, Field[] fields, Type restType) {
+            this.restType = restType;
+            this.fields = fields;
+            this.required = new boolean[fields.length];
+            this.nilable = new boolean[fields.length];
+            Map<String, Integer> slots = new HashMap<>();
+            for (int i = 0; i < fields.length; i++) {
+                Field field = fields[i];
+                slots.put(jsonNames[i], i);
+                required[i] = SymbolFlags.isFlagOn(field.getFlags(), SymbolFlags.REQUIRED);
+                nilable[i] = field.getFieldType().isNilable();
+            }
+            this.slotsByJsonName = Collections.unmodifiableMap(slots);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Mapping of(RecordType recordType) {
+            BMap<BString, Object> annotations = recordType.getAnnotations();
+            Map<String, String> modifiedNames = new HashMap<>();
+            for (BString annotationKey : annotations.getKeys()) {
+                String keyStr = annotationKey.getValue();
+                if (!keyStr.contains(Constants.FIELD)) {
+                    continue;
+                }
+                String fieldName = keyStr.split(Constants.FIELD_REGEX)[1];
+                Map<BString, Object> fieldAnnotation = (Map<BString, Object>) annotations.get(annotationKey);
+                modifiedNames.put(fieldName, JsonCreator.getModifiedName(fieldAnnotation, fieldName));
+            }
+
+            Map<String, Field> fieldsByJsonName = new HashMap<>();
+            for (Map.Entry<String, Field> entry : recordType.getFields().entrySet()) {
+                String jsonName = modifiedNames.getOrDefault(entry.getKey(), entry.getKey());
+                if (fieldsByJsonName.containsKey(jsonName)) {
+                    throw DiagnosticLog.error(DiagnosticErrorCode.DUPLICATE_FIELD, jsonName);
+                }
+                fieldsByJsonName.put(jsonName, entry.getValue());
+            }
+            return new Mapping(fieldsByJsonName.keySet().toArray(new String[0]),
+                    fieldsByJsonName.values().toArray(new Field[0]), recordType.getRestFieldType());
+        }
+
+        /**
+         * Returns the slot of the field which has the given name in JSON.
+         *
+         * @param jsonName name of the field in JSON
+         * @return the slot of the field or -1 if there is no such field
+         */
+        int slotOf(String jsonName) {
+            Integer slot = slotsByJsonName.get(jsonName);
+            return slot == null ? -1 : slot;
+        }
+    }
+
+    /**
+     * Plan of a tuple type.
+     */
+    static final class Tuple {
+
+        final Type[] memberTypes;
+        final Type restType;
+
+        private Tuple(Type[] memberTypes, Type restType) {
+            this.memberTypes = memberTypes;
+            this.restType = restType;
+        }
+    }
+
+    /**
+     * Plan of a union type.
+     * <p>
+     * Besides the member types, the plan records which members can hold a mapping or a list value, and the plans of
+     * the mapping members. These are used to rule out members while a value is read, before converting it to them.
+     */
+    static final class Union {
+
+        final List<Type> memberTypes;
+        final boolean[] acceptsMapping;
+        final boolean[] acceptsList;
+        final Mapping[] mappingPlans;
+        final String discriminatorField;
+        private final Map<String, Type> discriminatedTypes;
+
+        private Union(List<Type> memberTypes, BMap<BString, Object> discriminator) {
+            this.memberTypes = memberTypes;
+            int memberCount = memberTypes.size();
+            this.acceptsMapping = new boolean[memberCount];
+            this.acceptsList = new boolean[memberCount];
+            this.mappingPlans = new Mapping[memberCount];
+            for (int i = 0; i < memberCount; i++) {
+                Type memberType = TypeUtils.getReferredType(memberTypes.get(i));
+                if (memberType.getTag() == TypeTags.INTERSECTION_TAG) {
+                    Optional<Type> mutableType = JsonCreator.getMutableType((IntersectionType) memberType);
+                    if (mutableType.isPresent()) {
+                        memberType = TypeUtils.getReferredType(mutableType.get());
+                    }
+                }
+                switch (memberType.getTag()) {
+                    case TypeTags.RECORD_TYPE_TAG -> {
+                        acceptsMapping[i] = true;
+                        mappingPlans[i] = planOrNull((RecordType) memberType);
+                    }
+                    case TypeTags.MAP_TAG -> {
+                        acceptsMapping[i] = true;
+                        mappingPlans[i] = forRestType(((MapType) memberType).getConstrainedType());
+                    }
+                    case TypeTags.ARRAY_TAG, TypeTags.TUPLE_TAG -> acceptsList[i] = true;
+                    case TypeTags.NULL_TAG, TypeTags.BOOLEAN_TAG, TypeTags.INT_TAG, TypeTags.BYTE_TAG,
+                            TypeTags.SIGNED8_INT_TAG, TypeTags.SIGNED16_INT_TAG, TypeTags.SIGNED32_INT_TAG,
+                            TypeTags.UNSIGNED8_INT_TAG, TypeTags.UNSIGNED16_INT_TAG, TypeTags.UNSIGNED32_INT_TAG,
+                            TypeTags.FLOAT_TAG, TypeTags.DECIMAL_TAG, TypeTags.CHAR_STRING_TAG, TypeTags.STRING_TAG,
+                            TypeTags.FINITE_TYPE_TAG -> {
+                    }
+                    case TypeTags.JSON_TAG, TypeTags.ANYDATA_TAG -> {
+                        acceptsMapping[i] = true;
+                        acceptsList[i] = true;
+                        mappingPlans[i] = forRestType(memberType);
+                    }
+                    default -> {
+                        acceptsMapping[i] = true;
+                        acceptsList[i] = true;
+                    }
+                }
+            }
+
+            if (discriminator == null) {
+                this.discriminatorField = null;
+                this.discriminatedTypes = Collections.emptyMap();
+            } else {
+                this.discriminatorField = discriminator.getStringValue(Constants.DISCRIMINATOR_FIELD).getValue();
+                this.discriminatedTypes = Collections.unmodifiableMap(getDiscriminatedTypes(discriminator));
+            }
+        }
+
+        private static Union of(Type type) {
+            BMap<BString, Object> discriminator = null;
+            Type currentType = type;
+            while (true) {
+                if (discriminator == null && currentType instanceof AnnotatableType annotatableType) {
+                    discriminator = getDiscriminator(annotatableType.getAnnotations());
+                }
+                if (currentType.getTag() == TypeTags.TYPE_REFERENCED_TYPE_TAG) {
+                    currentType = ((ReferenceType) currentType).getReferredType();
+                } else if (currentType.getTag() == TypeTags.INTERSECTION_TAG) {
+                    currentType = JsonCreator.getMutableType((IntersectionType) currentType).orElseThrow();
+                } else {
+                    break;
+                }
+            }
+            return new Union(List.copyOf(((UnionType) currentType).getMemberTypes()), discriminator);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static BMap<BString, Object> getDiscriminator(BMap<BString, Object> annotations) {
+            if (annotations == null) {
+                return null;
+            }
+            for (BString key : annotations.getKeys()) {
+                if (key.getValue().endsWith(Constants.DISCRIMINATOR)) {
+                    return (BMap<BString, Object>) annotations.get(key);
+                }
+            }
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Map<String, Type> getDiscriminatedTypes(BMap<BString, Object> discriminator) {
+            Map<String, Type> types = new HashMap<>();
+            BMap<BString, Object> mapping = (BMap<BString, Object>) discriminator.get(Constants.DISCRIMINATOR_MAPPING);
+            if (mapping != null) {
+                for (Map.Entry<BString, Object> entry : mapping.entrySet()) {
+                    Type mappedType = ((BTypedesc) entry.getValue()).getDescribingType();
+                    Type memberType = getMemberType(mappedType);
+                    if (memberType == null) {
+                        throw DiagnosticLog.error(DiagnosticErrorCode.INVALID_DISCRIMINATOR_TYPE, mappedType,
+                                entry.getKey());
+                    }
+                    types.put(entry.getKey().getValue(), memberType);
+                }
+                return types;
+            }
+
+            // Use the singleton string type of the discriminator field of each member record.
+            for (int i = 0; i < memberTypes.size(); i++) {
+                Mapping recordPlan = mappingPlans[i];
+                int slot = recordPlan == null ? -1 : recordPlan.slotOf(discriminatorField);
+                if (slot < 0) {
+                    continue;
+                }
+                Type fieldType = TypeUtils.getReferredType(recordPlan.fields[slot].getFieldType());
+                if (fieldType.getTag() != TypeTags.FINITE_TYPE_TAG) {
+                    continue;
+                }
+                Set<Object> valueSpace = ((FiniteType) fieldType).getValueSpace();
+                if (valueSpace.size() == 1 && valueSpace.iterator().next() instanceof BString value) {
+                    types.putIfAbsent(value.getValue(), memberTypes.get(i));
+                }
+            }
+            return types;
+        }
+
+        private Type getMemberType(Type type) {
+            Type referredType = getMutableReferredType(type);
+            for (Type memberType : memberTypes) {
+                if (getMutableReferredType(memberType) == referredType) {
+                    return memberType;
+                }
+            }
+            return null;
+        }
+
+        private static Type getMutableReferredType(Type type) {
+            Type referredType = TypeUtils.getReferredType(type);
+            if (referredType.getTag() == TypeTags.INTERSECTION_TAG) {
+                Optional<Type> mutableType = JsonCreator.getMutableType((IntersectionType) referredType);
+                if (mutableType.isPresent()) {
+                    return TypeUtils.getReferredType(mutableType.get());
+                }
+            }
+            return referredType;
+        }
+
+        /**
+         * Returns the member type selected by a discriminator value.
+         *
+         * @param discriminatorValue the value of the discriminator field
+         * @return the member type or null if the value does not select a member
+         */
+        Type getDiscriminatedType(String discriminatorValue) {
+            return discriminatedTypes.get(discriminatorValue);
+        }
+
+        private static Mapping planOrNull(RecordType recordType) {
+            try {
+                return forRecord(recordType);
+            } catch (BError e) {
+                // The member can not be used, which is reported when a value is converted to it.
+                return null;
+            }
+        }
+    }
+}
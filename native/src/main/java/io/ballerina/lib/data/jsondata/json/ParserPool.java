@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.data.jsondata.json;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, lock-free pool of parser instances, shared by all the threads.
+ * <p>
+ * Unlike thread locals, the number of idle instances does not grow with the number of threads, which matters with
+ * virtual threads. An instance is taken out of a slot with a single compare-and-set, and when all the slots are
+ * empty, a new instance is created. On release, the instance is recycled, which also trims its buffers back to their
+ * initial size after an oversized document, and is put back into an empty slot, or dropped if the pool is full.
+ *
+ * @param <T> type of the parser instances
+ * @since 1.1.2
+ */
+public final class ParserPool<T> {
+
+    private static final int DEFAULT_CAPACITY = Runtime.getRuntime().availableProcessors() * 2;
+
+    private final AtomicReferenceArray<T> slots;
+    private final Supplier<T> factory;
+    private final Consumer<T> recycler;
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    ParserPool(Supplier<T> factory, Consumer<T> recycler) {
+        this(DEFAULT_CAPACITY, factory, recycler);
+    }
+
+    ParserPool(int capacity, Supplier<T> factory, Consumer<T> recycler) {
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.factory = factory;
+        this.recycler = recycler;
+    }
+
+    /**
+     * Takes an idle instance from the pool, or creates one if there is none.
+     *
+     * @return an instance which is used by the caller only, until it is released
+     */
+    T acquire() {
+        int capacity = slots.length();
+        int start = startSlot();
+        for (int i = 0; i < capacity; i++) {
+            int slot = (start + i) % capacity;
+            T instance = slots.get(slot);
+            if (instance != null && slots.compareAndSet(slot, instance, null)) {
+                return instance;
+            }
+        }
+        createdCount.incrementAndGet();
+        return factory.get();
+    }
+
+    /**
+     * Recycles the given instance and returns it to the pool.
+     *
+     * @param instance instance taken with {@link #acquire()}
+     */
+    void release(T instance) {
+        recycler.accept(instance);
+        int capacity = slots.length();
+        int start = startSlot();
+        for (int i = 0; i < capacity; i++) {
+            int slot = (start + i) % capacity;
+            if (slots.get(slot) == null && slots.compareAndSet(slot, null, instance)) {
+                return;
+            }
+        }
+        droppedCount.incrementAndGet();
+    }
+
+    /**
+     * Returns the maximum number of idle instances kept by the pool.
+     *
+     * @return the capacity of the pool
+     */
+    public int getCapacity() {
+        return slots.length();
+    }
+
+    /**
+     * Returns the number of idle instances currently in the pool.
+     *
+     * @return the number of idle instances
+     */
+    public int getIdleCount() {
+        int idleCount = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            if (slots.get(i) != null) {
+                idleCount++;
+            }
+        }
+        return idleCount;
+    }
+
+    /**
+     * Returns the number of instances created because the pool had no idle instance.
+     *
+     * @return the number of created instances
+     */
+    public long getCreatedCount() {
+        return createdCount.get();
+    }
+
+    /**
+     * Returns the number of released instances dropped because the pool was full.
+     *
+     * @return the number of dropped instances
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Spreads the threads over the slots, so that they rarely contend for the same slot.
+     */
+    private int startSlot() {
+        int hash = System.identityHashCode(Thread.currentThread());
+        return ((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % slots.length();
+    }
+}
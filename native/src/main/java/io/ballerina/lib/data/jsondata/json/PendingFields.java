@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.data.jsondata.json;
+
+import io.ballerina.lib.data.jsondata.utils.DiagnosticErrorCode;
+import io.ballerina.lib.data.jsondata.utils.DiagnosticLog;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.Type;
+
+/**
+ * Tracks the fields of a mapping value which are yet to be read from JSON.
+ * <p>
+ * The field metadata comes from the shared {@link ParsePlan.Mapping}, so only the set of visited slots is held per
+ * value.
+ *
+ * @since 1.1.2
+ */
+final class PendingFields {
+
+    private static final int BITS_PER_WORD = 64;
+
+    final ParsePlan.Mapping plan;
+    private long visited;
+    private long[] visitedOverflow;
+    private int visitedCount;
+
+    PendingFields(ParsePlan.Mapping plan) {
+        this.plan = plan;
+        int fieldCount = plan.fields.length;
+        if (fieldCount > BITS_PER_WORD) {
+            this.visitedOverflow = new long[(fieldCount - 1) / BITS_PER_WORD];
+        }
+    }
+
+    Type restType() {
+        return plan.restType;
+    }
+
+    /**
+     * Marks the field with the given JSON name as visited. Visiting the same field again returns the same field.
+     *
+     * @param jsonName name of the field in JSON
+     * @return the visited field or null if the mapping does not have such a field
+     */
+    Field visit(String jsonName) {
+        int slot = plan.slotOf(jsonName);
+        if (slot < 0) {
+            return null;
+        }
+        if (!isVisited(slot)) {
+            markVisited(slot);
+            visitedCount++;
+        }
+        return plan.fields[slot];
+    }
+
+    /**
+     * Returns whether all the fields of the mapping have been visited.
+     *
+     * @return true if there are no pending fields
+     */
+    boolean isComplete() {
+        return visitedCount == plan.fields.length;
+    }
+
+    /**
+     * Checks that all the required fields have been visited.
+     *
+     * @param absentAsNilableType whether absent nilable fields are allowed
+     * @throws io.ballerina.runtime.api.values.BError if a required field is not present
+     */
+    void checkRequiredFields(boolean absentAsNilableType) {
+        int slot = findMissingRequiredField(absentAsNilableType);
+        if (slot >= 0) {
+            throw DiagnosticLog.error(DiagnosticErrorCode.REQUIRED_FIELD_NOT_PRESENT,
+                    plan.fields[slot].getFieldName());
+        }
+    }
+
+    /**
+     * Returns whether all the required fields have been visited.
+     *
+     * @param absentAsNilableType whether absent nilable fields are allowed
+     * @return true if no required field is missing
+     */
+    boolean hasRequiredFields(boolean absentAsNilableType) {
+        return findMissingRequiredField(absentAsNilableType) < 0;
+    }
+
+    private int findMissingRequiredField(boolean absentAsNilableType) {
+        if (isComplete()) {
+            return -1;
+        }
+        for (int slot = 0; slot < plan.fields.length; slot++) {
+            if (isVisited(slot) || !plan.required[slot] || (absentAsNilableType && plan.nilable[slot])) {
+                continue;
+            }
+            return slot;
+        }
+        return -1;
+    }
+
+    private boolean isVisited(int slot) {
+        if (slot < BITS_PER_WORD) {
+            return (visited & (1L << slot)) != 0;
+        }
+        return (visitedOverflow[slot / BITS_PER_WORD - 1] & (1L << slot)) != 0;
+    }
+
+    private void markVisited(int slot) {
+        if (slot < BITS_PER_WORD) {
+            visited |= 1L << slot;
+        } else {
+            visitedOverflow[slot / BITS_PER_WORD - 1] |= 1L << slot;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.data.jsondata.json;
+
+import io.ballerina.lib.data.jsondata.utils.Constants;
+import io.ballerina.lib.data.jsondata.utils.DiagnosticErrorCode;
+import io.ballerina.lib.data.jsondata.utils.DiagnosticLog;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+/**
+ * Limits on the resources used by the parser for a single document, which are checked as the document is read, so
+ * that an oversized or deeply nested document fails before it takes up the memory or the stack.
+ *
+ * @since 1.1.2
+ */
+final class ResourceLimits {
+
+    static final ResourceLimits UNLIMITED = new ResourceLimits(Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE,
+            Long.MAX_VALUE);
+
+    private final long maxDepth;
+    private final long maxDocumentSize;
+    private final long maxStringLength;
+    private final long maxElements;
+    // The limits are created for each conversion, hence the error of the exceeded limit is kept to be told apart.
+    private BError exceededError;
+
+    private ResourceLimits(long maxDepth, long maxDocumentSize, long maxStringLength, long maxElements) {
+        this.maxDepth = maxDepth;
+        this.maxDocumentSize = maxDocumentSize;
+        this.maxStringLength = maxStringLength;
+        this.maxElements = maxElements;
+    }
+
+    /**
+     * Returns the limits given in the options, where an absent limit is not checked.
+     *
+     * @param options options of the conversion
+     * @return the limits
+     */
+    static ResourceLimits from(BMap<BString, Object> options) {
+        long maxDepth = getLimit(options, Constants.MAX_DEPTH);
+        long maxDocumentSize = getLimit(options, Constants.MAX_DOCUMENT_SIZE);
+        long maxStringLength = getLimit(options, Constants.MAX_STRING_LENGTH);
+        long maxElements = getLimit(options, Constants.MAX_ELEMENTS);
+        if (maxDepth == Long.MAX_VALUE && maxDocumentSize == Long.MAX_VALUE && maxStringLength == Long.MAX_VALUE
+                && maxElements == Long.MAX_VALUE) {
+            return UNLIMITED;
+        }
+        return new ResourceLimits(maxDepth, maxDocumentSize, maxStringLength, maxElements);
+    }
+
+    private static long getLimit(BMap<BString, Object> options, BString key) {
+        if (!(options.get(key) instanceof Long limit)) {
+            return Long.MAX_VALUE;
+        }
+        if (limit < 1) {
+            throw DiagnosticLog.error(DiagnosticErrorCode.INVALID_LIMIT, limit, key.getValue());
+        }
+        return limit;
+    }
+
+    void checkDepth(int depth) {
+        if (depth > maxDepth) {
+            throw exceeded(DiagnosticLog.error(DiagnosticErrorCode.DEPTH_LIMIT_EXCEEDED, maxDepth));
+        }
+    }
+
+    void checkDocumentSize(long size) {
+        if (size > maxDocumentSize) {
+            throw exceeded(DiagnosticLog.error(DiagnosticErrorCode.DOCUMENT_SIZE_LIMIT_EXCEEDED, maxDocumentSize));
+        }
+    }
+
+    void checkStringLength(int length) {
+        if (length > maxStringLength) {
+            throw exceeded(DiagnosticLog.error(DiagnosticErrorCode.STRING_LENGTH_LIMIT_EXCEEDED, maxStringLength));
+        }
+    }
+
+    void checkElementCount(long count) {
+        if (count > maxElements) {
+            throw exceeded(DiagnosticLog.error(DiagnosticErrorCode.ELEMENT_COUNT_LIMIT_EXCEEDED, maxElements));
+        }
+    }
+
+    private BError exceeded(BError error) {
+        exceededError = error;
+        return error;
+    }
+
+    /**
+     * Returns whether the given error is the one of a limit exceeded by the conversion.
+     *
+     * @param error the error of the conversion
+     * @return true if a limit is exceeded
+     */
+    boolean isExceededBy(BError error) {
+        return error == exceededError;
+    }
+}
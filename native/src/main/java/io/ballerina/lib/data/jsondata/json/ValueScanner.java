@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.data.jsondata.json;
+
+import io.ballerina.lib.data.jsondata.utils.NumberParser;
+
+/**
+ * Follows the nesting of the brackets and the boundaries of the strings of a value which is read without being
+ * parsed, one character at a time, and validates the non-string values which are read that way.
+ * <p>
+ * It is shared by the parser, which skips the values that are not converted, and by the readers which select parts of
+ * a document, so that they all accept the same values.
+ *
+ * @since 1.1.2
+ */
+final class ValueScanner {
+
+    /**
+     * The character is within the value.
+     */
+    static final int IN_VALUE = 0;
+    /**
+     * The character opens a map or a list, which increases the depth.
+     */
+    static final int OPENED = 1;
+    /**
+     * The character ends the value.
+     */
+    static final int ENDED = 2;
+    /**
+     * The character is a closing bracket outside of any map or list.
+     */
+    static final int UNEXPECTED_BRACKET = 3;
+    /**
+     * The character is a closing bracket other than the one of the innermost map or list.
+     */
+    static final int MISMATCHED_BRACKET = 4;
+
+    private static final int INITIAL_DEPTH = 32;
+
+    private char[] closingBrackets = new char[INITIAL_DEPTH];
+    private int depth;
+    private boolean inString;
+    private boolean escaped;
+    private char expectedBracket;
+
+    /**
+     * Tracks the next character of the value.
+     *
+     * @param ch the next character
+     * @return one of {@link #IN_VALUE}, {@link #OPENED}, {@link #ENDED}, {@link #UNEXPECTED_BRACKET} and
+     * {@link #MISMATCHED_BRACKET}
+     */
+    int scan(char ch) {
+        if (inString) {
+            if (escaped) {
+                escaped = false;
+            } else if (ch == '\\') {
+                escaped = true;
+            } else if (ch == '"') {
+                inString = false;
+                return depth == 0 ? ENDED : IN_VALUE;
+            }
+            return IN_VALUE;
+        }
+
+        if (ch == '"') {
+            inString = true;
+        } else if (ch == '{') {
+            push('}');
+            return OPENED;
+        } else if (ch == '[') {
+            push(']');
+            return OPENED;
+        } else if (ch == '}' || ch == ']') {
+            if (depth == 0) {
+                return UNEXPECTED_BRACKET;
+            }
+            expectedBracket = closingBrackets[--depth];
+            if (ch != expectedBracket) {
+                return MISMATCHED_BRACKET;
+            }
+            return depth == 0 ? ENDED : IN_VALUE;
+        }
+        return IN_VALUE;
+    }
+
+    private void push(char closingBracket) {
+        if (depth == closingBrackets.length) {
+            char[] newBrackets = new char[depth * 2];
+            System.arraycopy(closingBrackets, 0, newBrackets, 0, depth);
+            closingBrackets = newBrackets;
+        }
+        closingBrackets[depth++] = closingBracket;
+    }
+
+    /**
+     * Returns the number of maps and lists of the value which are open.
+     *
+     * @return the depth within the value
+     */
+    int getDepth() {
+        return depth;
+    }
+
+    boolean isInString() {
+        return inString;
+    }
+
+    boolean isEscaped() {
+        return escaped;
+    }
+
+    /**
+     * Returns the closing bracket which was expected by the last {@link #MISMATCHED_BRACKET}.
+     *
+     * @return the expected closing bracket
+     */
+    char getExpectedBracket() {
+        return expectedBracket;
+    }
+
+    void reset() {
+        depth = 0;
+        inString = false;
+        escaped = false;
+    }
+
+    /**
+     * Resets the scanner, and trims the bracket stack grown by a deeply nested value back to its initial size.
+     *
+     * @param maxRetainedDepth the largest bracket stack which is kept
+     */
+    void recycle(int maxRetainedDepth) {
+        reset();
+        if (closingBrackets.length > maxRetainedDepth) {
+            closingBrackets = new char[INITIAL_DEPTH];
+        }
+    }
+
+    /**
+     * Returns whether the given character, read outside of a string, starts a number or a literal.
+     *
+     * @param ch the character
+     * @return true if the character starts a non-string value
+     */
+    static boolean isScalarStart(char ch) {
+        return ch != '"' && ch != '{' && ch != '[' && ch != '}' && ch != ']' && ch != ',' && ch != ':'
+                && !JsonParser.StateMachine.isWhitespace(ch);
+    }
+
+    /**
+     * Returns whether the given characters are a JSON number or a true, false or null literal.
+     *
+     * @param chars the characters
+     * @param start index of the first character
+     * @param end   index after the last character
+     * @return true if the characters are a non-string value
+     */
+    static boolean isScalar(char[] chars, int start, int end) {
+        if (start == end) {
+            return false;
+        }
+        char first = chars[start];
+        if (first == '-' || (first >= '0' && first <= '9')) {
+            return NumberParser.isNumber(chars, start, end);
+        }
+        return isLiteral(chars, start, end, "true") || isLiteral(chars, start, end, "false")
+                || isLiteral(chars, start, end, "null");
+    }
+
+    private static boolean isLiteral(char[] chars, int start, int end, String literal) {
+        if (end - start != literal.length()) {
+            return false;
+        }
+        for (int i = 0; i < literal.length(); i++) {
+            if (chars[start + i] != literal.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
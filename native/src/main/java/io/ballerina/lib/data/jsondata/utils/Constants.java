@@ -33,15 +33,25 @@ public class Constants {
     public static final String FIELD = "$field$.";
     public static final String FIELD_REGEX = "\\$field\\$\\.";
     public static final String NAME = "Name";
+    public static final String DISCRIMINATOR = "Discriminator";
     public static final String NULL_VALUE = "null";
     public static final String TRUE = "true";
     public static final String FALSE = "false";
 
     public static final BString VALUE = StringUtils.fromString("value");
+    public static final BString DISCRIMINATOR_FIELD = StringUtils.fromString("field");
+    public static final BString DISCRIMINATOR_MAPPING = StringUtils.fromString("mapping");
     public static final BString ALLOW_DATA_PROJECTION = StringUtils.fromString("allowDataProjection");
     public static final BString NIL_AS_OPTIONAL_FIELD = StringUtils.fromString("nilAsOptionalField");
     public static final BString ABSENT_AS_NILABLE_TYPE = StringUtils.fromString("absentAsNilableType");
     public static final BString ENABLE_CONSTRAINT_VALIDATION = StringUtils.fromString("enableConstraintValidation");
+    public static final BString BATCH_SIZE = StringUtils.fromString("batchSize");
+    public static final BString SKIP_INVALID_DOCUMENTS = StringUtils.fromString("skipInvalidDocuments");
+    public static final BString STOP_WHEN_COMPLETE = StringUtils.fromString("stopWhenComplete");
+    public static final BString MAX_DEPTH = StringUtils.fromString("maxDepth");
+    public static final BString MAX_DOCUMENT_SIZE = StringUtils.fromString("maxDocumentSize");
+    public static final BString MAX_STRING_LENGTH = StringUtils.fromString("maxStringLength");
+    public static final BString MAX_ELEMENTS = StringUtils.fromString("maxElements");
 
     public static final MapType JSON_MAP_TYPE = TypeCreator.createMapType(PredefinedTypes.TYPE_JSON);
     public static final MapType ANYDATA_MAP_TYPE = TypeCreator.createMapType(PredefinedTypes.TYPE_ANYDATA);
@@ -24,7 +24,7 @@ import io.ballerina.runtime.api.utils.TypeUtils;
 import io.ballerina.runtime.api.values.BObject;
 
 /**
- * A class that holds util methods needed for BallerinaByteBlockInputStream class.
+ * A class that holds util methods needed for BallerinaByteBlockSource class.
  *
  * @since 2.5.0
  */
@@ -38,7 +38,18 @@ public enum DiagnosticErrorCode {
     CANNOT_CONVERT_TO_EXPECTED_TYPE("JSON_ERROR_011", "cannot.convert.to.expected.type"),
     UNDEFINED_FIELD("JSON_ERROR_012", "undefined.field"),
     CAN_NOT_READ_STREAM("JSON_ERROR_013", "cannot.read.stream"),
-    CYCLIC_REFERENCE("JSON_ERROR_014", "cyclic.reference");
+    CYCLIC_REFERENCE("JSON_ERROR_014", "cyclic.reference"),
+    INVALID_DOCUMENT("JSON_ERROR_015", "invalid.document"),
+    INVALID_BATCH_SIZE("JSON_ERROR_016", "invalid.batch.size"),
+    VALUE_NOT_FOUND("JSON_ERROR_017", "value.not.found"),
+    INVALID_VALUE_AT_PATH("JSON_ERROR_018", "invalid.value.at.path"),
+    CANNOT_READ_FILE("JSON_ERROR_019", "cannot.read.file"),
+    DEPTH_LIMIT_EXCEEDED("JSON_ERROR_020", "depth.limit.exceeded"),
+    DOCUMENT_SIZE_LIMIT_EXCEEDED("JSON_ERROR_021", "document.size.limit.exceeded"),
+    STRING_LENGTH_LIMIT_EXCEEDED("JSON_ERROR_022", "string.length.limit.exceeded"),
+    ELEMENT_COUNT_LIMIT_EXCEEDED("JSON_ERROR_023", "element.count.limit.exceeded"),
+    INVALID_LIMIT("JSON_ERROR_024", "invalid.limit"),
+    INVALID_DISCRIMINATOR_TYPE("JSON_ERROR_025", "invalid.discriminator.type");
 
     String diagnosticId;
     String messageKey;
@@ -44,6 +44,12 @@ public class DiagnosticLog {
 
     private static String formatMessage(DiagnosticErrorCode code, Object[] args) {
         String msgKey = MESSAGES.getString(ERROR_PREFIX + "." + code.messageKey());
+        for (int i = 0; i < args.length; i++) {
+            // Numbers, such as lines, columns and limits, are given as they are, without grouping separators.
+            if (args[i] instanceof Number number) {
+                args[i] = String.valueOf(number);
+            }
+        }
         return MessageFormat.format(msgKey, args);
     }
 
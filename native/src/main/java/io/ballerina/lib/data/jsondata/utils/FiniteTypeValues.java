@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.data.jsondata.utils;
+
+import io.ballerina.runtime.api.types.FiniteType;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lookup tables of the singleton values of a finite type, keyed by their string representation.
+ * <p>
+ * A value matches a singleton if it is written exactly as the string representation of the singleton. The tables are
+ * created once per type and shared, so that converting a value to an enum or a union of singletons is a single hash
+ * lookup instead of formatting and converting each member of the value space.
+ *
+ * @since 1.1.2
+ */
+public final class FiniteTypeValues {
+
+    /**
+     * Returned by the lookups when no singleton matches the value.
+     */
+    public static final Object NO_MATCH = new Object();
+
+    private static final Map<FiniteType, FiniteTypeValues> TABLES = new ConcurrentHashMap<>();
+
+    private final Map<String, Object> values;
+    private final Map<String, Object> stringValues;
+    private final Map<String, Object> nonStringValues;
+
+    private FiniteTypeValues(FiniteType finiteType) {
+        Map<String, Object> values = new HashMap<>();
+        Map<String, Object> stringValues = new HashMap<>();
+        Map<String, Object> nonStringValues = new HashMap<>();
+        // The first singleton of the value space wins when several have the same string representation.
+        for (Object singletonValue : finiteType.getValueSpace()) {
+            String key = String.valueOf(singletonValue);
+            values.putIfAbsent(key, singletonValue);
+            if (singletonValue instanceof BString) {
+                stringValues.putIfAbsent(key, singletonValue);
+            } else {
+                nonStringValues.putIfAbsent(key, singletonValue);
+            }
+        }
+        this.values = Collections.unmodifiableMap(values);
+        this.stringValues = Collections.unmodifiableMap(stringValues);
+        this.nonStringValues = Collections.unmodifiableMap(nonStringValues);
+    }
+
+    public static FiniteTypeValues of(FiniteType finiteType) {
+        FiniteTypeValues table = TABLES.get(finiteType);
+        if (table == null) {
+            table = new FiniteTypeValues(finiteType);
+            FiniteTypeValues existing = TABLES.putIfAbsent(finiteType, table);
+            return existing == null ? table : existing;
+        }
+        return table;
+    }
+
+    /**
+     * Returns the singleton of any basic type which is written as the given string.
+     *
+     * @param value the string representation
+     * @return the singleton value or {@link #NO_MATCH}
+     */
+    public Object get(String value) {
+        return lookup(values, value);
+    }
+
+    /**
+     * Returns the string singleton matching the content of a JSON string.
+     *
+     * @param value the content of the string
+     * @return the singleton value or {@link #NO_MATCH}
+     */
+    public Object getString(String value) {
+        return lookup(stringValues, value);
+    }
+
+    /**
+     * Returns the singleton matching a JSON number, boolean or null literal.
+     *
+     * @param value the literal
+     * @return the singleton value or {@link #NO_MATCH}
+     */
+    public Object getNonString(String value) {
+        return lookup(nonStringValues, value);
+    }
+
+    private static Object lookup(Map<String, Object> table, String value) {
+        Object singletonValue = table.get(value);
+        if (singletonValue == null && !table.containsKey(value)) {
+            return NO_MATCH;
+        }
+        return singletonValue;
+    }
+}
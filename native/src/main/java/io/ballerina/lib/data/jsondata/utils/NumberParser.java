@@ -0,0 +1,420 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.data.jsondata.utils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Allocation free parsing of numeric literals.
+ * <p>
+ * The methods only handle the plain decimal notation used in JSON documents and return {@code null} for anything else,
+ * including values which overflow. Callers are expected to fall back to the string based conversion in that case, so
+ * that the result and the error reporting stay the same as {@link Long#parseLong(String)},
+ * {@link Double#parseDouble(String)} and {@link BigDecimal#BigDecimal(String)}.
+ *
+ * @since 1.1.2
+ */
+public final class NumberParser {
+
+    // Any 19 digit mantissa fits in an unsigned long.
+    private static final int MAX_FLOAT_DIGITS = 19;
+    // Any 18 digit unscaled value fits in a long.
+    private static final int MAX_EXACT_DIGITS = 18;
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final int MAX_EXACT_POWER_OF_TEN = 22;
+    private static final int MAX_EXPONENT = 100_000;
+    private static final int MAX_DECIMAL_SCALE = 6000;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    // Range of the decimal exponents for which a double is computed. Below the range, any mantissa of up to 19 digits
+    // rounds to zero, and above it, to infinity.
+    private static final int SMALLEST_POWER_OF_TEN = -342;
+    private static final int LARGEST_POWER_OF_TEN = 308;
+    private static final int MANTISSA_EXPLICIT_BITS = 52;
+    private static final int MINIMUM_EXPONENT = -1023;
+    private static final int INFINITE_POWER = 0x7FF;
+    private static final int MIN_EXPONENT_ROUND_TO_EVEN = -4;
+    private static final int MAX_EXPONENT_ROUND_TO_EVEN = 23;
+    // The high and the low 64 bits of each power of five, normalized to 128 bits.
+    private static final long[] POWERS_OF_FIVE = computePowersOfFive();
+
+    private NumberParser() {
+    }
+
+    /**
+     * Checks whether the given characters are a JSON number literal of the form
+     * {@code [-]digits[.digits][(e|E)[+-]digits]}.
+     *
+     * @param chars the characters holding the literal
+     * @param start the index of the first character of the literal
+     * @param end   the index after the last character of the literal
+     * @return true if the characters are a number literal
+     */
+    public static boolean isNumber(char[] chars, int start, int end) {
+        int i = start;
+        if (i < end && chars[i] == '-') {
+            i++;
+        }
+        int digitsEnd = skipDigits(chars, i, end);
+        if (digitsEnd == i) {
+            return false;
+        }
+        i = digitsEnd;
+        if (i < end && chars[i] == '.') {
+            digitsEnd = skipDigits(chars, ++i, end);
+            if (digitsEnd == i) {
+                return false;
+            }
+            i = digitsEnd;
+        }
+        if (i < end && (chars[i] == 'e' || chars[i] == 'E')) {
+            if (++i < end && (chars[i] == '+' || chars[i] == '-')) {
+                i++;
+            }
+            digitsEnd = skipDigits(chars, i, end);
+            if (digitsEnd == i) {
+                return false;
+            }
+            i = digitsEnd;
+        }
+        return i == end;
+    }
+
+    private static int skipDigits(char[] chars, int i, int end) {
+        while (i < end && chars[i] >= '0' && chars[i] <= '9') {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Parses an integer written with an optional sign followed by ASCII digits.
+     *
+     * @param s the characters of the literal
+     * @return the value, or null if the literal is not a plain integer or does not fit in a long
+     */
+    public static Long parseLong(CharSequence s) {
+        int length = s.length();
+        if (length == 0) {
+            return null;
+        }
+        int i = 0;
+        boolean negative = false;
+        char first = s.charAt(0);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            if (++i == length) {
+                return null;
+            }
+        }
+
+        // Accumulate negatively, as the magnitude of Long.MIN_VALUE is larger than Long.MAX_VALUE.
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplyLimit = limit / 10;
+        long result = 0;
+        for (; i < length; i++) {
+            int digit = s.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || result < multiplyLimit) {
+                return null;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return null;
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * Parses a floating point literal of the form {@code [+-]digits[.digits][(e|E)[+-]digits]}.
+     * <p>
+     * Literals with up to 19 significant digits are handled. Values which can be computed exactly with a single
+     * floating point operation take the fast path, and the rest are rounded with the Eisel-Lemire algorithm. The
+     * result is identical to {@link Double#parseDouble(String)}.
+     *
+     * @param s the characters of the literal
+     * @return the value, or null if the literal has to be parsed by {@link Double#parseDouble(String)}
+     */
+    public static Double parseDouble(CharSequence s) {
+        int length = s.length();
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && (s.charAt(0) == '-' || s.charAt(0) == '+')) {
+            negative = s.charAt(0) == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int significantDigits = 0;
+        int exponent = 0;
+        int start = i;
+        char ch;
+        for (; i < length && (ch = s.charAt(i)) >= '0' && ch <= '9'; i++) {
+            if (mantissa != 0 || ch != '0') {
+                if (++significantDigits > MAX_FLOAT_DIGITS) {
+                    return null;
+                }
+                mantissa = mantissa * 10 + (ch - '0');
+            }
+        }
+        if (i == start) {
+            return null;
+        }
+
+        if (i < length && s.charAt(i) == '.') {
+            int fractionStart = ++i;
+            for (; i < length && (ch = s.charAt(i)) >= '0' && ch <= '9'; i++) {
+                if (mantissa != 0 || ch != '0') {
+                    if (++significantDigits > MAX_FLOAT_DIGITS) {
+                        return null;
+                    }
+                    mantissa = mantissa * 10 + (ch - '0');
+                }
+                exponent--;
+            }
+            if (i == fractionStart) {
+                return null;
+            }
+        }
+
+        if (i < length && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < length && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+                negativeExponent = s.charAt(i) == '-';
+                i++;
+            }
+            int exponentStart = i;
+            int explicitExponent = 0;
+            for (; i < length && (ch = s.charAt(i)) >= '0' && ch <= '9'; i++) {
+                if (explicitExponent < MAX_EXPONENT) {
+                    explicitExponent = explicitExponent * 10 + (ch - '0');
+                }
+            }
+            if (i == exponentStart) {
+                return null;
+            }
+            exponent += negativeExponent ? -explicitExponent : explicitExponent;
+        }
+
+        if (i != length) {
+            return null;
+        }
+        if (mantissa == 0) {
+            return negative ? -0.0d : 0.0d;
+        }
+        double value;
+        if (Long.compareUnsigned(mantissa, MAX_EXACT_MANTISSA) <= 0 && exponent >= -MAX_EXACT_POWER_OF_TEN
+                && exponent <= MAX_EXACT_POWER_OF_TEN) {
+            // Both the mantissa and the power of ten are exact doubles, hence a single rounding gives the result.
+            value = exponent < 0 ? mantissa / POWERS_OF_TEN[-exponent] : mantissa * POWERS_OF_TEN[exponent];
+        } else {
+            long bits = computeDoubleBits(mantissa, exponent);
+            if (bits < 0) {
+                return null;
+            }
+            value = Double.longBitsToDouble(bits);
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parses a decimal literal of the form {@code [+-]digits[.digits][(e|E)[+-]digits]} into an unscaled long value
+     * and a scale.
+     * <p>
+     * Only literals with up to 18 digits, leading zeros excluded, are handled, so that the unscaled value always fits
+     * in a long. The result has the same unscaled value and scale as {@link BigDecimal#BigDecimal(String)}.
+     *
+     * @param s the characters of the literal
+     * @return the value, or null if the literal has to be parsed by {@link BigDecimal#BigDecimal(String)}
+     */
+    public static BigDecimal parseDecimal(CharSequence s) {
+        int length = s.length();
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && (s.charAt(0) == '-' || s.charAt(0) == '+')) {
+            negative = s.charAt(0) == '-';
+            i++;
+        }
+
+        long unscaled = 0;
+        int digits = 0;
+        int scale = 0;
+        int start = i;
+        char ch;
+        for (; i < length && (ch = s.charAt(i)) >= '0' && ch <= '9'; i++) {
+            if (unscaled != 0 || ch != '0') {
+                if (++digits > MAX_EXACT_DIGITS) {
+                    return null;
+                }
+                unscaled = unscaled * 10 + (ch - '0');
+            }
+        }
+        if (i == start) {
+            return null;
+        }
+
+        if (i < length && s.charAt(i) == '.') {
+            int fractionStart = ++i;
+            for (; i < length && (ch = s.charAt(i)) >= '0' && ch <= '9'; i++) {
+                if (unscaled != 0 || ch != '0') {
+                    if (++digits > MAX_EXACT_DIGITS) {
+                        return null;
+                    }
+                    unscaled = unscaled * 10 + (ch - '0');
+                }
+                scale++;
+            }
+            if (i == fractionStart) {
+                return null;
+            }
+        }
+
+        if (i < length && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < length && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+                negativeExponent = s.charAt(i) == '-';
+                i++;
+            }
+            int exponentStart = i;
+            int explicitExponent = 0;
+            for (; i < length && (ch = s.charAt(i)) >= '0' && ch <= '9'; i++) {
+                if (explicitExponent < MAX_EXPONENT) {
+                    explicitExponent = explicitExponent * 10 + (ch - '0');
+                }
+            }
+            if (i == exponentStart) {
+                return null;
+            }
+            scale -= negativeExponent ? -explicitExponent : explicitExponent;
+        }
+
+        // Values near the limits of the decimal range are left to the string based conversion, which reports them.
+        if (i != length || scale < -MAX_DECIMAL_SCALE || scale > MAX_DECIMAL_SCALE) {
+            return null;
+        }
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, scale);
+    }
+
+    /**
+     * Computes the bits of the double nearest to {@code mantissa * 10^exponent} with the Eisel-Lemire algorithm,
+     * which multiplies the mantissa by a 128-bit approximation of the power of ten and rounds the product.
+     *
+     * @param mantissa non-zero decimal mantissa, as an unsigned long
+     * @param exponent decimal exponent
+     * @return the bits of the positive double, or -1 if the approximation is too close to a halfway point to round
+     */
+    private static long computeDoubleBits(long mantissa, int exponent) {
+        if (exponent < SMALLEST_POWER_OF_TEN) {
+            return 0;
+        }
+        if (exponent > LARGEST_POWER_OF_TEN) {
+            return (long) INFINITE_POWER << MANTISSA_EXPLICIT_BITS;
+        }
+        int leadingZeros = Long.numberOfLeadingZeros(mantissa);
+        long w = mantissa << leadingZeros;
+
+        // The product is precise enough once its bits below the mantissa and the rounding bits are not all ones.
+        int index = 2 * (exponent - SMALLEST_POWER_OF_TEN);
+        long high = unsignedMultiplyHigh(w, POWERS_OF_FIVE[index]);
+        long low = w * POWERS_OF_FIVE[index];
+        long precisionMask = -1L >>> (MANTISSA_EXPLICIT_BITS + 3);
+        if ((high & precisionMask) == precisionMask) {
+            long secondHigh = unsignedMultiplyHigh(w, POWERS_OF_FIVE[index + 1]);
+            low += secondHigh;
+            if (Long.compareUnsigned(secondHigh, low) > 0) {
+                high++;
+            }
+        }
+        if (low == -1L && (exponent < -27 || exponent > 55)) {
+            // The product may still be off by one in its last bit.
+            return -1;
+        }
+
+        int upperBit = (int) (high >>> 63);
+        int shift = upperBit + 64 - MANTISSA_EXPLICIT_BITS - 3;
+        long resultMantissa = high >>> shift;
+        int power2 = (((152170 + 65536) * exponent) >> 16) + 63 + upperBit - leadingZeros - MINIMUM_EXPONENT;
+        if (power2 <= 0) {
+            // A subnormal value.
+            if (-power2 + 1 >= 64) {
+                return 0;
+            }
+            resultMantissa >>>= -power2 + 1;
+            resultMantissa += resultMantissa & 1;
+            resultMantissa >>>= 1;
+            power2 = resultMantissa < (1L << MANTISSA_EXPLICIT_BITS) ? 0 : 1;
+            return ((long) power2 << MANTISSA_EXPLICIT_BITS) | (resultMantissa & ((1L << MANTISSA_EXPLICIT_BITS) - 1));
+        }
+        // The halfway values of the exponents which can be exact are rounded to even, instead of up.
+        if (Long.compareUnsigned(low, 1) <= 0 && exponent >= MIN_EXPONENT_ROUND_TO_EVEN
+                && exponent <= MAX_EXPONENT_ROUND_TO_EVEN && (resultMantissa & 3) == 1
+                && (resultMantissa << shift) == high) {
+            resultMantissa &= ~1L;
+        }
+        resultMantissa += resultMantissa & 1;
+        resultMantissa >>>= 1;
+        if (resultMantissa >= (2L << MANTISSA_EXPLICIT_BITS)) {
+            resultMantissa = 1L << MANTISSA_EXPLICIT_BITS;
+            power2++;
+        }
+        resultMantissa &= ~(1L << MANTISSA_EXPLICIT_BITS);
+        if (power2 >= INFINITE_POWER) {
+            return (long) INFINITE_POWER << MANTISSA_EXPLICIT_BITS;
+        }
+        return ((long) power2 << MANTISSA_EXPLICIT_BITS) | resultMantissa;
+    }
+
+    private static long unsignedMultiplyHigh(long x, long y) {
+        return Math.multiplyHigh(x, y) + ((x >> 63) & y) + ((y >> 63) & x);
+    }
+
+    /**
+     * Computes the powers of five from 5^-342 to 5^308 as 128-bit values with their most significant bit set. The
+     * positive powers are truncated, and the negative ones are the reciprocals rounded up, as expected by the
+     * Eisel-Lemire algorithm.
+     */
+    private static long[] computePowersOfFive() {
+        long[] powers = new long[2 * (LARGEST_POWER_OF_TEN - SMALLEST_POWER_OF_TEN + 1)];
+        BigInteger five = BigInteger.valueOf(5);
+        for (int q = SMALLEST_POWER_OF_TEN; q <= LARGEST_POWER_OF_TEN; q++) {
+            BigInteger power;
+            if (q >= 0) {
+                power = five.pow(q);
+            } else {
+                BigInteger divisor = five.pow(-q);
+                int bits = divisor.bitLength();
+                power = BigInteger.ONE.shiftLeft(q >= -27 ? bits + 127 : 2 * bits + 128).divide(divisor)
+                        .add(BigInteger.ONE);
+            }
+            int shift = power.bitLength() - 128;
+            power = shift > 0 ? power.shiftRight(shift) : power.shiftLeft(-shift);
+            int index = 2 * (q - SMALLEST_POWER_OF_TEN);
+            powers[index] = power.shiftRight(64).longValue();
+            powers[index + 1] = power.longValue();
+        }
+        return powers;
+    }
+}